@@ -0,0 +1,46 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.Image;
+
+/**
+ * The BlurBenchmark class measures Gaussian blurs of several standard deviations,
+ * whose time should only grow with the number of pixels.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlurBenchmark {
+
+  /**
+   * The standard deviation of the Gaussian in pixels.
+   */
+  @Param({"2", "8", "32"})
+  public double sigma;
+
+  /**
+   * Benchmarks the Gaussian blur.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image blur(ImageState state) {
+    return state.image.blur(sigma);
+  }
+}
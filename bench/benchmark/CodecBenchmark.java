@@ -0,0 +1,122 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import controller.commands.ImageJPG;
+import controller.commands.ImagePNG;
+import controller.commands.ImagePPM;
+import controller.commands.ImageParserInterface;
+import model.Image;
+
+/**
+ * The CodecBenchmark class measures loading and saving a synthetic image in each image
+ * format. The loaded file is written once before the measurement, and saves go to a
+ * separate file in the same temporary directory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+  /**
+   * The size of the image, either a width and height or a single number for a square
+   * image.
+   */
+  @Param({"256", "1024", "4096"})
+  public String size;
+
+  /**
+   * The extension of the image format.
+   */
+  @Param({"png", "jpg", "ppm"})
+  public String format;
+
+  private Image image;
+  private File directory;
+  private File loaded;
+  private File saved;
+
+  /**
+   * Generates the synthetic image and writes the file that is loaded.
+   *
+   * @throws Exception if the file cannot be written.
+   */
+  @Setup(Level.Trial)
+  public void generate() throws Exception {
+    image = SyntheticImages.create(size);
+    directory = Files.createTempDirectory("benchmark").toFile();
+    loaded = new File(directory, "image." + format);
+    saved = new File(directory, "saved." + format);
+    parser(loaded).save(loaded.getPath(), image);
+  }
+
+  /**
+   * Deletes the written files.
+   *
+   * @throws IOException if a file cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void delete() throws IOException {
+    Files.deleteIfExists(loaded.toPath());
+    Files.deleteIfExists(saved.toPath());
+    Files.deleteIfExists(directory.toPath());
+  }
+
+  /**
+   * Benchmarks loading the image.
+   *
+   * @return The result.
+   * @throws Exception if the image cannot be loaded.
+   */
+  @Benchmark
+  public Image load() throws Exception {
+    return parser(loaded).load();
+  }
+
+  /**
+   * Benchmarks saving the image.
+   *
+   * @throws Exception if the image cannot be saved.
+   */
+  @Benchmark
+  public void save() throws Exception {
+    parser(saved).save(saved.getPath(), image);
+  }
+
+  /**
+   * Creates the parser of the benchmarked format.
+   *
+   * @param file The file of the image.
+   * @return The parser.
+   */
+  private ImageParserInterface parser(File file) {
+    switch (format) {
+      case "png":
+        return new ImagePNG(file.getPath());
+      case "jpg":
+        return new ImageJPG(file.getPath());
+      default:
+        return new ImagePPM(file.getPath());
+    }
+  }
+}
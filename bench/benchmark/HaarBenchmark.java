@@ -0,0 +1,103 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.HaarWaveletTransform;
+import model.Image;
+
+/**
+ * The HaarBenchmark class measures the stages of the Haar wavelet compression on the
+ * channels of synthetic images. The inverse transform works in place, so every
+ * invocation transforms a fresh copy of the coefficients.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HaarBenchmark {
+
+  /**
+   * The size of the image, either a width and height or a single number for a square
+   * image.
+   */
+  @Param({"256", "1024"})
+  public String size;
+
+  private final HaarWaveletTransform transform = new HaarWaveletTransform();
+  private int width;
+  private int height;
+  private double[][][] channels;
+  private double[][][] transformed;
+  private double[][] coefficients;
+
+  /**
+   * Extracts the channels of the synthetic image and transforms them once.
+   */
+  @Setup(Level.Trial)
+  public void generate() {
+    Image image = SyntheticImages.create(size);
+    width = image.getPixels().length;
+    height = image.getPixels()[0].length;
+    channels = SyntheticImages.channels(image);
+    transformed = new double[3][][];
+    for (int i = 0; i < 3; i++) {
+      transformed[i] = transform.haar(channels[i]);
+    }
+  }
+
+  /**
+   * Copies the transformed red channel for the inverse transform to work on.
+   */
+  @Setup(Level.Invocation)
+  public void copy() {
+    coefficients = new double[transformed[0].length][];
+    for (int i = 0; i < coefficients.length; i++) {
+      coefficients[i] = transformed[0][i].clone();
+    }
+  }
+
+  /**
+   * Benchmarks the forward transform, which pads its input into a new array.
+   *
+   * @return The result.
+   */
+  @Benchmark
+  public double[][] haar() {
+    return transform.haar(channels[0]);
+  }
+
+  /**
+   * Benchmarks the inverse transform.
+   *
+   * @return The result.
+   */
+  @Benchmark
+  public double[][] inverseHaar() {
+    return transform.inverseHaar(coefficients, width, height);
+  }
+
+  /**
+   * Benchmarks finding the threshold of the transformed channels.
+   *
+   * @return The result.
+   */
+  @Benchmark
+  public double calculateThreshold() {
+    return transform.calculateThreshold(transformed, 50);
+  }
+}
@@ -0,0 +1,95 @@
+package benchmark;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.HistogramCreator;
+import model.Pixel;
+
+/**
+ * The HistogramBenchmark class measures rendering the histogram of a synthetic image,
+ * as a new image every time, into a reused canvas, and on a logarithmic cumulative
+ * scale.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HistogramBenchmark {
+
+  /**
+   * The size of the image, either a width and height or a single number for a square
+   * image.
+   */
+  @Param({"256", "1024"})
+  public String size;
+
+  private int[][] histogram;
+  private HistogramCreator creator;
+  private HistogramCreator logCreator;
+
+  /**
+   * Counts the histogram of the synthetic image and creates the reused creators.
+   */
+  @Setup(Level.Trial)
+  public void generate() {
+    histogram = SyntheticImages.create(size).histogram();
+    creator = new HistogramCreator();
+    logCreator = new HistogramCreator(256, true, true);
+  }
+
+  /**
+   * Benchmarks creating the histogram as pixels.
+   *
+   * @return The result.
+   */
+  @Benchmark
+  public Pixel[][] create() {
+    return HistogramCreator.createHistogramImage(histogram);
+  }
+
+  /**
+   * Benchmarks rendering the histogram into a new image.
+   *
+   * @return The result.
+   */
+  @Benchmark
+  public BufferedImage render() {
+    return HistogramCreator.renderHistogram(histogram);
+  }
+
+  /**
+   * Benchmarks rendering the histogram into a reused canvas.
+   *
+   * @return The result.
+   */
+  @Benchmark
+  public BufferedImage reuse() {
+    return creator.render(histogram);
+  }
+
+  /**
+   * Benchmarks rendering the cumulative histogram on a logarithmic scale.
+   *
+   * @return The result.
+   */
+  @Benchmark
+  public BufferedImage log() {
+    return logCreator.render(histogram);
+  }
+}
@@ -0,0 +1,263 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.BorderMode;
+import model.ColorMatrix;
+import model.Image;
+import model.Kernel;
+
+/**
+ * The ImageBenchmark class measures the throughput of every image operation on
+ * synthetic images of each size of the matrix. Gaussian blurs and median filters of
+ * several widths are measured by BlurBenchmark and MedianBenchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageBenchmark {
+
+  private static final ColorMatrix WARM = ColorMatrix.SEPIA.then(new ColorMatrix(
+          new double[][]{{1.1, 0, 0, 5}, {0, 1, 0}, {0, 0, 0.9}}));
+  private static final double[] BINOMIAL = {1.0 / 64, 6.0 / 64, 15.0 / 64, 20.0 / 64,
+      15.0 / 64, 6.0 / 64, 1.0 / 64};
+  private static final Kernel SEPARABLE = kernel(false);
+  private static final Kernel DENSE = kernel(true);
+
+  /**
+   * Builds a 7x7 binomial kernel, which is separable, or the same kernel with its
+   * diagonal doubled, which is not.
+   *
+   * @param dense Whether the diagonal is doubled.
+   * @return The kernel.
+   */
+  private static Kernel kernel(boolean dense) {
+    double[][] weights = new double[7][7];
+    for (int row = 0; row < 7; row++) {
+      for (int column = 0; column < 7; column++) {
+        weights[row][column] = BINOMIAL[row] * BINOMIAL[column]
+                * (dense && row == column ? 2 : 1);
+      }
+    }
+    return new Kernel(weights);
+  }
+
+  /**
+   * Benchmarks the red component.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image redComponent(ImageState state) {
+    return state.image.redComponent();
+  }
+
+  /**
+   * Benchmarks the green component.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image greenComponent(ImageState state) {
+    return state.image.greenComponent();
+  }
+
+  /**
+   * Benchmarks the blue component.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image blueComponent(ImageState state) {
+    return state.image.blueComponent();
+  }
+
+  /**
+   * Benchmarks the value component.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image valueComponent(ImageState state) {
+    return state.image.valueComponent();
+  }
+
+  /**
+   * Benchmarks the intensity component.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image intensityComponent(ImageState state) {
+    return state.image.intensityComponent();
+  }
+
+  /**
+   * Benchmarks the luma component.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image lumaComponent(ImageState state) {
+    return state.image.lumaComponent();
+  }
+
+  /**
+   * Benchmarks the sepia filter.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image sepia(ImageState state) {
+    return state.image.sepia();
+  }
+
+  /**
+   * Benchmarks a color matrix with offsets composed with the sepia matrix.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image colorMatrix(ImageState state) {
+    return state.image.colorMatrix(WARM);
+  }
+
+  /**
+   * Benchmarks the vertical flip.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image verticalFlip(ImageState state) {
+    return state.image.verticalFlip();
+  }
+
+  /**
+   * Benchmarks the horizontal flip.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image horizontalFlip(ImageState state) {
+    return state.image.horizontalFlip();
+  }
+
+  /**
+   * Benchmarks brightening.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image brighten(ImageState state) {
+    return state.image.brighten(20);
+  }
+
+  /**
+   * Benchmarks the 3x3 blur.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image blur(ImageState state) {
+    return state.image.blur();
+  }
+
+  /**
+   * Benchmarks sharpening.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image sharpen(ImageState state) {
+    return state.image.sharpen();
+  }
+
+  /**
+   * Benchmarks a convolution with a separable 7x7 kernel.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image convolveSeparable7(ImageState state) {
+    return state.image.convolve(SEPARABLE, BorderMode.REFLECT);
+  }
+
+  /**
+   * Benchmarks a convolution with a 7x7 kernel that is not separable.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image convolveDense7(ImageState state) {
+    return state.image.convolve(DENSE, BorderMode.REFLECT);
+  }
+
+  /**
+   * Benchmarks counting the histogram.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public int[][] histogram(ImageState state) {
+    return state.image.histogram();
+  }
+
+  /**
+   * Benchmarks color correction, including counting the histogram.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image correctImage(ImageState state) {
+    return state.image.correctImage();
+  }
+
+  /**
+   * Benchmarks levels adjustment.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image levelsAdjust(ImageState state) {
+    return state.image.levelsAdjust(20, 128, 230);
+  }
+
+  /**
+   * Benchmarks compression.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image compress(ImageState state) {
+    return state.image.compress(50);
+  }
+}
@@ -0,0 +1,57 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import model.Image;
+
+/**
+ * The ImageState class holds the synthetic image an image benchmark runs on. Images
+ * keep their histogram, digest and rendering once computed, so every invocation gets
+ * a new Image over the same pixels and measures the operation from scratch.
+ */
+@State(Scope.Thread)
+public class ImageState {
+
+  /**
+   * The size of the image, either a width and height such as 7680x4320 or a single
+   * number for a square image.
+   */
+  @Param({"256", "1024", "4096"})
+  public String size;
+
+  private Image source;
+
+  /**
+   * The image of the current invocation.
+   */
+  public Image image;
+
+  /**
+   * Generates the synthetic image of the benchmarked size.
+   */
+  @Setup(Level.Trial)
+  public void generate() {
+    source = SyntheticImages.create(size);
+  }
+
+  /**
+   * Wraps the pixels in an Image that has nothing computed yet.
+   */
+  @Setup(Level.Invocation)
+  public void fresh() {
+    image = new Image(source.getPixels());
+  }
+
+  /**
+   * Gets the synthetic image of the benchmarked size.
+   *
+   * @return The image shared by all invocations.
+   */
+  Image source() {
+    return source;
+  }
+}
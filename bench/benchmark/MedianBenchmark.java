@@ -0,0 +1,46 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.Image;
+
+/**
+ * The MedianBenchmark class measures median filters of several radii, whose time
+ * should only grow with the number of pixels.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MedianBenchmark {
+
+  /**
+   * The radius of the filter in pixels.
+   */
+  @Param({"1", "4", "16"})
+  public int radius;
+
+  /**
+   * Benchmarks the median filter.
+   *
+   * @param state The image to work on.
+   * @return The result.
+   */
+  @Benchmark
+  public Image median(ImageState state) {
+    return state.image.median(radius);
+  }
+}
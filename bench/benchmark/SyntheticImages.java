@@ -0,0 +1,76 @@
+package benchmark;
+
+import java.util.Random;
+
+import model.Image;
+import model.Pixel;
+
+/**
+ * The SyntheticImages class generates the deterministic images the benchmarks run on,
+ * so that results of different runs can be compared.
+ */
+final class SyntheticImages {
+
+  private static final long SEED = 42;
+
+  /**
+   * Prevents instantiation of this class.
+   */
+  private SyntheticImages() {
+  }
+
+  /**
+   * Generates an image of gradients with noise from a fixed seed, so that each format
+   * and the compression see content similar to a photograph.
+   *
+   * @param size The size of the image, either a width and height such as 1920x1080 or a
+   *             single number for a square image.
+   * @return The generated image.
+   */
+  static Image create(String size) {
+    String[] dimensions = size.trim().toLowerCase().split("x");
+    int width = Integer.parseInt(dimensions[0]);
+    int height = dimensions.length > 1 ? Integer.parseInt(dimensions[1]) : width;
+    Random random = new Random(SEED);
+    Pixel[][] pixels = new Pixel[width][height];
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        int noise = random.nextInt(32) - 16;
+        int red = clamp(x * 255 / Math.max(1, width - 1) + noise);
+        int green = clamp(y * 255 / Math.max(1, height - 1) - noise);
+        int blue = clamp((x + y) % 256 + noise / 2);
+        pixels[x][y] = new Pixel(red, green, blue);
+      }
+    }
+    return new Image(pixels);
+  }
+
+  /**
+   * Extracts the red, green and blue channels of an image.
+   *
+   * @param image The image.
+   * @return The channels of the image.
+   */
+  static double[][][] channels(Image image) {
+    Pixel[][] pixels = image.getPixels();
+    double[][][] channels = new double[3][pixels.length][pixels[0].length];
+    for (int x = 0; x < pixels.length; x++) {
+      for (int y = 0; y < pixels[0].length; y++) {
+        channels[0][x][y] = pixels[x][y].getRed();
+        channels[1][x][y] = pixels[x][y].getGreen();
+        channels[2][x][y] = pixels[x][y].getBlue();
+      }
+    }
+    return channels;
+  }
+
+  /**
+   * Clamps a value to the range of a color component.
+   *
+   * @param value The value.
+   * @return The clamped value.
+   */
+  private static int clamp(int value) {
+    return Math.max(0, Math.min(255, value));
+  }
+}
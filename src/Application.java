@@ -1,10 +1,23 @@
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
 
 import controller.GUIController;
 import controller.ImageController;
 import controller.ImageControllerInterface;
+import controller.commands.AtomicFileWriter;
+import controller.commands.Durability;
+import controller.commands.MetricsRegistry;
+import controller.commands.SaveQueue;
 import model.ImageModel;
 import model.ImageModelInterface;
+import model.ResultCache;
+import model.Tracer;
 import view.GUIView;
 import view.ImageView;
 import view.ImageViewInterface;
@@ -17,6 +30,8 @@ import view.ImageViewInterface;
  */
 public class Application {
 
+  private static final long MAX_CACHE_BYTES = 256L * 1024 * 1024;
+
   /**
    * The main method of the application, serving as the entry point.
    * It initializes the view, model, and controller components,
@@ -26,27 +41,149 @@ public class Application {
    * @param args Command-line arguments, where the first argument can be "-file"
    *             followed by the path to a script file containing image processing commands.
    *             If no command-line arguments are provided, the application processes
-   *             images interactively.
+   *             images interactively. The option "-cache" followed by a directory
+   *             keeps the results of image operations in that directory across runs,
+   *             the option "-async-save" writes saved images in the background, and
+   *             the option "-durability" followed by none, file or directory sets
+   *             how saved images are forced to disk. The option "-metrics" followed
+   *             by a file writes the execution metrics of all commands to that file
+   *             once the script or console session ends, and the option "-trace"
+   *             followed by a file writes a trace of the script to that file. In the
+   *             GUI, the option "-histogram-sample" followed by a fraction estimates
+   *             the histogram from that fraction of the pixels. An option that is
+   *             missing its value or has an invalid one is reported on the standard
+   *             error stream and the application does not start.
    * @throws FileNotFoundException If a specified script file is not found.
    */
   public static void main(String[] args) throws FileNotFoundException {
+    List<String> arguments = new ArrayList<>(Arrays.asList(args));
+    String cacheDirectory;
+    boolean asyncSave;
+    String metrics;
+    String trace;
+    double histogramSample;
+    try {
+      cacheDirectory = option(arguments, "-cache");
+      asyncSave = arguments.remove("-async-save");
+      String durability = option(arguments, "-durability");
+      metrics = option(arguments, "-metrics");
+      trace = option(arguments, "-trace");
+      histogramSample = histogramSample(option(arguments, "-histogram-sample"));
+      if (durability != null) {
+        AtomicFileWriter.setDurability(durability(durability));
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      return;
+    }
+    args = arguments.toArray(new String[0]);
 
-    ImageModelInterface model = new ImageModel();
+    ResultCache cache = new ResultCache(Math.min(MAX_CACHE_BYTES,
+            Runtime.getRuntime().maxMemory() / 4),
+            cacheDirectory == null ? null : new File(cacheDirectory));
+    ImageModelInterface model = new ImageModel(cache);
     ImageControllerInterface controller;
     ImageViewInterface view;
 
     if (args.length == 0) {
       view = new GUIView();
-      controller = new GUIController((GUIView) view, model);
+      controller = new GUIController((GUIView) view, model,
+              Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "image-worker");
+                thread.setDaemon(true);
+                return thread;
+              }), histogramSample);
       controller.process();
     } else {
       view = new ImageView();
-      controller = new ImageController(view, model);
+      int threads = Runtime.getRuntime().availableProcessors();
+      controller = new ImageController(view, model,
+              asyncSave ? new SaveQueue(threads, 2 * threads) : null);
       if (args.length == 2 && args[0].equals("-file")) {
+        if (trace != null) {
+          Tracer.start();
+        }
         ((ImageController) controller).runScript(args[1]);
+        if (trace != null) {
+          try {
+            Tracer.stop().write(trace);
+          } catch (IOException e) {
+            view.display("Error writing trace to " + trace);
+          }
+        }
       } else if (args.length == 1 && args[0].equals("-text")) {
         controller.process();
       }
+      cache.flush();
+      if (metrics != null) {
+        try {
+          MetricsRegistry.getGlobal().write(metrics);
+        } catch (IOException e) {
+          view.display("Error writing metrics to " + metrics);
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes an option and its value from the command-line arguments.
+   *
+   * @param arguments The command-line arguments.
+   * @param name      The name of the option.
+   * @return The value of the option, or null if the option is not present.
+   * @throws IllegalArgumentException if the option is not followed by a value.
+   */
+  private static String option(List<String> arguments, String name)
+          throws IllegalArgumentException {
+    int index = arguments.indexOf(name);
+    if (index < 0) {
+      return null;
+    }
+    if (index + 1 >= arguments.size()) {
+      throw new IllegalArgumentException("Missing value for option " + name);
+    }
+    arguments.remove(index);
+    return arguments.remove(index);
+  }
+
+  /**
+   * Parses the value of the -durability option, ignoring its case.
+   *
+   * @param value The value of the option.
+   * @return The durability of saved images.
+   * @throws IllegalArgumentException if the value is not none, file or directory.
+   */
+  private static Durability durability(String value) throws IllegalArgumentException {
+    try {
+      return Durability.valueOf(value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid value for option -durability: " + value
+              + " (expected none, file or directory)");
+    }
+  }
+
+  /**
+   * Parses the value of the -histogram-sample option.
+   *
+   * @param value The value of the option, or null if the option is not present.
+   * @return The fraction of the pixels sampled for the histogram, 1 if the option is
+   *         not present.
+   * @throws IllegalArgumentException if the value is not a number in (0, 1].
+   */
+  private static double histogramSample(String value) throws IllegalArgumentException {
+    if (value == null) {
+      return 1;
+    }
+    double fraction;
+    try {
+      fraction = Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      fraction = Double.NaN;
+    }
+    if (!(fraction > 0 && fraction <= 1)) {
+      throw new IllegalArgumentException("Invalid value for option -histogram-sample: "
+              + value + " (expected a fraction in (0, 1])");
     }
+    return fraction;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,223 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.Image;
+import model.Pixel;
+
+/**
+ * The EditHistory class keeps the states of an image across the edits applied to it,
+ * so that the edits can be undone and redone. Each state is divided into square
+ * tiles of packed pixels, and a tile that an edit leaves unchanged is shared with the
+ * previous state instead of being copied, so a local edit of a large image only costs
+ * the tiles it touched. The history is bounded by the size of its tiles; the oldest
+ * states are dropped first once the bound is exceeded.
+ */
+public class EditHistory {
+
+  static final int TILE_SIZE = 64;
+
+  private final long maxBytes;
+  private final List<State> states;
+  private int current;
+  private long currentBytes;
+  private Image currentImage;
+
+  /**
+   * Constructs an empty EditHistory holding at most the given number of bytes.
+   *
+   * @param maxBytes The maximum size of the stored states in bytes.
+   * @throws IllegalArgumentException if the size is negative.
+   */
+  public EditHistory(long maxBytes) throws IllegalArgumentException {
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("History size cannot be negative");
+    }
+    this.maxBytes = maxBytes;
+    this.states = new ArrayList<>();
+    this.current = -1;
+  }
+
+  /**
+   * The State class holds one state of the image as tiles of packed pixels.
+   */
+  private static class State {
+    private final int width;
+    private final int height;
+    private final int[][] tiles;
+
+    /**
+     * Constructs a State of the given image, sharing the tiles that are equal to the
+     * tiles of the previous state.
+     *
+     * @param image    The image.
+     * @param previous The previous state, or null if there is none.
+     */
+    private State(Image image, State previous) {
+      Pixel[][] pixels = image.getPixels();
+      this.width = pixels.length;
+      this.height = pixels[0].length;
+      int columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+      int rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+      this.tiles = new int[columns * rows][];
+      boolean sameSize = previous != null && previous.width == width
+              && previous.height == height;
+      for (int tile = 0; tile < tiles.length; tile++) {
+        int[] packed = pack(pixels, tile % columns, tile / columns);
+        tiles[tile] = sameSize && Arrays.equals(previous.tiles[tile], packed)
+                ? previous.tiles[tile] : packed;
+      }
+    }
+
+    /**
+     * Packs the pixels of one tile of an image.
+     *
+     * @param pixels The pixels of the image.
+     * @param column The column of the tile.
+     * @param row    The row of the tile.
+     * @return The packed red, green and blue values of the tile, row by row.
+     */
+    private static int[] pack(Pixel[][] pixels, int column, int row) {
+      int x0 = column * TILE_SIZE;
+      int y0 = row * TILE_SIZE;
+      int tileWidth = Math.min(TILE_SIZE, pixels.length - x0);
+      int tileHeight = Math.min(TILE_SIZE, pixels[0].length - y0);
+      int[] packed = new int[tileWidth * tileHeight];
+      for (int x = 0; x < tileWidth; x++) {
+        for (int y = 0; y < tileHeight; y++) {
+          Pixel pixel = pixels[x0 + x][y0 + y];
+          packed[y * tileWidth + x] = (pixel.getRed() << 16) | (pixel.getGreen() << 8)
+                  | pixel.getBlue();
+        }
+      }
+      return packed;
+    }
+
+    /**
+     * Rebuilds the image of this state from its tiles.
+     *
+     * @return The image.
+     */
+    private Image toImage() {
+      int columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+      Pixel[][] pixels = new Pixel[width][height];
+      for (int tile = 0; tile < tiles.length; tile++) {
+        int x0 = (tile % columns) * TILE_SIZE;
+        int y0 = (tile / columns) * TILE_SIZE;
+        int tileWidth = Math.min(TILE_SIZE, width - x0);
+        int[] packed = tiles[tile];
+        for (int i = 0; i < packed.length; i++) {
+          pixels[x0 + i % tileWidth][y0 + i / tileWidth] = Pixel.of(packed[i]);
+        }
+      }
+      return new Image(pixels);
+    }
+
+    /**
+     * Gets the size of the tiles of this state that are not shared with another state.
+     *
+     * @param other The adjacent state, or null if there is none.
+     * @return The size of the tiles in bytes.
+     */
+    private long bytesNotIn(State other) {
+      long bytes = 0;
+      for (int tile = 0; tile < tiles.length; tile++) {
+        if (other == null || other.tiles.length != tiles.length
+                || other.tiles[tile] != tiles[tile]) {
+          bytes += 4L * tiles[tile].length;
+        }
+      }
+      return bytes;
+    }
+  }
+
+  /**
+   * Starts a new history whose only state is the given image.
+   *
+   * @param image The image.
+   */
+  public synchronized void reset(Image image) {
+    states.clear();
+    current = -1;
+    currentBytes = 0;
+    currentImage = null;
+    record(image);
+  }
+
+  /**
+   * Records the given image as the state following the current one. States that were
+   * undone are dropped, and the oldest states are dropped while the history is larger
+   * than its bound. An image that is the current state is not recorded again.
+   *
+   * @param image The image after an edit.
+   */
+  public synchronized void record(Image image) {
+    if (current >= 0 && currentImage == image) {
+      return;
+    }
+    while (states.size() > current + 1) {
+      State dropped = states.remove(states.size() - 1);
+      currentBytes -= dropped.bytesNotIn(states.get(states.size() - 1));
+    }
+    State previous = current >= 0 ? states.get(current) : null;
+    State state = new State(image, previous);
+    states.add(state);
+    current++;
+    currentBytes += state.bytesNotIn(previous);
+    currentImage = image;
+
+    while (currentBytes > maxBytes && current > 0) {
+      State dropped = states.remove(0);
+      currentBytes -= dropped.bytesNotIn(states.get(0));
+      current--;
+    }
+  }
+
+  /**
+   * Steps back to the previous state.
+   *
+   * @return The image of the previous state, or null if there is nothing to undo.
+   */
+  public synchronized Image undo() {
+    if (current <= 0) {
+      return null;
+    }
+    current--;
+    currentImage = states.get(current).toImage();
+    return currentImage;
+  }
+
+  /**
+   * Steps forward to the state that was last undone.
+   *
+   * @return The image of the next state, or null if there is nothing to redo.
+   */
+  public synchronized Image redo() {
+    if (current + 1 >= states.size()) {
+      return null;
+    }
+    current++;
+    currentImage = states.get(current).toImage();
+    return currentImage;
+  }
+
+  /**
+   * Gets the number of states kept, including the current one.
+   *
+   * @return The number of states.
+   */
+  public synchronized int size() {
+    return states.size();
+  }
+
+  /**
+   * Gets the size of the tiles kept by the history.
+   *
+   * @return The size of the tiles in bytes.
+   */
+  public synchronized long getBytes() {
+    return currentBytes;
+  }
+}
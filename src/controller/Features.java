@@ -103,4 +103,16 @@ public interface Features {
    */
   void confirmButton();
 
+  /**
+   * Initiates the process of undoing the
+   * last applied operation.
+   */
+  void undoButton();
+
+  /**
+   * Initiates the process of redoing the
+   * last undone operation.
+   */
+  void redoButton();
+
 }
@@ -1,14 +1,23 @@
 package controller;
 
 import java.awt.image.BufferedImage;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
 
 import controller.commands.CommandFactory;
 import controller.commands.CommandInterface;
 import controller.commands.CommandGroup;
-import controller.commands.HistogramCommand;
+import model.ApproximateHistogram;
+import model.HistogramCreator;
 import model.Image;
 import model.ImageModelInterface;
 import model.Pixel;
+import model.Progress;
 import view.GUIInterface;
 
 /**
@@ -17,15 +26,69 @@ import view.GUIInterface;
  * graphical user interface.
  */
 public class GUIController implements ImageControllerInterface, Features {
+  private static final long HISTORY_BYTES = 256L * 1024 * 1024;
+
   private final GUIInterface view;
   private final ImageModelInterface model;
   private String previewImageName;
+  private String previewSourceName;
   private String displayImageName;
   private final CommandFactory commandFactory;
   private CommandGroup commandGroup;
+  private final ExecutorService worker;
+  private final double histogramSample;
+  private Future<?> task;
+  private int generation;
+  private SplitPreview splitPreview;
+  private final EditHistory history;
+  private final HistogramCreator[] histogramCreators;
+  private volatile int shownHistogram;
+
+  /**
+   * Renders the images shown once a command has run.
+   */
+  private interface Renderer {
+    /**
+     * Renders the image and the histogram to show.
+     *
+     * @return The rendered image and histogram.
+     * @throws Exception If an error occurs during rendering.
+     */
+    Rendered render() throws Exception;
+  }
+
+  /**
+   * The images shown once a command has run, with the size the image is shown at.
+   */
+  private static final class Rendered {
+    private final BufferedImage image;
+    private final int width;
+    private final int height;
+    private final BufferedImage histogram;
+    private final int histogramBuffer;
+
+    /**
+     * Constructs the images shown once a command has run.
+     *
+     * @param image           The rendered image, which may be a reduced preview.
+     * @param width           The width the image is shown at.
+     * @param height          The height the image is shown at.
+     * @param histogram       The rendered histogram.
+     * @param histogramBuffer The index of the creator the histogram was rendered by.
+     */
+    private Rendered(BufferedImage image, int width, int height, BufferedImage histogram,
+                     int histogramBuffer) {
+      this.image = image;
+      this.width = width;
+      this.height = height;
+      this.histogram = histogram;
+      this.histogramBuffer = histogramBuffer;
+    }
+  }
 
   /**
-   * Constructs a GUIController with the specified view and model.
+   * Constructs a GUIController with the specified view and model. Commands are
+   * run on the thread handling the user input.
    *
    * @param view  The graphical user interface view.
    * @param model The image model interface.
@@ -33,66 +96,112 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   public GUIController(GUIInterface view,
                        ImageModelInterface model) throws IllegalArgumentException {
+    this(view, model, null);
+  }
+
+  /**
+   * Constructs a GUIController with the specified view and model that runs commands
+   * on the given worker, so that the user interface stays responsive while an image
+   * is processed. The view shows the progress of the running command, lets the user
+   * cancel it, and is updated on the event dispatch thread once the result is ready.
+   *
+   * @param view   The graphical user interface view.
+   * @param model  The image model interface.
+   * @param worker The single-threaded executor running the commands, or null to run
+   *               them on the thread handling the user input.
+   * @throws IllegalArgumentException If the view or model object is missing.
+   */
+  public GUIController(GUIInterface view, ImageModelInterface model,
+                       ExecutorService worker) throws IllegalArgumentException {
+    this(view, model, worker, 1);
+  }
+
+  /**
+   * Constructs a GUIController that runs commands on the given worker and shows the
+   * histogram of the display image estimated from a sample of its pixels, which is
+   * faster than counting every pixel of a large image. The histogram shows the sampled
+   * fraction and the error bound of the estimate.
+   *
+   * @param view            The graphical user interface view.
+   * @param model           The image model interface.
+   * @param worker          The single-threaded executor running the commands, or null
+   *                        to run them on the thread handling the user input.
+   * @param histogramSample The fraction of the pixels sampled for the histogram, where
+   *                        1 counts every pixel.
+   * @throws IllegalArgumentException If the view or model object is missing, or the
+   *                                  fraction is not greater than 0 and at most 1.
+   */
+  public GUIController(GUIInterface view, ImageModelInterface model,
+                       ExecutorService worker, double histogramSample)
+          throws IllegalArgumentException {
     if (view == null) {
       throw new IllegalArgumentException("View Object is missing!");
     }
     if (model == null) {
       throw new IllegalArgumentException("Model Object is missing!");
     }
+    if (!(histogramSample > 0 && histogramSample <= 1)) {
+      throw new IllegalArgumentException("Histogram sample must be in (0, 1]");
+    }
     this.view = view;
     this.model = model;
+    this.worker = worker;
+    this.histogramSample = histogramSample;
+    this.history = new EditHistory(HISTORY_BYTES);
+    this.histogramCreators = new HistogramCreator[]{new HistogramCreator(),
+        new HistogramCreator()};
     commandFactory = new CommandFactory(model, view);
   }
 
   /**
-   * Updates the view with the specified image.
+   * Renders the specified image and the histogram shown next to it. Previews are
+   * computed on a reduced copy of the image; they are shown at the size of the display
+   * image and scaled by the view as it paints them, so no full-size copy is made. The
+   * histogram is rendered by the creator whose image the view does not show.
    *
-   * @param imageName The name of the image to update the view with.
-   * @throws Exception If an error occurs during the update process.
+   * @param imageName The name of the image to render.
+   * @return The rendered image and histogram.
+   * @throws Exception If an error occurs during rendering.
    */
-  private void updateViewWithImage(String imageName) throws Exception {
-    BufferedImage image = convertToBufferedImage(model.getImage(imageName));
-    view.setImage(image);
-    createHistogram("testImage");
-    view.setHistogram(convertToBufferedImage(
-            model.getImage("testImageHist")));
+  private Rendered render(String imageName) throws Exception {
+    BufferedImage image = model.getImage(imageName).toBufferedImage();
+    Pixel[][] display = model.getImage(displayImageName).getPixels();
+    int buffer = 1 - shownHistogram;
+    return new Rendered(image, display.length, display[0].length,
+            createHistogram(displayImageName, histogramCreators[buffer]), buffer);
   }
 
   /**
-   * Creates a histogram for the specified image name.
+   * Creates a histogram for the specified image name. The histogram is rendered
+   * straight into the image of the given creator, which is drawn over on every update
+   * it renders. When the controller samples the histogram, the sampled fraction and the
+   * largest error bound relative to the highest frequency are shown on it.
    *
    * @param imageName The name of the image to create a histogram for.
+   * @param creator   The creator to render the histogram with.
+   * @return The rendered histogram.
    * @throws Exception If an error occurs during histogram creation.
    */
-  private void createHistogram(String imageName) throws Exception {
-    CommandInterface histogram = new HistogramCommand(model, imageName, "testImageHist");
-    try {
-      histogram.execute();
-    } catch (Exception e) {
-      throw new Exception(e);
+  private BufferedImage createHistogram(String imageName, HistogramCreator creator)
+          throws Exception {
+    if (histogramSample >= 1) {
+      return creator.render(model.histogramCommand(imageName, "testImageHist"));
     }
-  }
-
-  /**
-   * Converts an Image to a BufferedImage.
-   *
-   * @param image The Image to convert.
-   * @return The converted BufferedImage.
-   */
-  private BufferedImage convertToBufferedImage(Image image) {
-    Pixel[][] pixels = image.getPixels();
-    int width = pixels.length;
-    int height = pixels[0].length;
-    BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-
-    for (int x = 0; x < width; x++) {
-      for (int y = 0; y < height; y++) {
-        Pixel pixel = pixels[x][y];
-        int rgb = (pixel.getRed() << 16) | (pixel.getGreen() << 8) | pixel.getBlue();
-        bufferedImage.setRGB(x, y, rgb);
+    ApproximateHistogram histogram = model.getImage(imageName)
+            .sampleHistogram(histogramSample);
+    int[][] counts = histogram.getCounts();
+    String caption = null;
+    if (!histogram.isExact()) {
+      int highest = 1;
+      for (int[] channel : counts) {
+        for (int count : channel) {
+          highest = Math.max(highest, count);
+        }
       }
+      caption = String.format(Locale.ROOT, "%.1f%% sample, error < %.1f%%",
+              100 * histogram.getFraction(), 100 * histogram.getMaxErrorBound() / highest);
     }
-    return bufferedImage;
+    return creator.render(counts, caption);
   }
 
   /**
@@ -103,35 +212,219 @@ public class GUIController implements ImageControllerInterface, Features {
   @Override
   public void process() {
     previewImageName = "previewImage";
+    previewSourceName = "previewSource";
     displayImageName = "testImage";
     view.addFeatures(this);
   }
 
   /**
    * Processes the specified action by invoking the corresponding
-   * command and updating the view.
+   * command and updating the view. Displays the given error message
+   * if the action fails.
    *
    * @param action The action to process.
-   * @return True if the action was processed successfully, false otherwise.
+   * @param error  The message displayed if the action fails.
    */
-  private boolean processor(String action) {
+  private void processor(String action, String error) {
     try {
       commandGroup = commandFactory.invokeCommand(action);
-      if (commandGroup != null)
-        if (commandGroup.hasPreview()) {
-          boolean previewSuccess = commandGroup.getPreviewCommand().execute();
-          if (previewSuccess) {
-            updateViewWithImage(previewImageName);
-            view.showOperationControls(true);
-          }
-        } else if (commandGroup.hasApply()) {
-          commandGroup.getApplyCommand().execute();
-          updateViewWithImage(displayImageName);
-        }
     } catch (Exception err) {
-      return false;
+      view.display(error);
+      return;
+    }
+    if (commandGroup != null) {
+      if (commandGroup.getSplitPercentage().isPresent()) {
+        previewSplit(commandGroup, error);
+      } else if (commandGroup.hasPreview()) {
+        run(commandGroup.getPreviewCommand(), () -> render(previewImageName), true,
+                () -> view.showOperationControls(true), error);
+      } else if (commandGroup.hasApply()) {
+        splitPreview = null;
+        run(recorded(commandGroup.getApplyCommand(), "load".equals(action)),
+                () -> render(displayImageName), false, () -> { }, error);
+      }
+    }
+  }
+
+  /**
+   * Wraps a command changing the display image so that the image it leaves is
+   * recorded in the edit history.
+   *
+   * @param command The command changing the display image.
+   * @param reset   Whether the image starts a new history, as a loaded image does.
+   * @return The command recording its result.
+   */
+  private CommandInterface recorded(CommandInterface command, boolean reset) {
+    return () -> {
+      boolean success = command.execute();
+      Image image = success ? model.getImage(displayImageName) : null;
+      if (image != null) {
+        if (reset) {
+          history.reset(image);
+        } else {
+          history.record(image);
+        }
+      }
+      return success;
+    };
+  }
+
+  /**
+   * Replaces the display image with a state taken from the edit history. An operation
+   * being previewed was computed from the replaced image, so once the restored image is
+   * shown the operation is dropped and its controls are hidden.
+   *
+   * @param step  The step through the history, giving the image of the new state or
+   *              null if there is no such state.
+   * @param error The message displayed if there is no such state.
+   */
+  private void restore(Supplier<Image> step, String error) {
+    splitPreview = null;
+    run(() -> {
+      Image image = step.get();
+      if (image == null) {
+        throw new IllegalStateException(error);
+      }
+      model.addImage(displayImageName, image);
+      return true;
+    }, () -> render(displayImageName), false, () -> {
+      commandGroup = null;
+      view.showOperationControls(false);
+    }, error);
+  }
+
+  /**
+   * Shows the split preview of an operation. The preview is composed from the reduced
+   * copy of the display image the operation was previewed on, and is scaled to the
+   * size of the display image by the view. The filtered and original images of the
+   * last previewed operation are kept, so previewing it again with another split
+   * percentage only recomposes the changed columns instead of running it again.
+   *
+   * @param group The commands of the operation and its split percentage.
+   * @param error The message displayed if the preview fails.
+   */
+  private void previewSplit(CommandGroup group, String error) {
+    double percentage = group.getSplitPercentage().get();
+    if (splitPreview != null && splitPreview.isFor(group.getOperation())) {
+      try {
+        Pixel[][] display = model.getImage(displayImageName).getPixels();
+        view.setImage(splitPreview.compose(percentage), display.length, display[0].length);
+        view.showOperationControls(true);
+      } catch (Exception e) {
+        view.display(error);
+      }
+      return;
+    }
+
+    SplitPreview[] created = new SplitPreview[1];
+    run(group.getPreviewCommand(), () -> {
+      Rendered rendered = render(previewImageName);
+      created[0] = new SplitPreview(group.getOperation(),
+              model.getImage(previewSourceName).toBufferedImage(), rendered.image);
+      return new Rendered(created[0].compose(percentage), rendered.width, rendered.height,
+              rendered.histogram, rendered.histogramBuffer);
+    }, true, () -> {
+      splitPreview = created[0];
+      view.showOperationControls(true);
+    }, error);
+  }
+
+  /**
+   * Runs a command and shows the resulting image once it is ready. With a worker,
+   * the command runs in the background while the view shows its progress, and a
+   * result that arrives after the command was cancelled is discarded.
+   *
+   * @param command  The command to run.
+   * @param renderer The rendering of the images shown once the command succeeds.
+   * @param required Whether the image is shown only if the command succeeds.
+   * @param onShown  The update of the view made after the image is shown.
+   * @param error    The message displayed if the command or the update fails.
+   */
+  private void run(CommandInterface command, Renderer renderer, boolean required,
+                   Runnable onShown, String error) {
+    if (worker == null) {
+      try {
+        show(execute(command, renderer, required), onShown);
+      } catch (Exception e) {
+        view.display(error);
+      }
+      return;
+    }
+
+    int current = ++generation;
+    view.showBusy(true);
+    task = worker.submit(() -> {
+      int[] reported = {-1};
+      Progress.setListener(percent -> {
+        if (percent != reported[0]) {
+          reported[0] = percent;
+          SwingUtilities.invokeLater(() -> {
+            if (current == generation) {
+              view.showProgress(percent);
+            }
+          });
+        }
+      });
+      try {
+        Rendered rendered = execute(command, renderer, required);
+        SwingUtilities.invokeLater(() -> {
+          if (current == generation) {
+            view.showBusy(false);
+            show(rendered, onShown);
+          }
+        });
+      } catch (CancellationException e) {
+        // the view was already reset by cancelButton()
+      } catch (Exception e) {
+        SwingUtilities.invokeLater(() -> {
+          if (current == generation) {
+            view.showBusy(false);
+            view.display(error);
+          }
+        });
+      } finally {
+        Progress.setListener(null);
+      }
+    });
+  }
+
+  /**
+   * Executes a command and renders the resulting image.
+   *
+   * @param command  The command to execute.
+   * @param renderer The rendering of the images shown once the command succeeds.
+   * @param required Whether the image is rendered only if the command succeeds.
+   * @return The rendered image and histogram, or null if the command failed.
+   * @throws Exception If the command was cancelled or rendering fails.
+   */
+  private Rendered execute(CommandInterface command, Renderer renderer, boolean required)
+          throws Exception {
+    boolean success = command.execute();
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Operation cancelled");
+    }
+    if (required && !success) {
+      return null;
+    }
+    return renderer.render();
+  }
+
+  /**
+   * Shows a rendered image and its histogram in the view. The histograms are rendered
+   * by two creators in turn: the one whose image the view shows is only drawn over
+   * once the other one is shown in its place, so the view never paints a histogram
+   * while it is being rendered.
+   *
+   * @param rendered The rendered image and histogram, or null if there is nothing to show.
+   * @param onShown  The update of the view made after the image is shown.
+   */
+  private void show(Rendered rendered, Runnable onShown) {
+    if (rendered != null) {
+      view.setImage(rendered.image, rendered.width, rendered.height);
+      view.setHistogram(rendered.histogram);
+      shownHistogram = rendered.histogramBuffer;
+      onShown.run();
     }
-    return true;
   }
 
   /**
@@ -141,10 +434,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void loadButton() {
-    boolean status = processor("load");
-    if (!status) {
-      view.display("Error executing Load!");
-    }
+    processor("load", "Error executing Load!");
   }
 
   /**
@@ -154,10 +444,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void blurButton() {
-    boolean status = processor("blur");
-    if (!status) {
-      view.display("Error executing Blur!");
-    }
+    processor("blur", "Error executing Blur!");
   }
 
   /**
@@ -167,10 +454,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void sepiaButton() {
-    boolean status = processor("sepia");
-    if (!status) {
-      view.display("Error executing Sepia!");
-    }
+    processor("sepia", "Error executing Sepia!");
   }
 
   /**
@@ -180,10 +464,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void lumaButton() {
-    boolean status = processor("luma");
-    if (!status) {
-      view.display("Error executing Luma!");
-    }
+    processor("luma", "Error executing Luma!");
   }
 
   /**
@@ -193,10 +474,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void redButton() {
-    boolean status = processor("red");
-    if (!status) {
-      view.display("Error executing Red-Component!");
-    }
+    processor("red", "Error executing Red-Component!");
   }
 
   /**
@@ -206,10 +484,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void greenButton() {
-    boolean status = processor("green");
-    if (!status) {
-      view.display("Error executing Green-Component!");
-    }
+    processor("green", "Error executing Green-Component!");
   }
 
   /**
@@ -219,10 +494,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void blueButton() {
-    boolean status = processor("blue");
-    if (!status) {
-      view.display("Error executing Blue-Component!");
-    }
+    processor("blue", "Error executing Blue-Component!");
   }
 
   /**
@@ -232,10 +504,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void compressButton() {
-    boolean status = processor("compress");
-    if (!status) {
-      view.display("Error executing Compress!");
-    }
+    processor("compress", "Error executing Compress!");
   }
 
   /**
@@ -245,10 +514,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void adjustLevelsButton() {
-    boolean status = processor("adjust-levels");
-    if (!status) {
-      view.display("Error executing Adjust-Levels!");
-    }
+    processor("adjust-levels", "Error executing Adjust-Levels!");
   }
 
   /**
@@ -258,10 +524,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void colorCorrectedButton() {
-    boolean status = processor("color-corrected");
-    if (!status) {
-      view.display("Error executing Color-Corrected!");
-    }
+    processor("color-corrected", "Error executing Color-Corrected!");
   }
 
   /**
@@ -271,10 +534,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void sharpenButton() {
-    boolean status = processor("sharpen");
-    if (!status) {
-      view.display("Error executing Sharpen!");
-    }
+    processor("sharpen", "Error executing Sharpen!");
   }
 
   /**
@@ -284,10 +544,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void horizontalFlipButton() {
-    boolean status = processor("horizontal-flip");
-    if (!status) {
-      view.display("Error executing Horizontal-Flip!");
-    }
+    processor("horizontal-flip", "Error executing Horizontal-Flip!");
   }
 
   /**
@@ -297,10 +554,7 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void verticalFlipButton() {
-    boolean status = processor("vertical-flip");
-    if (!status) {
-      view.display("Error executing Vertical-Flip!");
-    }
+    processor("vertical-flip", "Error executing Vertical-Flip!");
   }
 
   /**
@@ -310,25 +564,25 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void saveButton() {
-    boolean status = processor("save");
-    if (!status) {
-      view.display("Error executing Save!");
-    }
+    processor("save", "Error executing Save!");
   }
 
   /**
    * Initiates the process of canceling the current
-   * operation, restoring the display image.
+   * operation, restoring the display image. An operation
+   * running in the background is stopped and its result discarded.
    * Displays an error message if the execution fails.
    */
   @Override
   public void cancelButton() {
-    try {
-      updateViewWithImage(displayImageName);
-    } catch (Exception e) {
-      view.display("Error Executing Cancel!");
+    if (task != null && !task.isDone()) {
+      generation++;
+      task.cancel(true);
+      view.showBusy(false);
     }
     view.showOperationControls(false);
+    run(() -> true, () -> render(displayImageName), false, () -> { },
+            "Error Executing Cancel!");
   }
 
   /**
@@ -338,14 +592,30 @@ public class GUIController implements ImageControllerInterface, Features {
    */
   @Override
   public void confirmButton() {
-    try {
-      if (commandGroup != null && commandGroup.getApplyCommand() != null) {
-        commandGroup.getApplyCommand().execute();
-        updateViewWithImage(displayImageName);
-        view.showOperationControls(false);
-      }
-    } catch (Exception e) {
-      view.display("Error Executing Confirm!");
+    if (commandGroup != null && commandGroup.getApplyCommand() != null) {
+      splitPreview = null;
+      run(recorded(commandGroup.getApplyCommand(), false), () -> render(displayImageName), false,
+              () -> view.showOperationControls(false), "Error Executing Confirm!");
     }
   }
+
+  /**
+   * Initiates the process of undoing the last applied
+   * operation, restoring the previous image from the history.
+   * Displays an error message if there is nothing to undo.
+   */
+  @Override
+  public void undoButton() {
+    restore(history::undo, "Nothing to undo!");
+  }
+
+  /**
+   * Initiates the process of redoing the last undone
+   * operation, restoring the next image from the history.
+   * Displays an error message if there is nothing to redo.
+   */
+  @Override
+  public void redoButton() {
+    restore(history::redo, "Nothing to redo!");
+  }
 }
@@ -5,6 +5,7 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -13,9 +14,12 @@ import controller.commands.BlueComponentCommand;
 import controller.commands.BlurCommand;
 import controller.commands.BrightenCommand;
 import controller.commands.ColorCorrectionCommand;
+import controller.commands.ColorMatrixCommand;
 import controller.commands.CombineCommand;
 import controller.commands.CommandInterface;
 import controller.commands.CompressCommand;
+import controller.commands.ConvolveCommand;
+import controller.commands.FlushCommand;
 import controller.commands.GreenComponentCommand;
 import controller.commands.HistogramCommand;
 import controller.commands.HorizontalFlipCommand;
@@ -23,14 +27,19 @@ import controller.commands.IntensityComponentCommand;
 import controller.commands.LevelsAdjustmentCommand;
 import controller.commands.LoadCommand;
 import controller.commands.LumaComponentCommand;
+import controller.commands.MedianCommand;
 import controller.commands.RGBSplit;
 import controller.commands.RedComponentCommand;
 import controller.commands.SaveCommand;
+import controller.commands.SaveQueue;
 import controller.commands.SepiaCommand;
 import controller.commands.SharpenCommand;
 import controller.commands.ValueComponentCommand;
 import controller.commands.VerticalFlipCommand;
+import model.BorderMode;
+import model.ColorMatrix;
 import model.ImageModelInterface;
+import model.ResultCache;
 import view.ImageViewInterface;
 
 /**
@@ -44,8 +53,12 @@ import view.ImageViewInterface;
  */
 public class ImageController implements ImageControllerInterface {
 
+  private static final long MAX_DECODED_BYTES = 128L * 1024 * 1024;
+
   private final ImageViewInterface view;
   private final ImageModelInterface model;
+  private final ResultCache decodedImages;
+  private final SaveQueue saveQueue;
   private Map<String, Function<String[], CommandInterface>> commandMap;
 
   /**
@@ -57,6 +70,21 @@ public class ImageController implements ImageControllerInterface {
    */
   public ImageController(ImageViewInterface view,
                          ImageModelInterface model) throws IllegalArgumentException {
+    this(view, model, null);
+  }
+
+  /**
+   * Constructs a new ImageController whose save commands write images in the
+   * background. Outstanding saves are waited for by the flush command, at the
+   * end of every script and when the user quits.
+   *
+   * @param view      The ImageView for displaying user interactions and results.
+   * @param model     The ImageModel for image processing operations.
+   * @param saveQueue The queue of asynchronous saves, or null to save synchronously.
+   * @throws IllegalArgumentException when model or view is null.
+   */
+  public ImageController(ImageViewInterface view, ImageModelInterface model,
+                         SaveQueue saveQueue) throws IllegalArgumentException {
     if (view == null) {
       throw new IllegalArgumentException("View Object is missing!");
     }
@@ -65,6 +93,8 @@ public class ImageController implements ImageControllerInterface {
     }
     this.view = view;
     this.model = model;
+    this.decodedImages = new ResultCache(MAX_DECODED_BYTES);
+    this.saveQueue = saveQueue;
     initializeCommandMap();
   }
 
@@ -78,10 +108,18 @@ public class ImageController implements ImageControllerInterface {
   private void initializeCommandMap() {
     commandMap = new HashMap<>();
 
-    commandMap.put("load", tokens -> new LoadCommand(model, tokens[1], tokens[2]));
-    commandMap.put("save", tokens -> new SaveCommand(model, tokens[1], tokens[2]));
+    commandMap.put("load", tokens ->
+            new LoadCommand(model, tokens[1], tokens[2], decodedImages));
+    commandMap.put("save", tokens -> new SaveCommand(model, tokens[1], tokens[2], saveQueue));
+    commandMap.put("flush", tokens -> new FlushCommand(saveQueue));
 
     commandMap.put("blur", tokens -> {
+      if (tokens.length % 2 == 0) {
+        Optional<Double> splitPercentage = tokens.length > 4 ?
+                Optional.of(Double.parseDouble(tokens[5])) : Optional.empty();
+        return new BlurCommand(model, Double.parseDouble(tokens[1]), tokens[2], tokens[3],
+                splitPercentage);
+      }
       Optional<Double> splitPercentage = tokens.length > 3 ?
               Optional.of(Double.parseDouble(tokens[4])) : Optional.empty();
       return new BlurCommand(model, tokens[1], tokens[2], splitPercentage);
@@ -158,6 +196,29 @@ public class ImageController implements ImageControllerInterface {
               Integer.parseInt(tokens[3]), tokens[4], tokens[5], splitPercentage);
     });
 
+    commandMap.put("color-matrix", tokens -> {
+      Optional<Double> splitPercentage = tokens.length > 6 ?
+              Optional.of(Double.parseDouble(tokens[7])) : Optional.empty();
+      return new ColorMatrixCommand(model, ColorMatrix.parse(tokens[1], tokens[2], tokens[3]),
+              tokens[4], tokens[5], splitPercentage);
+    });
+
+    commandMap.put("convolve", tokens -> {
+      int first = tokens.length % 2 == 0 ? 2 : 3;
+      BorderMode border = first == 3 ? BorderMode.parse(tokens[2]) : BorderMode.ZERO;
+      Optional<Double> splitPercentage = tokens.length > first + 2 ?
+              Optional.of(Double.parseDouble(tokens[first + 3])) : Optional.empty();
+      return new ConvolveCommand(model, tokens[1], border, tokens[first], tokens[first + 1],
+              splitPercentage);
+    });
+
+    commandMap.put("median", tokens -> {
+      Optional<Double> splitPercentage = tokens.length > 4 ?
+              Optional.of(Double.parseDouble(tokens[5])) : Optional.empty();
+      return new MedianCommand(model, Integer.parseInt(tokens[1]), tokens[2], tokens[3],
+              splitPercentage);
+    });
+
   }
 
   /**
@@ -173,6 +234,7 @@ public class ImageController implements ImageControllerInterface {
       String[] tokens = command.split(" ");
 
       if (tokens[0].equals("q")) {
+        flushSaves();
         break;
       }
       status = this.processor(command);
@@ -217,13 +279,23 @@ public class ImageController implements ImageControllerInterface {
   }
 
 
+  /**
+   * Gets the cache of images decoded by load commands, which keeps
+   * the number of hits and misses of repeated loads.
+   *
+   * @return The cache of decoded images.
+   */
+  public ResultCache getDecodedImages() {
+    return decodedImages;
+  }
+
   /**
    * Executes a script file containing a sequence of
    * image processing commands.
    *
    * @param path The path to the script file.
    * @return True if all commands in the script were executed
-   *         successfully, false otherwise.
+   *         successfully and all saves were written, false otherwise.
    * @throws FileNotFoundException when an invalid path is given.
    */
   public boolean runScript(String path) throws FileNotFoundException {
@@ -239,7 +311,23 @@ public class ImageController implements ImageControllerInterface {
     } catch (IOException e) {
       throw new FileNotFoundException("File not Found!");
     }
-    return status;
+    return flushSaves() && status;
+  }
+
+  /**
+   * Waits for all outstanding asynchronous saves and displays the ones that failed.
+   *
+   * @return True if all saves were written successfully, false otherwise.
+   */
+  private boolean flushSaves() {
+    if (saveQueue == null) {
+      return true;
+    }
+    List<String> failures = saveQueue.flush();
+    for (String failure : failures) {
+      view.display(failure);
+    }
+    return failures.isEmpty();
   }
 }
 
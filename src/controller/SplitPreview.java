@@ -0,0 +1,92 @@
+package controller;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * The SplitPreview class holds the filtered and original images of the operation
+ * being previewed, and composes them into the split preview shown to the user. Both
+ * images are the reduced copies the operation is previewed on, so the preview costs
+ * the same whatever the resolution of the image. When the split percentage changes,
+ * only the columns between the previous and the new split line are copied, so the
+ * operation itself is not run again.
+ */
+public class SplitPreview {
+  private final String operation;
+  private final BufferedImage original;
+  private final BufferedImage filtered;
+  private final BufferedImage canvas;
+  private int split;
+
+  /**
+   * Constructs a SplitPreview of an operation from its filtered and original images.
+   *
+   * @param operation The operation being previewed, including its parameters.
+   * @param original  The image the operation is applied to.
+   * @param filtered  The result of the operation, of the same size as the original.
+   * @throws IllegalArgumentException If the images are missing or differ in size.
+   */
+  public SplitPreview(String operation, BufferedImage original, BufferedImage filtered)
+          throws IllegalArgumentException {
+    if (original == null || filtered == null) {
+      throw new IllegalArgumentException("Preview images are missing!");
+    }
+    if (original.getWidth() != filtered.getWidth()
+            || original.getHeight() != filtered.getHeight()) {
+      throw new IllegalArgumentException("Preview images differ in size!");
+    }
+    this.operation = operation;
+    this.original = original;
+    this.filtered = filtered;
+    this.canvas = new BufferedImage(original.getWidth(), original.getHeight(),
+            BufferedImage.TYPE_INT_RGB);
+    this.split = 0;
+    copyColumns(original, 0, original.getWidth());
+  }
+
+  /**
+   * Checks if this preview holds the result of the given operation.
+   *
+   * @param operation The operation, including its parameters.
+   * @return True if this preview can show the operation, false otherwise.
+   */
+  public boolean isFor(String operation) {
+    return this.operation != null && this.operation.equals(operation);
+  }
+
+  /**
+   * Composes the preview with the filtered image left of the split line and the
+   * original image right of it. The returned image is updated in place by later
+   * calls.
+   *
+   * @param splitPercentage The percentage of the width showing the filtered image.
+   * @return The composed preview.
+   * @throws IllegalArgumentException If the percentage is not between 0 and 100.
+   */
+  public BufferedImage compose(double splitPercentage) throws IllegalArgumentException {
+    if (splitPercentage < 0 || splitPercentage > 100) {
+      throw new IllegalArgumentException("Invalid percentage entered!");
+    }
+    int column = (int) (canvas.getWidth() * (splitPercentage / 100.0));
+    if (column > split) {
+      copyColumns(filtered, split, column);
+    } else if (column < split) {
+      copyColumns(original, column, split);
+    }
+    split = column;
+    return canvas;
+  }
+
+  /**
+   * Copies a range of columns of an image onto the preview.
+   *
+   * @param source The image to copy from.
+   * @param from   The first column to copy.
+   * @param to     The column after the last one to copy.
+   */
+  private void copyColumns(BufferedImage source, int from, int to) {
+    int width = to - from;
+    int height = canvas.getHeight();
+    int[] rgb = source.getRGB(from, 0, width, height, null, 0, width);
+    canvas.setRGB(from, 0, width, height, rgb, 0, width);
+  }
+}
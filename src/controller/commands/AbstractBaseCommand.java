@@ -1,6 +1,8 @@
 package controller.commands;
 
+import model.Image;
 import model.ImageModelInterface;
+import model.Tracer;
 
 /**
  * The AbstractBaseCommand class is an abstract base class for implementing
@@ -58,22 +60,72 @@ public abstract class AbstractBaseCommand implements CommandInterface {
    * Executes the image manipulation process defined in the processImage() method.
    * Subclasses must implement processImage() to define the specific image
    * manipulation logic. If an exception occurs during execution, the method
-   * returns false; otherwise, it returns true.
+   * returns false; otherwise, it returns true. Every execution is recorded in the
+   * global MetricsRegistry under the type of the command, emitted as a
+   * CommandEvent to the Flight Recorder and traced as a span when a trace is recorded.
    *
    * @return true if the execution was successful, false otherwise.
    */
   @Override
   public boolean execute() {
+    long wallStart = System.nanoTime();
+    long cpuStart = MetricsRegistry.cpuTime();
+    long allocatedStart = MetricsRegistry.allocatedBytes();
+    CommandEvent event = new CommandEvent();
+    event.begin();
     boolean status;
     try {
-      this.processImage();
+      Tracer.span("command", this.toString(), () -> {
+        this.processImage();
+        return null;
+      }, "image", this.imageName, "destination", this.destinationImageName);
       status = true;
     } catch (Exception e) {
       status = false;
     }
+    event.end();
+    int[] size = status ? this.processedSize() : new int[2];
+    MetricsRegistry.getGlobal().record(this.toString(), status,
+            System.nanoTime() - wallStart,
+            MetricsRegistry.cpuTime() - cpuStart,
+            MetricsRegistry.allocatedBytes() - allocatedStart,
+            (long) size[0] * size[1]);
+    if (event.shouldCommit()) {
+      event.command = this.toString();
+      event.imageName = this.imageName;
+      event.destination = this.destinationImageName;
+      event.width = size[0];
+      event.height = size[1];
+      event.parameters = this.getParameters();
+      event.success = status;
+      event.commit();
+    }
     return status;
   }
 
+  /**
+   * Gets the size of the image this command worked on.
+   *
+   * @return The width and height of the image, or zeros if the image is not in the model.
+   */
+  private int[] processedSize() {
+    Image image = this.model.getImage(this.imageName);
+    if (image == null || image.getPixels() == null || image.getPixels().length == 0) {
+      return new int[2];
+    }
+    return new int[]{image.getPixels().length, image.getPixels()[0].length};
+  }
+
+  /**
+   * Describes the parameters of this command, other than the names of its images,
+   * for diagnostic events.
+   *
+   * @return The parameters of the command, or an empty string if it has none.
+   */
+  protected String getParameters() {
+    return "";
+  }
+
   /**
    * This method must be implemented by subclasses to define the specific image
    * manipulation logic. It may throw an Exception to indicate an error.
@@ -4,11 +4,13 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.NoSuchFileException;
 
 import javax.imageio.ImageIO;
 
 import model.Image;
 import model.Pixel;
+import model.Tracer;
 
 
 /**
@@ -43,6 +45,25 @@ public abstract class AbstractImageFormat implements ImageParserInterface {
    */
   @Override
   public Image load() throws IOException {
+    CodecEvent event = new CodecEvent();
+    event.begin();
+    Image image = null;
+    try {
+      image = Tracer.span("decode", "decode", this::read, "path", path);
+      return image;
+    } finally {
+      event.finish("load", path, image, image != null);
+    }
+  }
+
+  /**
+   * Decodes the image at the path of this format.
+   *
+   * @return The decoded Image object.
+   * @throws IOException if there are issues reading the image or
+   *                     the file format is unsupported.
+   */
+  private Image read() throws IOException {
     BufferedImage bufferedImage;
     try {
       bufferedImage = ImageIO.read(new File(path));
@@ -60,20 +81,15 @@ public abstract class AbstractImageFormat implements ImageParserInterface {
 
     for (int x = 0; x < width; x++) {
       for (int y = 0; y < height; y++) {
-        int rgb = bufferedImage.getRGB(x, y);
-        int red = (rgb >> 16) & 0xFF;
-        int green = (rgb >> 8) & 0xFF;
-        int blue = rgb & 0xFF;
-
-        Pixel pixel = new Pixel(red, green, blue);
-        pixels[x][y] = pixel;
+        pixels[x][y] = Pixel.of(bufferedImage.getRGB(x, y));
       }
     }
     return new Image(pixels);
   }
 
   /**
-   * Saves the provided Image object to the specified file path.
+   * Saves the provided Image object to the specified file path. The image is
+   * written to a temporary file and renamed over the path once it is complete.
    *
    * @param path  The path where the image should be saved.
    * @param image The Image object to be saved.
@@ -82,28 +98,43 @@ public abstract class AbstractImageFormat implements ImageParserInterface {
    */
   @Override
   public void save(String path, Image image) throws Exception {
-    if (path == null || path.trim().isEmpty()) {
-      throw new IllegalArgumentException("Path cannot be null or empty");
+    CodecEvent event = new CodecEvent();
+    event.begin();
+    boolean success = false;
+    try {
+      Tracer.span("encode", "encode", () -> {
+        this.write(path, image);
+        return null;
+      }, "path", path);
+      success = true;
+    } finally {
+      event.finish("save", path, image, success);
     }
+  }
 
-    int width = image.getPixels().length;
-    int height = image.getPixels()[0].length;
-
-    BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-
-    for (int x = 0; x < width; x++) {
-      for (int y = 0; y < height; y++) {
-        Pixel pixel = image.getPixels()[x][y];
-        int rgb = (pixel.getRed() << 16) | (pixel.getGreen() << 8) | pixel.getBlue();
-        bufferedImage.setRGB(x, y, rgb);
-      }
+  /**
+   * Encodes and writes an image to the given path.
+   *
+   * @param path  The path where the image should be saved.
+   * @param image The Image object to be saved.
+   * @throws Exception if there are issues saving the
+   *                   image or the file format is unsupported.
+   */
+  private void write(String path, Image image) throws Exception {
+    if (path == null || path.trim().isEmpty()) {
+      throw new IllegalArgumentException("Path cannot be null or empty");
     }
 
+    BufferedImage bufferedImage = image.toBufferedImage();
     String fileExtension = path.substring(path.lastIndexOf('.') + 1);
 
     try {
-      ImageIO.write(bufferedImage, fileExtension, new File(path));
-    } catch (FileNotFoundException e) {
+      AtomicFileWriter.write(path, file -> {
+        if (!ImageIO.write(bufferedImage, fileExtension, file)) {
+          throw new IOException("No writer for format " + fileExtension);
+        }
+      });
+    } catch (FileNotFoundException | NoSuchFileException e) {
       throw new Exception("Invalid Path!");
     } catch (Exception e) {
       throw new Exception("Error saving image to path: " + path);
@@ -31,4 +31,9 @@ public abstract class AbstractSplitCommand extends AbstractBaseCommand {
 
   @Override
   protected abstract void processImage() throws Exception;
+
+  @Override
+  protected String getParameters() {
+    return this.splitPercentage.map(percentage -> "split " + percentage).orElse("");
+  }
 }
@@ -0,0 +1,152 @@
+package controller.commands;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The AtomicFileWriter class writes files so that readers only ever see either the
+ * previous file or the complete new one. The contents are written to a temporary
+ * file in the same directory, which is then atomically renamed over the target.
+ * How much of this is forced to disk before the write completes is controlled by
+ * the durability mode, which is configured once per process. A replaced file keeps
+ * its POSIX permissions, and its owner and group where the process may set them.
+ */
+public final class AtomicFileWriter {
+
+  private static volatile Durability durability = Durability.NONE;
+
+  /**
+   * The ContentWriter interface writes the contents of a file.
+   */
+  public interface ContentWriter {
+
+    /**
+     * Writes the contents to the given file, replacing anything already in it.
+     *
+     * @param file The file to write the contents to.
+     * @throws IOException if the contents cannot be written.
+     */
+    void writeTo(File file) throws IOException;
+  }
+
+  private AtomicFileWriter() {
+  }
+
+  /**
+   * Sets the durability mode used by all subsequent writes.
+   *
+   * @param mode The durability mode.
+   * @throws IllegalArgumentException if the mode is null.
+   */
+  public static void setDurability(Durability mode) throws IllegalArgumentException {
+    if (mode == null) {
+      throw new IllegalArgumentException("Durability cannot be null");
+    }
+    durability = mode;
+  }
+
+  /**
+   * Gets the durability mode used by writes.
+   *
+   * @return The durability mode.
+   */
+  public static Durability getDurability() {
+    return durability;
+  }
+
+  /**
+   * Atomically replaces the file at the given path with the written contents.
+   *
+   * @param path    The path of the file to write.
+   * @param content The writer of the contents of the file.
+   * @throws IOException if the file cannot be written, in which case the
+   *                     previous file at the path is left unchanged.
+   */
+  public static void write(String path, ContentWriter content) throws IOException {
+    Durability mode = durability;
+    Path target = Paths.get(path).toAbsolutePath();
+    Path directory = target.getParent();
+    Path temp = directory.resolve("." + target.getFileName() + "."
+            + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+
+    try {
+      Files.createFile(temp);
+      copyAttributes(target, temp);
+      content.writeTo(temp.toFile());
+      if (mode != Durability.NONE) {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+          channel.force(true);
+        }
+      }
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+
+    if (mode == Durability.DIRECTORY) {
+      syncDirectory(directory);
+    }
+  }
+
+  /**
+   * Copies the POSIX permissions of the file being replaced onto the temporary file,
+   * which is otherwise created with the default permissions of the process. The owner
+   * and group are copied too when the process is allowed to set them. Nothing is
+   * copied when the target does not exist or the file system is not POSIX.
+   *
+   * @param target The file being replaced.
+   * @param temp   The temporary file replacing it.
+   * @throws IOException if the permissions cannot be read or set.
+   */
+  private static void copyAttributes(Path target, Path temp) throws IOException {
+    PosixFileAttributeView view = Files.getFileAttributeView(target,
+            PosixFileAttributeView.class);
+    if (view == null || !Files.exists(target)) {
+      return;
+    }
+    PosixFileAttributes attributes = view.readAttributes();
+    PosixFileAttributeView tempView = Files.getFileAttributeView(temp,
+            PosixFileAttributeView.class);
+    tempView.setPermissions(attributes.permissions());
+    try {
+      if (!attributes.group().equals(tempView.readAttributes().group())) {
+        tempView.setGroup(attributes.group());
+      }
+      if (!attributes.owner().equals(tempView.readAttributes().owner())) {
+        tempView.setOwner(attributes.owner());
+      }
+    } catch (IOException e) {
+      // only privileged processes may give files away
+    }
+  }
+
+  /**
+   * Forces the entries of a directory to disk. Not every platform allows a
+   * directory to be opened, in which case the rename is left to the file system.
+   *
+   * @param directory The directory to sync.
+   */
+  private static void syncDirectory(Path directory) {
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // directories cannot be opened for syncing on this platform
+    }
+  }
+}
@@ -7,10 +7,13 @@ import model.ImageModelInterface;
 /**
  * The BlurCommand class is a concrete implementation of AbstractBaseCommand.
  * It represents a command that processes an image by applying a blur effect
- * and saving the result as a new image using an ImageModel.
+ * and saving the result as a new image using an ImageModel. The blur is either the
+ * 3x3 blur kernel or a Gaussian of a given standard deviation.
  */
 public class BlurCommand extends AbstractSplitCommand {
 
+  private final Optional<Double> sigma;
+
   /**
    * Constructs a new BlurCommand with the given ImageModel, source image name, and
    * destination image name.
@@ -23,6 +26,23 @@ public class BlurCommand extends AbstractSplitCommand {
   public BlurCommand(ImageModelInterface model, String imageName, String destinationImageName,
                      Optional<Double> splitPercentage) {
     super(model, imageName, destinationImageName, splitPercentage);
+    this.sigma = Optional.empty();
+  }
+
+  /**
+   * Constructs a new BlurCommand applying a Gaussian blur of the given standard
+   * deviation.
+   *
+   * @param model                The ImageModel to be used for image manipulation.
+   * @param sigma                The standard deviation of the Gaussian in pixels.
+   * @param imageName            The name of the source image to apply the blur effect to.
+   * @param destinationImageName The name of the destination image to save the blurred result.
+   * @param splitPercentage      The Percentage value in which image to split.
+   */
+  public BlurCommand(ImageModelInterface model, double sigma, String imageName,
+                     String destinationImageName, Optional<Double> splitPercentage) {
+    super(model, imageName, destinationImageName, splitPercentage);
+    this.sigma = Optional.of(sigma);
   }
 
   /**
@@ -33,6 +53,16 @@ public class BlurCommand extends AbstractSplitCommand {
    */
   @Override
   protected void processImage() throws Exception {
-    this.model.blurCommand(this.imageName, this.destinationImageName, this.splitPercentage);
+    if (this.sigma.isPresent()) {
+      this.model.blurCommand(this.sigma.get(), this.imageName, this.destinationImageName,
+              this.splitPercentage);
+    } else {
+      this.model.blurCommand(this.imageName, this.destinationImageName, this.splitPercentage);
+    }
+  }
+
+  @Override
+  protected String getParameters() {
+    return (this.sigma.map(value -> value + " ").orElse("") + super.getParameters()).trim();
   }
 }
@@ -39,4 +39,9 @@ public class BrightenCommand extends AbstractBaseCommand {
   protected void processImage() throws Exception {
     this.model.brightenCommand(imageName, destinationImageName, this.increment);
   }
+
+  @Override
+  protected String getParameters() {
+    return "increment " + this.increment;
+  }
 }
@@ -0,0 +1,61 @@
+package controller.commands;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import model.Image;
+
+/**
+ * The CodecEvent class is a Flight Recorder event emitted for every image
+ * loaded from or saved to a file. Its duration is the time spent decoding and
+ * reading, or encoding and writing, the image.
+ */
+@Name("grime.Codec")
+@Label("Image Codec")
+@Category({"GRIME", "Codecs"})
+@Description("Loading or saving of an image file")
+public class CodecEvent extends Event {
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Format")
+  String format;
+
+  @Label("Path")
+  String path;
+
+  @Label("Width")
+  int width;
+
+  @Label("Height")
+  int height;
+
+  @Label("Success")
+  boolean success;
+
+  /**
+   * Ends the event and commits it if it is enabled and exceeds its threshold.
+   *
+   * @param operation Whether the image was loaded or saved.
+   * @param path      The path of the file.
+   * @param image     The image that was loaded or saved, or null if there is none.
+   * @param success   Whether the operation succeeded.
+   */
+  void finish(String operation, String path, Image image, boolean success) {
+    end();
+    if (shouldCommit()) {
+      this.operation = operation;
+      this.format = path == null ? "" : path.substring(path.lastIndexOf('.') + 1);
+      this.path = path;
+      if (image != null && image.getPixels() != null && image.getPixels().length > 0) {
+        this.width = image.getPixels().length;
+        this.height = image.getPixels()[0].length;
+      }
+      this.success = success;
+      commit();
+    }
+  }
+}
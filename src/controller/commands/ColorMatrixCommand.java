@@ -0,0 +1,50 @@
+package controller.commands;
+
+import java.util.Optional;
+
+import model.ColorMatrix;
+import model.ImageModelInterface;
+
+/**
+ * The ColorMatrixCommand class represents a command for transforming the colors of an
+ * image by a color matrix given by the user. It extends the AbstractSplitCommand class
+ * and implements the image manipulation logic by invoking the colorMatrixCommand
+ * operation on the specified ImageModelInterface instance.
+ */
+public class ColorMatrixCommand extends AbstractSplitCommand {
+
+  private final ColorMatrix matrix;
+
+  /**
+   * Constructs a ColorMatrixCommand with the specified parameters.
+   *
+   * @param model                The ImageModelInterface instance to transform colors on.
+   * @param matrix               The color matrix.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image after the transform.
+   * @param splitPercentage      An optional parameter specifying the
+   *                             percentage of split for the image.
+   */
+  public ColorMatrixCommand(ImageModelInterface model, ColorMatrix matrix, String imageName,
+                            String destinationImageName, Optional<Double> splitPercentage) {
+    super(model, imageName, destinationImageName, splitPercentage);
+    this.matrix = matrix;
+  }
+
+  /**
+   * Transforms the colors of the image and saves the result as a new image using the
+   * ImageModel.
+   *
+   * @throws Exception if an error occurs during image processing.
+   */
+  @Override
+  protected void processImage() throws Exception {
+    this.model.colorMatrixCommand(this.matrix, this.imageName, this.destinationImageName,
+            this.splitPercentage);
+  }
+
+  @Override
+  protected String getParameters() {
+    return (this.matrix + " " + super.getParameters()).trim();
+  }
+}
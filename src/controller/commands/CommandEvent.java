@@ -0,0 +1,41 @@
+package controller.commands;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The CommandEvent class is a Flight Recorder event emitted for every execution
+ * of a command. Its duration is the time spent in the command, and its fields
+ * identify the command, the images it worked on and its parameters.
+ */
+@Name("grime.Command")
+@Label("Command")
+@Category({"GRIME", "Commands"})
+@Description("Execution of an image command")
+public class CommandEvent extends Event {
+
+  @Label("Command")
+  String command;
+
+  @Label("Image Name")
+  String imageName;
+
+  @Label("Destination")
+  @Description("The name of the destination image or the path of the file")
+  String destination;
+
+  @Label("Width")
+  int width;
+
+  @Label("Height")
+  int height;
+
+  @Label("Parameters")
+  String parameters;
+
+  @Label("Success")
+  boolean success;
+}
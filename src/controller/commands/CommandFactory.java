@@ -12,6 +12,9 @@ import view.GUIInterface;
  */
 public class CommandFactory {
 
+  private static final int PREVIEW_WIDTH = 900;
+  private static final int PREVIEW_HEIGHT = 600;
+
   private final ImageModelInterface model;
   private final GUIInterface view;
   private AppState state;
@@ -37,6 +40,20 @@ public class CommandFactory {
     return (state == AppState.IMAGE_LOADED || state == AppState.IMAGE_SAVED);
   }
 
+  /**
+   * Creates the command previewing an operation. The operation is applied to a copy
+   * of the loaded image reduced to the size of the display, so that the time taken
+   * by a preview does not depend on the resolution of the image; the operation is
+   * applied to the image itself only once it is confirmed.
+   *
+   * @param operation The command applying the operation to the reduced image.
+   * @return A CommandInterface reducing the image and then applying the operation.
+   */
+  private CommandInterface preview(CommandInterface operation) {
+    return new CommandSequence(new DownscaleCommand(model, "testImage", "previewSource",
+            PREVIEW_WIDTH, PREVIEW_HEIGHT), operation);
+  }
+
   /**
    * Handles the logic for processing the "load" button action.
    *
@@ -94,8 +111,8 @@ public class CommandFactory {
     if (state == AppState.IMAGE_LOADED || state == AppState.IMAGE_SAVED) {
       Optional<Double> splitPercentage = view.promptCompressPercentage();
       if (splitPercentage.isPresent()) {
-        CommandInterface verticalFlipPrevCommand = new CompressCommand(model, splitPercentage.get(),
-                "testImage", "previewImage");
+        CommandInterface verticalFlipPrevCommand = preview(new CompressCommand(model,
+                splitPercentage.get(), "previewSource", "previewImage"));
         CommandInterface verticalFlipCompleteCommand =
                 new CompressCommand(model, splitPercentage.get(),
                 "testImage", "testImage");
@@ -120,14 +137,16 @@ public class CommandFactory {
       if (adjustLevels.isPresent()) {
         Optional<Double> splitPercentage = view.promptPercentage();
         if (splitPercentage.isPresent()) {
-          CommandInterface colorCorrectedPrevCommand = new LevelsAdjustmentCommand(model,
+          CommandInterface colorCorrectedPrevCommand = preview(new LevelsAdjustmentCommand(model,
                   adjustLevels.get()[0], adjustLevels.get()[1], adjustLevels.get()[2],
-                  "testImage", "previewImage", splitPercentage);
+                  "previewSource", "previewImage", Optional.empty()));
           CommandInterface colorCorrectedCompleteCommand = new LevelsAdjustmentCommand(model,
                   adjustLevels.get()[0], adjustLevels.get()[1], adjustLevels.get()[2],
                   "testImage", "testImage", Optional.of(100.0));
           state = AppState.IMAGE_LOADED;
-          return new CommandGroup(colorCorrectedPrevCommand, colorCorrectedCompleteCommand);
+          return new CommandGroup(colorCorrectedPrevCommand, colorCorrectedCompleteCommand,
+                  "adjust-levels " + adjustLevels.get()[0] + " " + adjustLevels.get()[1] + " "
+                          + adjustLevels.get()[2], splitPercentage);
         }
       }
     } else {
@@ -141,24 +160,28 @@ public class CommandFactory {
    * commands based on the specified parameters.
    *
    * @param commandType     The type of image processing command.
+   * @param sourceImageName The name of the source image.
    * @param targetImageName The name of the target image.
    * @param splitPercentage The split percentage for the command.
    * @return A CommandInterface object representing the specified command.
    * @throws IllegalArgumentException If the command type is unknown or invalid.
    */
-  private CommandInterface createSplitPercentageCommand(String commandType, String targetImageName,
+  private CommandInterface createSplitPercentageCommand(String commandType, String sourceImageName,
+                                                        String targetImageName,
                                                         Optional<Double> splitPercentage) {
     switch (commandType) {
       case "blur":
-        return new BlurCommand(model, "testImage", targetImageName, splitPercentage);
+        return new BlurCommand(model, sourceImageName, targetImageName, splitPercentage);
       case "sepia":
-        return new SepiaCommand(model, "testImage", targetImageName, splitPercentage);
+        return new SepiaCommand(model, sourceImageName, targetImageName, splitPercentage);
       case "luma":
-        return new LumaComponentCommand(model, "testImage", targetImageName, splitPercentage);
+        return new LumaComponentCommand(model, sourceImageName, targetImageName,
+                splitPercentage);
       case "sharpen":
-        return new SharpenCommand(model, "testImage", targetImageName, splitPercentage);
+        return new SharpenCommand(model, sourceImageName, targetImageName, splitPercentage);
       case "color-corrected":
-        return new ColorCorrectionCommand(model, "testImage", targetImageName, splitPercentage);
+        return new ColorCorrectionCommand(model, sourceImageName, targetImageName,
+                splitPercentage);
       default:
         throw new IllegalArgumentException("Unsupported command type: " + commandType);
     }
@@ -169,22 +192,24 @@ public class CommandFactory {
    * specified command type and target image name.
    *
    * @param commandType     The type of image processing command.
+   * @param sourceImageName The name of the source image.
    * @param targetImageName The name of the target image.
    * @return A CommandInterface object representing the specified command.
    * @throws IllegalArgumentException If the command type is unknown or invalid.
    */
-  private CommandInterface createCommand(String commandType, String targetImageName) {
+  private CommandInterface createCommand(String commandType, String sourceImageName,
+                                         String targetImageName) {
     switch (commandType) {
       case "red":
-        return new RedComponentCommand(model, "testImage", targetImageName);
+        return new RedComponentCommand(model, sourceImageName, targetImageName);
       case "green":
-        return new GreenComponentCommand(model, "testImage", targetImageName);
+        return new GreenComponentCommand(model, sourceImageName, targetImageName);
       case "blue":
-        return new BlueComponentCommand(model, "testImage", targetImageName);
+        return new BlueComponentCommand(model, sourceImageName, targetImageName);
       case "horizontal-flip":
-        return new HorizontalFlipCommand(model, "testImage", targetImageName);
+        return new HorizontalFlipCommand(model, sourceImageName, targetImageName);
       case "vertical-flip":
-        return new VerticalFlipCommand(model, "testImage", targetImageName);
+        return new VerticalFlipCommand(model, sourceImageName, targetImageName);
       default:
         throw new IllegalArgumentException("Unsupported command type: " + commandType);
     }
@@ -192,7 +217,9 @@ public class CommandFactory {
 
   /**
    * Creates a CommandGroup containing preview and complete
-   * Command objects for split percentage commands.
+   * Command objects for split percentage commands. The preview
+   * filters the whole reduced image and the group carries the
+   * split percentage, so that the view can compose the split itself.
    *
    * @param commandType The type of image processing command.
    * @return A CommandGroup containing the preview and complete Command objects,
@@ -209,12 +236,12 @@ public class CommandFactory {
       return null;
     }
 
-    CommandInterface previewCommand = createSplitPercentageCommand(commandType, "previewImage",
-            splitPercentage);
+    CommandInterface previewCommand = preview(createSplitPercentageCommand(commandType,
+            "previewSource", "previewImage", Optional.empty()));
     CommandInterface completeCommand = createSplitPercentageCommand(commandType, "testImage",
-            Optional.of(100.0));
+            "testImage", Optional.of(100.0));
 
-    return new CommandGroup(previewCommand, completeCommand);
+    return new CommandGroup(previewCommand, completeCommand, commandType, splitPercentage);
   }
 
   /**
@@ -231,8 +258,9 @@ public class CommandFactory {
       return null;
     }
 
-    CommandInterface previewCommand = createCommand(commandType, "previewImage");
-    CommandInterface completeCommand = createCommand(commandType, "testImage");
+    CommandInterface previewCommand = preview(createCommand(commandType, "previewSource",
+            "previewImage"));
+    CommandInterface completeCommand = createCommand(commandType, "testImage", "testImage");
     return new CommandGroup(previewCommand, completeCommand);
   }
 
@@ -1,5 +1,7 @@
 package controller.commands;
 
+import java.util.Optional;
+
 /**
  * The CommandGroup class represents a pair of CommandInterface
  * objects, typically used to store a preview command
@@ -9,6 +11,8 @@ package controller.commands;
 public class CommandGroup {
   private final CommandInterface previewCommand;
   private final CommandInterface applyCommand;
+  private final String operation;
+  private final Optional<Double> splitPercentage;
 
   /**
    * Constructs a CommandGroup with the specified preview and apply commands.
@@ -17,8 +21,26 @@ public class CommandGroup {
    * @param applyCommand   The CommandInterface for applying an operation.
    */
   public CommandGroup(CommandInterface previewCommand, CommandInterface applyCommand) {
+    this(previewCommand, applyCommand, null, Optional.empty());
+  }
+
+  /**
+   * Constructs a CommandGroup whose preview command applies the operation to the
+   * whole image, leaving the split of the preview to whoever shows it. Previews of
+   * the same operation with different split percentages then only differ in how the
+   * filtered and original images are composed.
+   *
+   * @param previewCommand  The CommandInterface for previewing an operation.
+   * @param applyCommand    The CommandInterface for applying an operation.
+   * @param operation       The operation and its parameters other than the split.
+   * @param splitPercentage The percentage of the preview showing the filtered image.
+   */
+  public CommandGroup(CommandInterface previewCommand, CommandInterface applyCommand,
+                      String operation, Optional<Double> splitPercentage) {
     this.previewCommand = previewCommand;
     this.applyCommand = applyCommand;
+    this.operation = operation;
+    this.splitPercentage = splitPercentage;
   }
 
   /**
@@ -58,5 +80,23 @@ public class CommandGroup {
   public boolean hasApply() {
     return applyCommand != null;
   }
-}
 
+  /**
+   * Gets the operation previewed by this group, without its split percentage.
+   *
+   * @return The operation and its parameters, or null if the preview is not split.
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * Gets the percentage of the preview that shows the filtered image.
+   *
+   * @return The split percentage, or empty if the preview command shows the result
+   *         as it is.
+   */
+  public Optional<Double> getSplitPercentage() {
+    return splitPercentage;
+  }
+}
@@ -0,0 +1,42 @@
+package controller.commands;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The CommandSequence class is a CommandInterface that executes several commands
+ * in order, stopping at the first command that fails.
+ */
+public class CommandSequence implements CommandInterface {
+  private final List<CommandInterface> commands;
+
+  /**
+   * Constructs a CommandSequence executing the given commands in order.
+   *
+   * @param commands The commands to be executed.
+   */
+  public CommandSequence(CommandInterface... commands) {
+    this.commands = Arrays.asList(commands);
+  }
+
+  /**
+   * Executes the commands in order until one of them fails.
+   *
+   * @return true if every command was executed successfully, false otherwise.
+   * @throws Exception if a command throws an exception.
+   */
+  @Override
+  public boolean execute() throws Exception {
+    for (CommandInterface command : commands) {
+      if (!command.execute()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName() + commands;
+  }
+}
@@ -39,4 +39,9 @@ public class CompressCommand extends AbstractBaseCommand {
   protected void processImage() throws Exception {
     this.model.compressImage(imageName, destinationImageName, this.percentage);
   }
+
+  @Override
+  protected String getParameters() {
+    return "percentage " + this.percentage;
+  }
 }
@@ -0,0 +1,59 @@
+package controller.commands;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import model.BorderMode;
+import model.ImageModelInterface;
+import model.Kernel;
+
+/**
+ * The ConvolveCommand class represents a command for convolving an image with a kernel
+ * read from a file. It extends the AbstractSplitCommand class and implements the image
+ * manipulation logic by invoking the convolveCommand operation on the specified
+ * ImageModelInterface instance.
+ */
+public class ConvolveCommand extends AbstractSplitCommand {
+
+  private final String kernelPath;
+  private final BorderMode border;
+
+  /**
+   * Constructs a ConvolveCommand with the specified parameters.
+   *
+   * @param model                The ImageModelInterface instance to convolve on.
+   * @param kernelPath           The path of the file holding the kernel.
+   * @param border               How the pixels beyond the edges of the image are read.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image after convolution.
+   * @param splitPercentage      An optional parameter specifying the
+   *                             percentage of split for the image.
+   */
+  public ConvolveCommand(ImageModelInterface model, String kernelPath, BorderMode border,
+                         String imageName, String destinationImageName,
+                         Optional<Double> splitPercentage) {
+    super(model, imageName, destinationImageName, splitPercentage);
+    this.kernelPath = kernelPath;
+    this.border = border;
+  }
+
+  /**
+   * Reads the kernel, convolves the image with it and saves the result as a new image
+   * using the ImageModel.
+   *
+   * @throws Exception if the kernel cannot be read or an error occurs during image
+   *                   processing.
+   */
+  @Override
+  protected void processImage() throws Exception {
+    Kernel kernel = Kernel.parse(Files.readAllLines(Paths.get(this.kernelPath)));
+    this.model.convolveCommand(kernel, this.border, this.imageName,
+            this.destinationImageName, this.splitPercentage);
+  }
+
+  @Override
+  protected String getParameters() {
+    return (this.kernelPath + " " + this.border + " " + super.getParameters()).trim();
+  }
+}
@@ -0,0 +1,48 @@
+package controller.commands;
+
+import model.ImageModelInterface;
+
+/**
+ * The DownscaleCommand class is a concrete implementation of AbstractBaseCommand.
+ * It represents a command that reduces an image to fit within a given size and
+ * saves the result as a new image using an ImageModel. It is used to compute
+ * previews on a copy of the image no larger than the display.
+ */
+public class DownscaleCommand extends AbstractBaseCommand {
+  private final int maxWidth;
+  private final int maxHeight;
+
+  /**
+   * Constructs a new DownscaleCommand with the given ImageModel, source image name,
+   * destination image name and size.
+   *
+   * @param model                The ImageModel to be used for image manipulation.
+   * @param imageName            The name of the source image to be reduced.
+   * @param destinationImageName The name of the destination image to save the reduced image.
+   * @param maxWidth             The largest width of the reduced image.
+   * @param maxHeight            The largest height of the reduced image.
+   */
+  public DownscaleCommand(ImageModelInterface model, String imageName,
+                          String destinationImageName, int maxWidth, int maxHeight) {
+    super(model, imageName, destinationImageName);
+    this.maxWidth = maxWidth;
+    this.maxHeight = maxHeight;
+  }
+
+  /**
+   * Processes the image by reducing it to fit within the size of this command
+   * and saving the result as a new image using the ImageModel.
+   *
+   * @throws Exception if there are issues during the downscale operation.
+   */
+  @Override
+  protected void processImage() throws Exception {
+    this.model.downscaleCommand(this.imageName, this.destinationImageName, this.maxWidth,
+            this.maxHeight);
+  }
+
+  @Override
+  protected String getParameters() {
+    return this.maxWidth + "x" + this.maxHeight;
+  }
+}
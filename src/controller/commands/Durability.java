@@ -0,0 +1,13 @@
+package controller.commands;
+
+/**
+ * Enumeration of how strongly a saved image is flushed to disk before the save completes.
+ * - NONE: The image is renamed into place without waiting for the disk.
+ * - FILE: The contents of the image are forced to disk before it is renamed into place.
+ * - DIRECTORY: The rename is also forced to disk by syncing the containing directory.
+ */
+public enum Durability {
+  NONE,
+  FILE,
+  DIRECTORY
+}
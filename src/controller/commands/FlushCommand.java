@@ -0,0 +1,44 @@
+package controller.commands;
+
+import java.util.List;
+
+/**
+ * The FlushCommand class represents a command that waits until all images
+ * queued by asynchronous save commands have been written to disk.
+ */
+public class FlushCommand implements CommandInterface {
+
+  private final SaveQueue saveQueue;
+
+  /**
+   * Constructs a FlushCommand for the given queue of saves.
+   *
+   * @param saveQueue The queue of asynchronous saves, or null if saves are synchronous.
+   */
+  public FlushCommand(SaveQueue saveQueue) {
+    this.saveQueue = saveQueue;
+  }
+
+  /**
+   * Waits for all outstanding saves to complete.
+   *
+   * @return true if all saves were written successfully.
+   * @throws Exception listing the saves that failed.
+   */
+  @Override
+  public boolean execute() throws Exception {
+    if (saveQueue == null) {
+      return true;
+    }
+    List<String> failures = saveQueue.flush();
+    if (!failures.isEmpty()) {
+      throw new Exception(String.join(System.lineSeparator(), failures));
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
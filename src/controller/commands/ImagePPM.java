@@ -1,6 +1,5 @@
 package controller.commands;
 
-import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -8,6 +7,7 @@ import java.util.Scanner;
 
 import model.Image;
 import model.Pixel;
+import model.Tracer;
 
 /**
  * The ImagePPM class is a concrete implementation of the ImageParserInterface
@@ -42,6 +42,24 @@ public class ImagePPM implements ImageParserInterface {
    */
   @Override
   public Image load() throws IOException {
+    CodecEvent event = new CodecEvent();
+    event.begin();
+    Image image = null;
+    try {
+      image = Tracer.span("decode", "decode", this::read, "path", path);
+      return image;
+    } finally {
+      event.finish("load", path, image, image != null);
+    }
+  }
+
+  /**
+   * Parses the PPM file at the path of this object.
+   *
+   * @return The parsed Image object.
+   * @throws IOException if there are issues reading the image or parsing the PPM format.
+   */
+  private Image read() throws IOException {
     Scanner sc;
 
     try {
@@ -81,7 +99,7 @@ public class ImagePPM implements ImageParserInterface {
         int green = sc.nextInt();
         int blue = sc.nextInt();
 
-        Pixel pixel = new Pixel(red, green, blue);
+        Pixel pixel = Pixel.of(red, green, blue);
         pixels[x][y] = pixel;
       }
     }
@@ -89,7 +107,8 @@ public class ImagePPM implements ImageParserInterface {
   }
 
   /**
-   * Saves the provided Image object to the specified path in PPM format.
+   * Saves the provided Image object to the specified path in PPM format. The image
+   * is written to a temporary file and renamed over the path once it is complete.
    *
    * @param path  The path where the image should be saved in PPM format.
    * @param image The Image object to be saved.
@@ -98,6 +117,29 @@ public class ImagePPM implements ImageParserInterface {
    */
   @Override
   public void save(String path, Image image) throws IOException {
+    CodecEvent event = new CodecEvent();
+    event.begin();
+    boolean success = false;
+    try {
+      Tracer.span("encode", "encode", () -> {
+        this.write(path, image);
+        return null;
+      }, "path", path);
+      success = true;
+    } finally {
+      event.finish("save", path, image, success);
+    }
+  }
+
+  /**
+   * Writes an image to the given path in PPM format.
+   *
+   * @param path  The path where the image should be saved.
+   * @param image The Image object to be saved.
+   * @throws IOException if there are issues during the saving
+   *                     process or if the image data is null.
+   */
+  private void write(String path, Image image) throws IOException {
     if (image.getPixels() == null) {
       throw new IOException("No image data to save.");
     }
@@ -105,18 +147,20 @@ public class ImagePPM implements ImageParserInterface {
     int width = image.getPixels().length;
     int height = image.getPixels()[0].length;
 
-    try (FileWriter writer = new FileWriter(new File(path))) {
-      writer.write("P3\n");
-      writer.write(width + " " + height + "\n");
-      writer.write("255\n");
-
-      for (int x = 0; x < width; x++) {
-        for (int y = 0; y < height; y++) {
-          Pixel pixel = image.getPixels()[x][y];
-          writer.write(pixel.getRed() + " " + pixel.getGreen() + " " + pixel.getBlue() + " ");
+    AtomicFileWriter.write(path, file -> {
+      try (FileWriter writer = new FileWriter(file)) {
+        writer.write("P3\n");
+        writer.write(width + " " + height + "\n");
+        writer.write("255\n");
+
+        for (int x = 0; x < width; x++) {
+          for (int y = 0; y < height; y++) {
+            Pixel pixel = image.getPixels()[x][y];
+            writer.write(pixel.getRed() + " " + pixel.getGreen() + " " + pixel.getBlue() + " ");
+          }
+          writer.write("\n");
         }
-        writer.write("\n");
       }
-    }
+    });
   }
 }
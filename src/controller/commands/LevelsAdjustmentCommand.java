@@ -47,4 +47,9 @@ public class LevelsAdjustmentCommand extends AbstractSplitCommand {
     this.model.levelsAdjustmentCommand(this.b, this.m, this.w, this.imageName,
             this.destinationImageName, this.splitPercentage);
   }
+
+  @Override
+  protected String getParameters() {
+    return (this.b + " " + this.m + " " + this.w + " " + super.getParameters()).trim();
+  }
 }
@@ -1,9 +1,11 @@
 package controller.commands;
 
+import java.io.File;
 import java.io.IOException;
 
 import model.Image;
 import model.ImageModelInterface;
+import model.ResultCache;
 
 /**
  * The LoadCommand class is a concrete implementation of
@@ -14,6 +16,8 @@ import model.ImageModelInterface;
  */
 public class LoadCommand extends AbstractLoaderSaver {
 
+  private final ResultCache decodedImages;
+
   /**
    * Constructs a new LoadCommand with the given ImageModel, path, and name.
    *
@@ -22,7 +26,24 @@ public class LoadCommand extends AbstractLoaderSaver {
    * @param name  The name to be associated with the loaded image.
    */
   public LoadCommand(ImageModelInterface model, String path, String name) {
+    this(model, path, name, null);
+  }
+
+  /**
+   * Constructs a new LoadCommand that reuses images already decoded from the
+   * same file. Cached images are keyed by the canonical path, size and last
+   * modification time of the file, so a file that changed on disk is decoded again.
+   * All names loaded from the same file share the same immutable image.
+   *
+   * @param model         The ImageModel to be used for image storage and manipulation.
+   * @param path          The path from which the image will be loaded.
+   * @param name          The name to be associated with the loaded image.
+   * @param decodedImages The cache of decoded images, or null to always decode the file.
+   */
+  public LoadCommand(ImageModelInterface model, String path, String name,
+                     ResultCache decodedImages) {
     super(model, name, path);
+    this.decodedImages = decodedImages;
   }
 
   /**
@@ -35,7 +56,18 @@ public class LoadCommand extends AbstractLoaderSaver {
   @Override
   protected void processImage() throws Exception {
     ImageParserInterface parser = this.getFormattedImage(this.destinationImageName);
-    Image image = parser.load();
+    File file = new File(this.destinationImageName);
+    if (decodedImages == null || !file.isFile()) {
+      model.addImage(this.imageName, parser.load());
+      return;
+    }
+
+    String key = file.getCanonicalPath() + ":" + file.length() + ":" + file.lastModified();
+    Image image = decodedImages.get(key);
+    if (image == null) {
+      image = parser.load();
+      decodedImages.put(key, image);
+    }
     model.addImage(this.imageName, image);
   }
 }
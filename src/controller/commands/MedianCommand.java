@@ -0,0 +1,49 @@
+package controller.commands;
+
+import java.util.Optional;
+
+import model.ImageModelInterface;
+
+/**
+ * The MedianCommand class is a concrete implementation of AbstractBaseCommand.
+ * It represents a command that removes noise from an image with a median filter of a
+ * given radius and saves the result as a new image using an ImageModel.
+ */
+public class MedianCommand extends AbstractSplitCommand {
+
+  private final int radius;
+
+  /**
+   * Constructs a new MedianCommand with the given ImageModel, radius, source image name,
+   * and destination image name.
+   *
+   * @param model                The ImageModel to be used for image manipulation.
+   * @param radius               The radius of the square of pixels the median is taken
+   *                             over.
+   * @param imageName            The name of the source image to filter.
+   * @param destinationImageName The name of the destination image to save the result.
+   * @param splitPercentage      The Percentage value in which image to split.
+   */
+  public MedianCommand(ImageModelInterface model, int radius, String imageName,
+                       String destinationImageName, Optional<Double> splitPercentage) {
+    super(model, imageName, destinationImageName, splitPercentage);
+    this.radius = radius;
+  }
+
+  /**
+   * Processes the image by applying the median filter and
+   * saving the result as a new image using the ImageModel.
+   *
+   * @throws Exception if there are issues during the median operation.
+   */
+  @Override
+  protected void processImage() throws Exception {
+    this.model.medianCommand(this.radius, this.imageName, this.destinationImageName,
+            this.splitPercentage);
+  }
+
+  @Override
+  protected String getParameters() {
+    return (this.radius + " " + super.getParameters()).trim();
+  }
+}
@@ -0,0 +1,269 @@
+package controller.commands;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import model.ThreadUsage;
+
+/**
+ * The MetricsRegistry class collects execution metrics for every type of command:
+ * the number of executions and failures, wall-clock time, CPU time, bytes allocated,
+ * pixels processed and the resulting throughput in megapixels per second. CPU time
+ * and allocations are measured on the thread executing the command and include the
+ * stripes of its image operations run in parallel on pool threads. The collected
+ * metrics can be written as JSON or in the Prometheus text format.
+ */
+public class MetricsRegistry {
+
+  private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+  private final Map<String, CommandStats> stats;
+
+  /**
+   * Constructs an empty MetricsRegistry.
+   */
+  public MetricsRegistry() {
+    this.stats = new TreeMap<>();
+  }
+
+  /**
+   * Gets the registry that all commands record their executions in.
+   *
+   * @return The process-wide registry.
+   */
+  public static MetricsRegistry getGlobal() {
+    return GLOBAL;
+  }
+
+  /**
+   * The CommandStats class holds the accumulated metrics of one type of command.
+   */
+  public static class CommandStats {
+    private long executions;
+    private long failures;
+    private long wallNanos;
+    private long cpuNanos;
+    private long allocatedBytes;
+    private long pixels;
+
+    /**
+     * Gets the number of times the command was executed.
+     *
+     * @return The number of executions.
+     */
+    public long getExecutions() {
+      return executions;
+    }
+
+    /**
+     * Gets the number of executions that failed.
+     *
+     * @return The number of failures.
+     */
+    public long getFailures() {
+      return failures;
+    }
+
+    /**
+     * Gets the total wall-clock time spent executing the command.
+     *
+     * @return The wall-clock time in nanoseconds.
+     */
+    public long getWallNanos() {
+      return wallNanos;
+    }
+
+    /**
+     * Gets the total CPU time spent on the command, including its parallel work.
+     *
+     * @return The CPU time in nanoseconds.
+     */
+    public long getCpuNanos() {
+      return cpuNanos;
+    }
+
+    /**
+     * Gets the total number of bytes allocated by the command, including its parallel
+     * work.
+     *
+     * @return The allocated bytes.
+     */
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    /**
+     * Gets the total number of pixels processed by successful executions.
+     *
+     * @return The number of pixels.
+     */
+    public long getPixels() {
+      return pixels;
+    }
+
+    /**
+     * Gets the throughput of the command over all of its executions.
+     *
+     * @return The number of megapixels processed per second of wall-clock time.
+     */
+    public double getMegapixelsPerSecond() {
+      if (wallNanos == 0) {
+        return 0;
+      }
+      return (pixels / 1e6) / (wallNanos / 1e9);
+    }
+  }
+
+  /**
+   * Records one execution of a command.
+   *
+   * @param command        The type of the command.
+   * @param success        Whether the execution succeeded.
+   * @param wallNanos      The wall-clock time of the execution in nanoseconds.
+   * @param cpuNanos       The CPU time of the execution in nanoseconds.
+   * @param allocatedBytes The bytes allocated by the execution.
+   * @param pixels         The number of pixels processed by the execution.
+   */
+  public synchronized void record(String command, boolean success, long wallNanos,
+                                  long cpuNanos, long allocatedBytes, long pixels) {
+    CommandStats commandStats = stats.computeIfAbsent(command, name -> new CommandStats());
+    commandStats.executions++;
+    if (!success) {
+      commandStats.failures++;
+    }
+    commandStats.wallNanos += wallNanos;
+    commandStats.cpuNanos += Math.max(0, cpuNanos);
+    commandStats.allocatedBytes += Math.max(0, allocatedBytes);
+    commandStats.pixels += pixels;
+  }
+
+  /**
+   * Gets the metrics of the given type of command.
+   *
+   * @param command The type of the command.
+   * @return The metrics of the command, or null if it was never executed.
+   */
+  public synchronized CommandStats get(String command) {
+    return stats.get(command);
+  }
+
+  /**
+   * Removes all recorded metrics.
+   */
+  public synchronized void reset() {
+    stats.clear();
+  }
+
+  /**
+   * Gets the CPU time consumed so far by the current thread and by the stripes of the
+   * image operations it ran that pool threads processed in parallel.
+   *
+   * @return The CPU time in nanoseconds.
+   */
+  public static long cpuTime() {
+    return ThreadUsage.cpuTime() + ThreadUsage.forkedCpuTime();
+  }
+
+  /**
+   * Gets the number of bytes allocated so far by the current thread and by the stripes
+   * of the image operations it ran that pool threads processed in parallel.
+   *
+   * @return The allocated bytes.
+   */
+  public static long allocatedBytes() {
+    return ThreadUsage.allocatedBytes() + ThreadUsage.forkedAllocatedBytes();
+  }
+
+  /**
+   * Formats the recorded metrics as a JSON document.
+   *
+   * @return The metrics as JSON.
+   */
+  public synchronized String toJson() {
+    StringBuilder json = new StringBuilder("{\n  \"commands\": {");
+    String separator = "\n";
+    for (Map.Entry<String, CommandStats> entry : stats.entrySet()) {
+      json.append(separator).append("    \"").append(entry.getKey()).append("\": {");
+      String field = "";
+      for (Map.Entry<String, Object> value : values(entry.getValue()).entrySet()) {
+        json.append(field).append('"').append(value.getKey()).append("\": ")
+                .append(value.getValue());
+        field = ", ";
+      }
+      json.append('}');
+      separator = ",\n";
+    }
+    return json.append("\n  }\n}\n").toString();
+  }
+
+  /**
+   * Formats the recorded metrics in the Prometheus text exposition format.
+   *
+   * @return The metrics as Prometheus text.
+   */
+  public synchronized String toPrometheus() {
+    StringBuilder text = new StringBuilder();
+    String[][] metrics = {
+        {"executions", "grime_command_executions_total", "counter",
+            "Number of executions of the command."},
+        {"failures", "grime_command_failures_total", "counter",
+            "Number of failed executions of the command."},
+        {"wallSeconds", "grime_command_wall_seconds_total", "counter",
+            "Wall-clock time spent executing the command."},
+        {"cpuSeconds", "grime_command_cpu_seconds_total", "counter",
+            "CPU time spent on the command, including its parallel work."},
+        {"allocatedBytes", "grime_command_allocated_bytes_total", "counter",
+            "Bytes allocated by the command, including its parallel work."},
+        {"pixels", "grime_command_pixels_total", "counter",
+            "Pixels processed by successful executions of the command."},
+        {"megapixelsPerSecond", "grime_command_megapixels_per_second", "gauge",
+            "Megapixels processed per second of wall-clock time."}
+    };
+    for (String[] metric : metrics) {
+      text.append("# HELP ").append(metric[1]).append(' ').append(metric[3]).append('\n');
+      text.append("# TYPE ").append(metric[1]).append(' ').append(metric[2]).append('\n');
+      for (Map.Entry<String, CommandStats> entry : stats.entrySet()) {
+        text.append(metric[1]).append("{command=\"").append(entry.getKey()).append("\"} ")
+                .append(values(entry.getValue()).get(metric[0])).append('\n');
+      }
+    }
+    return text.toString();
+  }
+
+  /**
+   * Writes the recorded metrics to a file, as JSON if the file name ends
+   * with ".json" and in the Prometheus text format otherwise.
+   *
+   * @param path The path of the file to write.
+   * @throws IOException if the file cannot be written.
+   */
+  public void write(String path) throws IOException {
+    String text = path.endsWith(".json") ? toJson() : toPrometheus();
+    AtomicFileWriter.write(path, file -> {
+      try (FileWriter writer = new FileWriter(file)) {
+        writer.write(text);
+      }
+    });
+  }
+
+  /**
+   * Gets the reported values of the metrics of a command.
+   *
+   * @param commandStats The metrics of the command.
+   * @return The values keyed by their name.
+   */
+  private static Map<String, Object> values(CommandStats commandStats) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("executions", commandStats.executions);
+    values.put("failures", commandStats.failures);
+    values.put("wallSeconds", commandStats.wallNanos / 1e9);
+    values.put("cpuSeconds", commandStats.cpuNanos / 1e9);
+    values.put("allocatedBytes", commandStats.allocatedBytes);
+    values.put("pixels", commandStats.pixels);
+    values.put("megapixelsPerSecond", commandStats.getMegapixelsPerSecond());
+    return values;
+  }
+}
@@ -9,9 +9,12 @@ import model.ImageModelInterface;
  * specified path using an ImageParserInterface. It checks if
  * the image exists in the model's image map and, if so, saves it to the specified destination.
  * This class is responsible for saving images to various file formats.
+ * When constructed with a SaveQueue, the image is written in the background.
  */
 public class SaveCommand extends AbstractLoaderSaver {
 
+  private final SaveQueue saveQueue;
+
   /**
    * Constructs a new SaveCommand with the given ImageModel, path, and name.
    *
@@ -20,7 +23,22 @@ public class SaveCommand extends AbstractLoaderSaver {
    * @param name  The name of the image in the model to be saved.
    */
   public SaveCommand(ImageModelInterface model, String path, String name) {
+    this(model, path, name, null);
+  }
+
+  /**
+   * Constructs a new SaveCommand that hands the image to a queue of background
+   * writes instead of waiting for it to be written.
+   *
+   * @param model     The ImageModel to be used for image storage and manipulation.
+   * @param path      The path to which the image will be saved.
+   * @param name      The name of the image in the model to be saved.
+   * @param saveQueue The queue of asynchronous saves, or null to save synchronously.
+   */
+  public SaveCommand(ImageModelInterface model, String path, String name,
+                     SaveQueue saveQueue) {
     super(model, name, path);
+    this.saveQueue = saveQueue;
   }
 
   /**
@@ -39,7 +57,11 @@ public class SaveCommand extends AbstractLoaderSaver {
     } else {
       ImageParserInterface parser = this.getFormattedImage(this.destinationImageName);
       Image image = this.model.getImage(this.imageName);
-      parser.save(this.destinationImageName, image);
+      if (saveQueue != null) {
+        saveQueue.submit(parser, this.destinationImageName, image);
+      } else {
+        parser.save(this.destinationImageName, image);
+      }
     }
   }
 }
@@ -0,0 +1,118 @@
+package controller.commands;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import model.Image;
+
+/**
+ * The SaveQueue class encodes and writes saved images on a pool of background
+ * threads so that a script does not wait for each file to be written. The number
+ * of writes waiting for a thread is bounded; once the backlog is full, the thread
+ * submitting a save writes the image itself. Failures are collected and reported
+ * when the queue is flushed.
+ */
+public class SaveQueue {
+
+  private final ThreadPoolExecutor executor;
+  private final List<Future<?>> pending;
+  private final Map<String, Future<?>> lastWrite;
+  private final Map<Future<?>, String> paths;
+
+  /**
+   * Constructs a SaveQueue with the given number of threads and backlog size.
+   *
+   * @param threads The number of threads writing images.
+   * @param backlog The maximum number of writes waiting for a thread.
+   * @throws IllegalArgumentException if threads or backlog is not positive.
+   */
+  public SaveQueue(int threads, int backlog) throws IllegalArgumentException {
+    if (threads <= 0 || backlog <= 0) {
+      throw new IllegalArgumentException("Threads and backlog must be positive");
+    }
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(backlog), runnable -> {
+              Thread thread = new Thread(runnable, "image-save");
+              thread.setDaemon(true);
+              return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+    this.pending = new ArrayList<>();
+    this.lastWrite = new HashMap<>();
+    this.paths = new HashMap<>();
+  }
+
+  /**
+   * Queues an image to be saved to the given path. Images are never modified after
+   * construction, so the image itself is the snapshot that is written, even if its
+   * name is later bound to another image. A pending write to the same path is
+   * completed first so that the last save of a path always wins.
+   *
+   * @param parser The parser used to encode the image.
+   * @param path   The path where the image should be saved.
+   * @param image  The image to be saved.
+   */
+  public synchronized void submit(ImageParserInterface parser, String path, Image image) {
+    Future<?> previous = lastWrite.get(path);
+    if (previous != null) {
+      try {
+        previous.get();
+      } catch (ExecutionException e) {
+        // reported by flush()
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    Future<?> write = executor.submit(() -> {
+      parser.save(path, image);
+      return null;
+    });
+    pending.add(write);
+    lastWrite.put(path, write);
+    paths.put(write, path);
+  }
+
+  /**
+   * Waits for all queued writes to complete.
+   *
+   * @return The error messages of the writes that failed since the last flush.
+   */
+  public synchronized List<String> flush() {
+    List<String> failures = new ArrayList<>();
+    for (Future<?> write : pending) {
+      try {
+        write.get();
+      } catch (ExecutionException e) {
+        failures.add("Error saving " + paths.get(write) + ": " + e.getCause().getMessage());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failures.add("Interrupted while saving " + paths.get(write));
+      }
+    }
+    pending.clear();
+    lastWrite.clear();
+    paths.clear();
+    return failures;
+  }
+
+  /**
+   * Gets the number of writes queued since the last flush that have not completed.
+   *
+   * @return The number of outstanding writes.
+   */
+  public synchronized int getOutstanding() {
+    int outstanding = 0;
+    for (Future<?> write : pending) {
+      if (!write.isDone()) {
+        outstanding++;
+      }
+    }
+    return outstanding;
+  }
+}
@@ -0,0 +1,109 @@
+package model;
+
+/**
+ * The ApproximateHistogram class holds histograms of an image estimated from a sample
+ * of its pixels, together with bounds on their error. The estimated frequency of a
+ * value is its frequency in the sample scaled to the number of pixels in the image;
+ * its error bound is the half-width of the 95% confidence interval of that estimate.
+ * Histograms counted from every pixel are exact and have no error.
+ */
+public class ApproximateHistogram {
+
+  private static final double CONFIDENCE_Z = 1.96;
+
+  private final int[][] counts;
+  private final long sampledPixels;
+  private final long totalPixels;
+
+  /**
+   * Constructs an ApproximateHistogram from the histograms of a sample of pixels.
+   *
+   * @param sampleCounts  The red, green and blue histograms of the sampled pixels.
+   * @param sampledPixels The number of sampled pixels.
+   * @param totalPixels   The number of pixels in the image.
+   * @throws IllegalArgumentException if the sample is empty or larger than the image.
+   */
+  public ApproximateHistogram(int[][] sampleCounts, long sampledPixels, long totalPixels)
+          throws IllegalArgumentException {
+    if (sampledPixels <= 0 || sampledPixels > totalPixels) {
+      throw new IllegalArgumentException("Invalid sample size");
+    }
+    this.sampledPixels = sampledPixels;
+    this.totalPixels = totalPixels;
+    this.counts = new int[3][256];
+    double scale = (double) totalPixels / sampledPixels;
+    for (int channel = 0; channel < 3; channel++) {
+      for (int value = 0; value < 256; value++) {
+        counts[channel][value] = (int) Math.round(sampleCounts[channel][value] * scale);
+      }
+    }
+  }
+
+  /**
+   * Gets the estimated red, green and blue histograms of the image.
+   *
+   * @return The estimated frequencies of each value of each channel.
+   */
+  public int[][] getCounts() {
+    return new int[][]{counts[0].clone(), counts[1].clone(), counts[2].clone()};
+  }
+
+  /**
+   * Gets the number of pixels the histograms were estimated from.
+   *
+   * @return The number of sampled pixels.
+   */
+  public long getSampledPixels() {
+    return sampledPixels;
+  }
+
+  /**
+   * Gets the fraction of the pixels of the image that were sampled.
+   *
+   * @return The sampled fraction, 1 for exact histograms.
+   */
+  public double getFraction() {
+    return (double) sampledPixels / totalPixels;
+  }
+
+  /**
+   * Checks whether the histograms were counted from every pixel.
+   *
+   * @return True if the histograms are exact, false otherwise.
+   */
+  public boolean isExact() {
+    return sampledPixels == totalPixels;
+  }
+
+  /**
+   * Gets the error bound of the estimated frequency of a value of a channel.
+   *
+   * @param channel The channel: 0 for red, 1 for green and 2 for blue.
+   * @param value   The value of the channel.
+   * @return The half-width of the 95% confidence interval of the frequency, in pixels.
+   */
+  public double getErrorBound(int channel, int value) {
+    if (isExact()) {
+      return 0;
+    }
+    double proportion = (double) counts[channel][value] / totalPixels;
+    double correction = 1 - (double) sampledPixels / totalPixels;
+    return CONFIDENCE_Z * totalPixels
+            * Math.sqrt(proportion * (1 - proportion) / sampledPixels * correction);
+  }
+
+  /**
+   * Gets the largest error bound of any estimated frequency.
+   *
+   * @return The largest half-width of a 95% confidence interval, in pixels.
+   */
+  public double getMaxErrorBound() {
+    double bound = 0;
+    for (int channel = 0; channel < 3; channel++) {
+      for (int value = 0; value < 256; value++) {
+        bound = Math.max(bound, getErrorBound(channel, value));
+      }
+    }
+    return bound;
+  }
+}
@@ -0,0 +1,85 @@
+package model;
+
+import java.util.Locale;
+
+/**
+ * An enum to represent how a convolution reads the pixels beyond the edges of an image.
+ */
+public enum BorderMode {
+
+  /**
+   * Pixels beyond the edges are black and add nothing to the sum.
+   */
+  ZERO,
+
+  /**
+   * Pixels beyond the edges repeat the nearest edge pixel.
+   */
+  CLAMP,
+
+  /**
+   * Pixels beyond the edges mirror the image about its edge pixels, so the pixel one
+   * before the first is the second one.
+   */
+  REFLECT,
+
+  /**
+   * Pixels beyond the edges wrap around to the opposite edge.
+   */
+  WRAP;
+
+  /**
+   * Gets the border mode with the given name, ignoring case.
+   *
+   * @param name The name of the border mode, such as "clamp".
+   * @return The border mode.
+   * @throws IllegalArgumentException if there is no border mode with that name.
+   */
+  public static BorderMode parse(String name) throws IllegalArgumentException {
+    for (BorderMode mode : values()) {
+      if (mode.name().equals(name.toUpperCase(Locale.ROOT))) {
+        return mode;
+      }
+    }
+    throw new IllegalArgumentException("Unknown border mode: " + name);
+  }
+
+  /**
+   * Maps a position along a row or column, possibly beyond its ends, to the position
+   * of the pixel read there.
+   *
+   * @param position The position, which may be negative or past the end.
+   * @param length   The number of pixels in the row or column.
+   * @return The position of the pixel read, or -1 if nothing is read there.
+   */
+  public int index(int position, int length) {
+    if (position >= 0 && position < length) {
+      return position;
+    }
+    switch (this) {
+      case CLAMP:
+        return position < 0 ? 0 : length - 1;
+      case REFLECT:
+        if (length == 1) {
+          return 0;
+        }
+        int period = 2 * length - 2;
+        int folded = Math.floorMod(position, period);
+        return folded < length ? folded : period - folded;
+      case WRAP:
+        return Math.floorMod(position, length);
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * Writes the border mode as it is named in commands.
+   *
+   * @return The name of the border mode in lower case.
+   */
+  @Override
+  public String toString() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
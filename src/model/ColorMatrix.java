@@ -0,0 +1,225 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The ColorMatrix class represents a linear color transform: every component of a
+ * pixel is computed as a weighted sum of the red, green and blue components of the
+ * same pixel plus an offset, truncated and clamped to the range [0, 255]. Sepia, luma
+ * and intensity are such transforms. A matrix is applied in fixed point: the weight
+ * of every component value is precomputed into a lookup table, so transforming a
+ * pixel costs nine table lookups and additions.
+ */
+public class ColorMatrix {
+
+  /**
+   * The matrix of the sepia tone filter.
+   */
+  public static final ColorMatrix SEPIA = new ColorMatrix(new double[][]{
+      {0.393, 0.769, 0.189},
+      {0.349, 0.686, 0.168},
+      {0.272, 0.534, 0.131}}, false);
+
+  /**
+   * The matrix of the luma component. Each weighted component is rounded before the
+   * components are added, as the luma component has always been computed; a matrix
+   * parsed from the same values truncates the sum instead.
+   */
+  public static final ColorMatrix LUMA = new ColorMatrix(new double[][]{
+      {0.2126, 0.7152, 0.0722},
+      {0.2126, 0.7152, 0.0722},
+      {0.2126, 0.7152, 0.0722}}, true);
+
+  /**
+   * The matrix of the intensity component, the average of the three components.
+   */
+  public static final ColorMatrix INTENSITY = new ColorMatrix(new double[][]{
+      {1.0 / 3, 1.0 / 3, 1.0 / 3},
+      {1.0 / 3, 1.0 / 3, 1.0 / 3},
+      {1.0 / 3, 1.0 / 3, 1.0 / 3}}, false);
+
+  static final int SHIFT = 20;
+  private static final long ONE = 1L << SHIFT;
+  private static final long BIAS = 1L << (SHIFT - 12);
+  private static final double MAX_COEFFICIENT = 1 << 10;
+
+  private final double[][] coefficients;
+  private final boolean roundTerms;
+  private final long[][][] tables;
+  private final long[] offsets;
+  private final boolean grey;
+
+  /**
+   * Constructs a ColorMatrix from its rows, one for each of the red, green and blue
+   * components of the result. Each row holds the weights of the red, green and blue
+   * components of the pixel and optionally an offset added to the sum.
+   *
+   * @param coefficients Three rows of three weights, or of three weights and an offset.
+   * @throws IllegalArgumentException if the matrix does not have three rows of three
+   *                                  or four values, or a value is not a finite number
+   *                                  within [-1024, 1024].
+   */
+  public ColorMatrix(double[][] coefficients) throws IllegalArgumentException {
+    this(coefficients, false);
+  }
+
+  /**
+   * Constructs a ColorMatrix and precomputes its lookup tables.
+   *
+   * @param coefficients Three rows of three weights, or of three weights and an offset.
+   * @param roundTerms   Whether each weighted component is rounded before the
+   *                     components are added.
+   * @throws IllegalArgumentException if the matrix is not valid.
+   */
+  private ColorMatrix(double[][] coefficients, boolean roundTerms)
+          throws IllegalArgumentException {
+    if (coefficients == null || coefficients.length != 3) {
+      throw new IllegalArgumentException("Color matrix must have three rows");
+    }
+    this.coefficients = new double[3][4];
+    for (int row = 0; row < 3; row++) {
+      if (coefficients[row] == null
+              || (coefficients[row].length != 3 && coefficients[row].length != 4)) {
+        throw new IllegalArgumentException("Color matrix rows must have 3 or 4 values");
+      }
+      for (int column = 0; column < coefficients[row].length; column++) {
+        double value = coefficients[row][column];
+        if (!(Math.abs(value) <= MAX_COEFFICIENT)) {
+          throw new IllegalArgumentException("Invalid color matrix value: " + value);
+        }
+        this.coefficients[row][column] = value;
+      }
+    }
+    this.roundTerms = roundTerms;
+
+    this.tables = new long[3][3][256];
+    this.offsets = new long[3];
+    for (int row = 0; row < 3; row++) {
+      for (int column = 0; column < 3; column++) {
+        double weight = this.coefficients[row][column];
+        for (int value = 0; value < 256; value++) {
+          tables[row][column][value] = roundTerms
+                  ? Math.round(weight * value) * ONE : Math.round(weight * value * ONE);
+        }
+      }
+      offsets[row] = Math.round(this.coefficients[row][3] * ONE) + BIAS;
+    }
+    this.grey = Arrays.equals(this.coefficients[0], this.coefficients[1])
+            && Arrays.equals(this.coefficients[0], this.coefficients[2]);
+  }
+
+  /**
+   * Parses a matrix written as three rows of comma separated values, such as
+   * "0.393,0.769,0.189".
+   *
+   * @param rows The rows of the matrix, each of three weights and an optional offset.
+   * @return The parsed matrix.
+   * @throws IllegalArgumentException if a row cannot be parsed or the matrix is not
+   *                                  valid.
+   */
+  public static ColorMatrix parse(String... rows) throws IllegalArgumentException {
+    if (rows.length != 3) {
+      throw new IllegalArgumentException("Color matrix must have three rows");
+    }
+    double[][] coefficients = new double[3][];
+    for (int row = 0; row < 3; row++) {
+      String[] values = rows[row].split(",");
+      coefficients[row] = new double[values.length];
+      for (int column = 0; column < values.length; column++) {
+        try {
+          coefficients[row][column] = Double.parseDouble(values[column]);
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid color matrix value: " + values[column]);
+        }
+      }
+    }
+    return new ColorMatrix(coefficients);
+  }
+
+  /**
+   * Composes this matrix with another one into a single matrix that applies this
+   * matrix first and the other one to its result. The intermediate result is neither
+   * truncated nor clamped.
+   *
+   * @param next The matrix applied after this one.
+   * @return The composed matrix.
+   * @throws IllegalArgumentException if a value of the composed matrix is out of the
+   *                                  allowed range.
+   */
+  public ColorMatrix then(ColorMatrix next) throws IllegalArgumentException {
+    double[][] composed = new double[3][4];
+    for (int row = 0; row < 3; row++) {
+      composed[row][3] = next.coefficients[row][3];
+      for (int inner = 0; inner < 3; inner++) {
+        double weight = next.coefficients[row][inner];
+        for (int column = 0; column < 4; column++) {
+          composed[row][column] += weight * coefficients[inner][column];
+        }
+      }
+    }
+    return new ColorMatrix(composed);
+  }
+
+  /**
+   * Gets the weights and offsets of the matrix.
+   *
+   * @return A copy of the three rows of three weights and an offset.
+   */
+  public double[][] getCoefficients() {
+    return new double[][]{coefficients[0].clone(), coefficients[1].clone(),
+        coefficients[2].clone()};
+  }
+
+  /**
+   * Gets the lookup tables of the matrix, holding for every row and column the
+   * weighted value of every component value in fixed point with SHIFT fraction bits.
+   *
+   * @return The shared lookup tables, which must not be modified.
+   */
+  long[][][] tables() {
+    return tables;
+  }
+
+  /**
+   * Gets the offsets of the rows in fixed point, including the rounding bias that
+   * makes sums that are whole numbers truncate to themselves.
+   *
+   * @return The shared offsets, which must not be modified.
+   */
+  long[] offsets() {
+    return offsets;
+  }
+
+  /**
+   * Checks whether the three rows of the matrix are equal, in which case every pixel
+   * is transformed into a grey pixel and only the first row needs to be computed.
+   *
+   * @return True if the matrix produces grey pixels, false otherwise.
+   */
+  boolean isGrey() {
+    return grey;
+  }
+
+  /**
+   * Writes the matrix as its three rows of comma separated values, the format read by
+   * {@link #parse(String...)}.
+   *
+   * @return The matrix as text.
+   */
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder();
+    for (int row = 0; row < 3; row++) {
+      if (row > 0) {
+        text.append(' ');
+      }
+      for (int column = 0; column < 4; column++) {
+        if (column > 0) {
+          text.append(',');
+        }
+        text.append(coefficients[row][column]);
+      }
+    }
+    return text.toString();
+  }
+}
@@ -149,6 +149,10 @@ public class HaarWaveletTransform {
    * @return The transformed 2D array.
    */
   public double[][] haar(double[][] x) {
+    TransformEvent event = new TransformEvent();
+    event.begin();
+    int width = x.length;
+    int height = width == 0 ? 0 : x[0].length;
     x = padArray(x);
     int c = x.length;
     while (c > 1) {
@@ -174,6 +178,7 @@ public class HaarWaveletTransform {
       }
       c = c / 2;
     }
+    commit(event, "haar", width, height, 0);
     return x;
   }
 
@@ -203,6 +208,8 @@ public class HaarWaveletTransform {
    * @return The inverse transformed 2D array.
    */
   public double[][] inverseHaar(double[][] x, int originalWidth, int originalHeight) {
+    TransformEvent event = new TransformEvent();
+    event.begin();
     int c = 2;
     int s = x.length;
     while (c <= s) {
@@ -228,7 +235,9 @@ public class HaarWaveletTransform {
       }
       c = c * 2;
     }
-    return unpadArray(x, originalWidth, originalHeight);
+    double[][] result = unpadArray(x, originalWidth, originalHeight);
+    commit(event, "inverseHaar", originalWidth, originalHeight, 0);
+    return result;
   }
 
   /**
@@ -244,6 +253,8 @@ public class HaarWaveletTransform {
       return Double.MAX_VALUE;
     }
 
+    TransformEvent event = new TransformEvent();
+    event.begin();
     Set<Double> uniqueValues = new HashSet<>();
     for (double[][] channel : channels) {
       for (double[] array : channel) {
@@ -257,7 +268,30 @@ public class HaarWaveletTransform {
     Collections.sort(sortedUniqueValues);
 
     int thresholdIndex = (int) ((sortedUniqueValues.size() - 1) * (percentage / 100));
+    int width = channels.length == 0 ? 0 : channels[0].length;
+    int height = width == 0 ? 0 : channels[0][0].length;
+    commit(event, "calculateThreshold", width, height, percentage);
     return sortedUniqueValues.get(thresholdIndex);
   }
 
+  /**
+   * Ends an event of a stage of the transform and commits it if it is enabled.
+   *
+   * @param event      The event of the stage.
+   * @param stage      The name of the stage.
+   * @param width      The width of the transformed array.
+   * @param height     The height of the transformed array.
+   * @param percentage The compression percentage, or 0 if the stage has none.
+   */
+  private void commit(TransformEvent event, String stage, int width, int height,
+                      double percentage) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.stage = stage;
+      event.width = width;
+      event.height = height;
+      event.percentage = percentage;
+      event.commit();
+    }
+  }
 }
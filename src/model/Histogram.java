@@ -0,0 +1,126 @@
+package model;
+
+/**
+ * The Histogram class holds the frequency of every value of the red, green and blue
+ * components of an image. Histograms are immutable and are kept with the image they
+ * were counted from. The histogram of an edited image can be derived from the
+ * histogram of the original instead of counting its pixels again: a point operation
+ * moves the counts of each value to the value it maps to, and an edit of part of the
+ * image replaces the counts of that part only.
+ */
+public class Histogram {
+
+  private final int[][] counts;
+
+  /**
+   * Constructs a Histogram from the frequencies of each channel.
+   *
+   * @param counts The red, green and blue frequencies, each of 256 values.
+   * @throws IllegalArgumentException if the counts are not three channels of 256
+   *                                  values, or a count is negative.
+   */
+  public Histogram(int[][] counts) throws IllegalArgumentException {
+    if (counts == null || counts.length != 3) {
+      throw new IllegalArgumentException("Histogram must have three channels");
+    }
+    this.counts = new int[3][];
+    for (int channel = 0; channel < 3; channel++) {
+      if (counts[channel] == null || counts[channel].length != 256) {
+        throw new IllegalArgumentException("Histogram channels must have 256 values");
+      }
+      for (int count : counts[channel]) {
+        if (count < 0) {
+          throw new IllegalArgumentException("Histogram counts cannot be negative");
+        }
+      }
+      this.counts[channel] = counts[channel].clone();
+    }
+  }
+
+  /**
+   * Gets the frequencies of each channel.
+   *
+   * @return A copy of the red, green and blue frequencies.
+   */
+  public int[][] getCounts() {
+    return new int[][]{counts[0].clone(), counts[1].clone(), counts[2].clone()};
+  }
+
+  /**
+   * Gets the frequency of a value of a channel.
+   *
+   * @param channel The channel: 0 for red, 1 for green and 2 for blue.
+   * @param value   The value of the channel.
+   * @return The number of pixels with that value.
+   */
+  public int getCount(int channel, int value) {
+    return counts[channel][value];
+  }
+
+  /**
+   * Gets the number of pixels counted.
+   *
+   * @return The number of pixels.
+   */
+  public long getTotal() {
+    long total = 0;
+    for (int count : counts[0]) {
+      total += count;
+    }
+    return total;
+  }
+
+  /**
+   * Derives the histogram of the image produced by a point operation that maps every
+   * value of each channel through a lookup table.
+   *
+   * @param tables The red, green and blue lookup tables, each of 256 values between
+   *               0 and 255.
+   * @return The histogram of the mapped image.
+   * @throws IllegalArgumentException if the tables are not three tables of 256 values
+   *                                  between 0 and 255.
+   */
+  public Histogram remap(int[][] tables) throws IllegalArgumentException {
+    if (tables == null || tables.length != 3) {
+      throw new IllegalArgumentException("Three lookup tables are required");
+    }
+    int[][] remapped = new int[3][256];
+    for (int channel = 0; channel < 3; channel++) {
+      if (tables[channel] == null || tables[channel].length != 256) {
+        throw new IllegalArgumentException("Lookup tables must have 256 values");
+      }
+      for (int value = 0; value < 256; value++) {
+        int mapped = tables[channel][value];
+        if (mapped < 0 || mapped > 255) {
+          throw new IllegalArgumentException("Lookup table values must be in [0, 255]");
+        }
+        remapped[channel][mapped] += counts[channel][value];
+      }
+    }
+    return new Histogram(remapped);
+  }
+
+  /**
+   * Derives the histogram of the image produced by replacing some of its pixels.
+   *
+   * @param removed The histogram of the pixels that were replaced.
+   * @param added   The histogram of the pixels that replaced them.
+   * @return The histogram of the edited image.
+   * @throws IllegalArgumentException if the removed pixels are not part of this
+   *                                  histogram.
+   */
+  public Histogram replace(Histogram removed, Histogram added)
+          throws IllegalArgumentException {
+    int[][] replaced = new int[3][256];
+    for (int channel = 0; channel < 3; channel++) {
+      for (int value = 0; value < 256; value++) {
+        replaced[channel][value] = counts[channel][value] - removed.counts[channel][value]
+                + added.counts[channel][value];
+        if (counts[channel][value] < removed.counts[channel][value]) {
+          throw new IllegalArgumentException("Removed pixels are not in the histogram");
+        }
+      }
+    }
+    return new Histogram(replaced);
+  }
+}
@@ -3,13 +3,55 @@ package model;
 import java.awt.Graphics2D;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
 /**
  * The HistogramCreator class provides methods for creating
- * a histogram image from an input image.
+ * a histogram image from an input image. A creator rasterises the histogram lines
+ * straight into the integer pixel buffer of an image that it keeps and draws over on
+ * every render, so rendering the histogram of each update of the user interface
+ * allocates nothing. The heights of the lines can be scaled logarithmically, and the
+ * histogram can be drawn cumulatively.
  */
 public class HistogramCreator {
 
+  private static final int GRID_COLOR = Color.LIGHT_GRAY.getRGB() & 0xffffff;
+  private static final int BACKGROUND_COLOR = 0xffffff;
+  private static final int[] CHANNEL_COLORS = {0xff0000, 0x00ff00, 0x0000ff};
+
+  private final int size;
+  private final boolean logScale;
+  private final boolean cumulative;
+  private final BufferedImage canvas;
+  private final int[] buffer;
+
+  /**
+   * Constructs a HistogramCreator drawing linear histograms of 256 by 256 pixels.
+   */
+  public HistogramCreator() {
+    this(256, false, false);
+  }
+
+  /**
+   * Constructs a HistogramCreator drawing histograms of the given size and scale.
+   *
+   * @param size       The width and height of the histogram image in pixels.
+   * @param logScale   Whether the heights of the lines are scaled logarithmically.
+   * @param cumulative Whether each value shows the frequency of the values up to it.
+   * @throws IllegalArgumentException if the size is not positive.
+   */
+  public HistogramCreator(int size, boolean logScale, boolean cumulative)
+          throws IllegalArgumentException {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Histogram size must be positive");
+    }
+    this.size = size;
+    this.logScale = logScale;
+    this.cumulative = cumulative;
+    this.canvas = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+    this.buffer = ((DataBufferInt) canvas.getRaster().getDataBuffer()).getData();
+  }
+
   /**
    * Creates a histogram image from the provided Image object.
    *
@@ -17,92 +59,164 @@ public class HistogramCreator {
    * @return A BufferedImage representing the histogram.
    */
   public static Pixel[][] createHistogramImage(int[][] channels) {
-    int maxFrequency = getMaxFrequency(channels[0], channels[1], channels[2]);
-
-
-    BufferedImage histogramImage = new BufferedImage(256, 256, BufferedImage.TYPE_INT_ARGB);
-    Graphics2D g2d = histogramImage.createGraphics();
-    g2d.setColor(Color.WHITE);
-    g2d.fillRect(0, 0, 256, 256);
-
-    drawGrid(g2d);
+    HistogramCreator creator = new HistogramCreator();
+    creator.render(channels);
+    return creator.toPixels();
+  }
 
-    drawHistogram(g2d, channels[0], maxFrequency, Color.RED);
-    drawHistogram(g2d, channels[1], maxFrequency, Color.GREEN);
-    drawHistogram(g2d, channels[2], maxFrequency, Color.BLUE);
+  /**
+   * Renders a histogram straight into a BufferedImage, ready to be displayed without
+   * being converted to pixels first.
+   *
+   * @param channels The three red, green and blue channels.
+   * @return A BufferedImage representing the histogram.
+   */
+  public static BufferedImage renderHistogram(int[][] channels) {
+    return renderHistogram(channels, null);
+  }
 
-    g2d.dispose();
-    return convertToPixelsArray(histogramImage);
+  /**
+   * Renders a histogram straight into a BufferedImage with a caption in its top left
+   * corner, such as the error bound of an approximate histogram.
+   *
+   * @param channels The three red, green and blue channels.
+   * @param caption  The caption, or null for none.
+   * @return A BufferedImage representing the histogram.
+   */
+  public static BufferedImage renderHistogram(int[][] channels, String caption) {
+    return new HistogramCreator().render(channels, caption);
   }
 
   /**
-   * Draws a grid on the given Graphics2D object.
+   * Renders a histogram into the image of this creator.
    *
-   * @param g2d The Graphics2D object to draw on.
+   * @param channels The three red, green and blue channels.
+   * @return The image of this creator, drawn over by the next render.
    */
-  private static void drawGrid(Graphics2D g2d) {
-    g2d.setColor(Color.LIGHT_GRAY);
-    for (int i = 0; i < 256; i += 16) {
-      g2d.drawLine(i, 0, i, 255); // vertical lines
-      g2d.drawLine(0, i, 255, i); // horizontal lines
-    }
+  public BufferedImage render(int[][] channels) {
+    return render(channels, null);
   }
 
   /**
-   * Draws a histogram on the given Graphics2D object using the provided frequency data and color.
+   * Renders a histogram into the image of this creator with a caption in its top left
+   * corner.
    *
-   * @param g2d          The Graphics2D object to draw on.
-   * @param frequency    The frequency data for the histogram.
-   * @param maxFrequency The maximum frequency among all color channels.
-   * @param color        The color of the histogram.
+   * @param channels The three red, green and blue channels.
+   * @param caption  The caption, or null for none.
+   * @return The image of this creator, drawn over by the next render.
    */
-  private static void drawHistogram(Graphics2D g2d, int[] frequency,
-                                    int maxFrequency, Color color) {
-    g2d.setColor(color);
-    int prevX = 0;
-    int prevY = 255;
+  public synchronized BufferedImage render(int[][] channels, String caption) {
+    double maxHeight = height(maxFrequency(channels));
 
-    for (int i = 0; i < frequency.length; i++) {
-      int x = i;
-      int y = (int) ((frequency[i] / (double) maxFrequency) * 255);
+    drawGrid();
+    for (int channel = 0; channel < 3; channel++) {
+      drawHistogram(channels[channel], maxHeight, CHANNEL_COLORS[channel]);
+    }
 
-      g2d.drawLine(prevX, prevY, x, 255 - y);
+    if (caption != null) {
+      Graphics2D g2d = canvas.createGraphics();
+      g2d.setColor(Color.DARK_GRAY);
+      g2d.drawString(caption, 4, 12);
+      g2d.dispose();
+    }
+    return canvas;
+  }
 
-      prevX = x;
-      prevY = 255 - y;
+  /**
+   * Fills the image with the background and draws a grid of sixteen cells a side.
+   */
+  private void drawGrid() {
+    int spacing = Math.max(1, size / 16);
+    for (int y = 0; y < size; y++) {
+      int row = y * size;
+      if (y % spacing == 0) {
+        for (int x = 0; x < size; x++) {
+          buffer[row + x] = GRID_COLOR;
+        }
+      } else {
+        for (int x = 0; x < size; x++) {
+          buffer[row + x] = x % spacing == 0 ? GRID_COLOR : BACKGROUND_COLOR;
+        }
+      }
     }
   }
 
   /**
-   * Finds the maximum frequency among the provided frequency arrays.
+   * Draws the line of one channel, joining the height of each column to the height of
+   * the previous column with a vertical span.
    *
-   * @param frequencies Arrays containing frequency data.
-   * @return The maximum frequency.
+   * @param frequency The frequency data for the histogram.
+   * @param maxHeight The scaled height of the highest frequency of all channels.
+   * @param color     The packed color of the line.
    */
-  private static int getMaxFrequency(int[]... frequencies) {
-    int max = 0;
-    for (int[] frequency : frequencies) {
-      for (int value : frequency) {
-        if (value > max) {
-          max = value;
+  private void drawHistogram(int[] frequency, double maxHeight, int color) {
+    int bottom = size - 1;
+    int previous = bottom;
+    long sum = 0;
+    int summed = 0;
+    for (int x = 0; x < size; x++) {
+      int start = (int) ((long) x * frequency.length / size);
+      int end = Math.max(start + 1, (int) ((x + 1L) * frequency.length / size));
+      long value = 0;
+      if (cumulative) {
+        for (; summed < end; summed++) {
+          sum += frequency[summed];
         }
+        value = sum;
+      } else {
+        for (int bin = start; bin < end; bin++) {
+          value = Math.max(value, frequency[bin]);
+        }
+      }
+      int row = bottom - (maxHeight > 0 ? (int) (height(value) / maxHeight * bottom) : 0);
+      for (int y = Math.min(previous, row); y <= Math.max(previous, row); y++) {
+        buffer[y * size + x] = color;
       }
+      previous = row;
+    }
+  }
+
+  /**
+   * Scales a frequency to the height of its line.
+   *
+   * @param frequency The frequency.
+   * @return The unnormalised height of the line.
+   */
+  private double height(long frequency) {
+    return logScale ? Math.log1p(frequency) : frequency;
+  }
+
+  /**
+   * Finds the highest frequency drawn among the channels, which is the number of
+   * pixels in a channel for cumulative histograms.
+   *
+   * @param channels The three red, green and blue channels.
+   * @return The maximum frequency.
+   */
+  private long maxFrequency(int[][] channels) {
+    long max = 0;
+    for (int[] channel : channels) {
+      long total = 0;
+      int highest = 0;
+      for (int value : channel) {
+        total += value;
+        highest = Math.max(highest, value);
+      }
+      max = Math.max(max, cumulative ? total : highest);
     }
     return max;
   }
 
-  private static Pixel[][] convertToPixelsArray(BufferedImage bufferedImage) {
-    int width = bufferedImage.getWidth();
-    int height = bufferedImage.getHeight();
-    Pixel[][] pixels = new Pixel[height][width];
-
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-        int rgb = bufferedImage.getRGB(x, y);
-        int red = (rgb >> 16) & 0xFF;
-        int green = (rgb >> 8) & 0xFF;
-        int blue = (rgb) & 0xFF;
-        pixels[x][y] = new Pixel(red, green, blue);
+  /**
+   * Converts the image of this creator into pixels.
+   *
+   * @return The pixels of the histogram.
+   */
+  private Pixel[][] toPixels() {
+    Pixel[][] pixels = new Pixel[size][size];
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        pixels[x][y] = Pixel.of(buffer[y * size + x]);
       }
     }
     return pixels;
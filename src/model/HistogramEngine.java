@@ -0,0 +1,114 @@
+package model;
+
+import java.util.stream.IntStream;
+
+/**
+ * The HistogramEngine class counts the frequency of every value of the red, green and
+ * blue components of an image. Large images are divided into stripes of columns that
+ * are counted in parallel, each thread into its own partial histograms, which are
+ * merged once every stripe is counted. The engine can also count a stratified sample
+ * of the pixels: one pixel at a scattered position inside every block of a grid.
+ */
+final class HistogramEngine {
+
+  private static final int STRIPE_WIDTH = 64;
+  private static final long PARALLEL_THRESHOLD = 1L << 16;
+
+  /**
+   * Prevents instantiation of this class.
+   */
+  private HistogramEngine() {
+  }
+
+  /**
+   * Computes the histograms of the components of an image.
+   *
+   * @param pixels The pixels of the image.
+   * @return The red, green and blue histograms, each of 256 frequencies.
+   */
+  static int[][] compute(Pixel[][] pixels) {
+    return sample(pixels, 1);
+  }
+
+  /**
+   * Computes the histograms of one pixel in every block of step by step pixels. The
+   * pixel counted in each block is at an offset that varies from block to block, so
+   * that the sample does not alias with regular patterns in the image.
+   *
+   * @param pixels The pixels of the image.
+   * @param step   The size of the blocks, where 1 counts every pixel.
+   * @return The red, green and blue histograms of the sampled pixels.
+   */
+  static int[][] sample(Pixel[][] pixels, int step) {
+    int width = pixels.length;
+    int stripes = (width + STRIPE_WIDTH * step - 1) / (STRIPE_WIDTH * step);
+    IntStream range = IntStream.range(0, stripes);
+    if ((long) width * pixels[0].length / ((long) step * step) >= PARALLEL_THRESHOLD) {
+      range = range.parallel();
+    }
+    return range.collect(() -> new int[3][256],
+        (partial, stripe) -> count(pixels, stripe, step, partial),
+        HistogramEngine::merge);
+  }
+
+  /**
+   * Gets the number of pixels counted by a sample with the given block size.
+   *
+   * @param width  The width of the image.
+   * @param height The height of the image.
+   * @param step   The size of the blocks.
+   * @return The number of sampled pixels.
+   */
+  static long sampleSize(int width, int height, int step) {
+    return (long) ((width + step - 1) / step) * ((height + step - 1) / step);
+  }
+
+  /**
+   * Counts the components of the sampled pixels of one stripe of columns.
+   *
+   * @param pixels  The pixels of the image.
+   * @param stripe  The index of the stripe.
+   * @param step    The size of the blocks.
+   * @param partial The histograms to add the counts to.
+   */
+  private static void count(Pixel[][] pixels, int stripe, int step, int[][] partial) {
+    int[] red = partial[0];
+    int[] green = partial[1];
+    int[] blue = partial[2];
+    int width = pixels.length;
+    int height = pixels[0].length;
+    int end = Math.min(width, (stripe + 1) * STRIPE_WIDTH * step);
+    for (int blockX = stripe * STRIPE_WIDTH * step; blockX < end; blockX += step) {
+      int blockWidth = Math.min(step, width - blockX);
+      for (int blockY = 0; blockY < height; blockY += step) {
+        int blockHeight = Math.min(step, height - blockY);
+        int x = blockX;
+        int y = blockY;
+        if (step > 1) {
+          int hash = (blockX * 0x9e3779b1) ^ (blockY * 0x85ebca6b);
+          hash ^= hash >>> 15;
+          x += Math.floorMod(hash, blockWidth);
+          y += Math.floorMod(hash >>> 8, blockHeight);
+        }
+        Pixel pixel = pixels[x][y];
+        red[pixel.getRed()]++;
+        green[pixel.getGreen()]++;
+        blue[pixel.getBlue()]++;
+      }
+    }
+  }
+
+  /**
+   * Adds partial histograms to others.
+   *
+   * @param into    The histograms to add to.
+   * @param partial The histograms to add.
+   */
+  private static void merge(int[][] into, int[][] partial) {
+    for (int channel = 0; channel < 3; channel++) {
+      for (int value = 0; value < 256; value++) {
+        into[channel][value] += partial[channel][value];
+      }
+    }
+  }
+}
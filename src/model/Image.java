@@ -3,6 +3,11 @@ package model;
 import model.strategy.SplitStrategy;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 /**
  * This class represents a two-dimensional array of `Pixel`
@@ -11,7 +16,23 @@ import java.awt.image.BufferedImage;
  */
 public class Image {
 
+  /**
+   * The largest standard deviation of a Gaussian blur in pixels.
+   */
+  public static final double MAX_BLUR_SIGMA = 10000;
+
+  /**
+   * The largest radius of a median filter in pixels.
+   */
+  public static final int MAX_MEDIAN_RADIUS = 1000;
+
+  private static final int BLUR_BAND_HEIGHT = 16;
+
   private final Pixel[][] pixels;
+  private String contentDigest;
+  private Image halved;
+  private BufferedImage rendered;
+  private Histogram histogram;
 
   /**
    * Constructs an `Image` object with the specified array of pixels.
@@ -32,6 +53,69 @@ public class Image {
     return pixels;
   }
 
+  /**
+   * Computes the SHA-256 digest of the dimensions and pixel values of the image, which
+   * identifies its content in caches that outlive a run. Images are never modified
+   * after construction, so the digest is computed once and reused by later calls.
+   *
+   * @return The content digest of the image as 64 hexadecimal digits.
+   */
+  public synchronized String contentDigest() {
+    if (contentDigest == null) {
+      int width = pixels.length;
+      int height = pixels[0].length;
+      MessageDigest digest;
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is not available", e);
+      }
+      digest.update(ByteBuffer.allocate(8).putInt(width).putInt(height).array());
+      byte[] column = new byte[3 * height];
+      for (int i = 0; i < width; i++) {
+        for (int j = 0; j < height; j++) {
+          Pixel pixel = pixels[i][j];
+          column[3 * j] = (byte) pixel.getRed();
+          column[3 * j + 1] = (byte) pixel.getGreen();
+          column[3 * j + 2] = (byte) pixel.getBlue();
+        }
+        digest.update(column);
+      }
+      StringBuilder hex = new StringBuilder();
+      for (byte b : digest.digest()) {
+        hex.append(String.format("%02x", b));
+      }
+      contentDigest = hex.toString();
+    }
+    return contentDigest;
+  }
+
+  /**
+   * Gets the image as a BufferedImage that can be displayed or encoded. The pixels
+   * are written straight into the integer buffer of the BufferedImage once, and the
+   * same BufferedImage is returned by later calls, so it must not be modified.
+   *
+   * @return The shared BufferedImage of the image.
+   */
+  public synchronized BufferedImage toBufferedImage() {
+    if (rendered == null) {
+      int width = pixels.length;
+      int height = pixels[0].length;
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+      for (int x = 0; x < width; x++) {
+        Pixel[] column = pixels[x];
+        for (int y = 0; y < height; y++) {
+          Pixel pixel = column[y];
+          data[y * width + x] = (pixel.getRed() << 16) | (pixel.getGreen() << 8)
+                  | pixel.getBlue();
+        }
+      }
+      rendered = image;
+    }
+    return rendered;
+  }
+
 
   private Image extractComponent(ColorComponent component) throws UnsupportedOperationException {
     int width = pixels.length;
@@ -39,6 +123,7 @@ public class Image {
     Pixel[][] componentPixels = new Pixel[width][height];
 
     for (int i = 0; i < width; i++) {
+      Progress.report(i, width);
       for (int j = 0; j < height; j++) {
         Pixel imagePixel = this.pixels[i][j];
         int red = 0;
@@ -46,59 +131,13 @@ public class Image {
         int blue = 0;
 
         switch (component) {
-          case RED:
-            red = imagePixel.getRed();
-            componentPixels[i][j] = new Pixel(red, 0, 0);
-            break;
-          case GREEN:
-            green = imagePixel.getGreen();
-            componentPixels[i][j] = new Pixel(0, green, 0);
-            break;
-          case BLUE:
-            blue = imagePixel.getBlue();
-            componentPixels[i][j] = new Pixel(0, 0, blue);
-            break;
           case VALUE:
             red = imagePixel.getRed();
             green = imagePixel.getGreen();
             blue = imagePixel.getBlue();
 
             int maxVal = Math.max(red, Math.max(green, blue));
-            componentPixels[i][j] = new Pixel(maxVal, maxVal, maxVal);
-            break;
-          case INTENSITY:
-            red = imagePixel.getRed();
-            green = imagePixel.getGreen();
-            blue = imagePixel.getBlue();
-
-            int avgVal = (red + green + blue) / 3;
-            componentPixels[i][j] = new Pixel(avgVal, avgVal, avgVal);
-            break;
-          case LUMA:
-            red = imagePixel.getRed();
-            green = imagePixel.getGreen();
-            blue = imagePixel.getBlue();
-
-            red = (int) Math.round(0.2126 * red);
-            blue = (int) Math.round(0.0722 * blue);
-            green = (int) Math.round(0.7152 * green);
-
-            int newVal = red + green + blue;
-            componentPixels[i][j] = new Pixel(newVal, newVal, newVal);
-            break;
-          case SEPIA:
-            red = imagePixel.getRed();
-            green = imagePixel.getGreen();
-            blue = imagePixel.getBlue();
-
-            int newRed = (int) ((0.393 * red) + (0.769 * green) + (0.189 * blue));
-            int newGreen = (int) ((0.349 * red) + (0.686 * green) + (0.168 * blue));
-            int newBlue = (int) ((0.272 * red) + (0.534 * green) + (0.131 * blue));
-
-            newRed = Math.min(255, newRed);
-            newGreen = Math.min(255, newGreen);
-            newBlue = Math.min(255, newBlue);
-            componentPixels[i][j] = new Pixel(newRed, newGreen, newBlue);
+            componentPixels[i][j] = Pixel.of(maxVal, maxVal, maxVal);
             break;
           case VERTICALFLIP:
             componentPixels[i][j] = this.getPixels()[i][height - j - 1];
@@ -119,7 +158,7 @@ public class Image {
    * creates a new image with only the red component.
    */
   public Image redComponent() {
-    return extractComponent(ColorComponent.RED);
+    return mapped(new int[][]{identityTable(), new int[256], new int[256]});
   }
 
   /**
@@ -127,7 +166,7 @@ public class Image {
    * creates a new image with only the green component.
    */
   public Image greenComponent() {
-    return extractComponent(ColorComponent.GREEN);
+    return mapped(new int[][]{new int[256], identityTable(), new int[256]});
   }
 
   /**
@@ -135,7 +174,7 @@ public class Image {
    * creates a new image with only the blue component.
    */
   public Image blueComponent() {
-    return extractComponent(ColorComponent.BLUE);
+    return mapped(new int[][]{new int[256], new int[256], identityTable()});
   }
 
 
@@ -152,7 +191,7 @@ public class Image {
    * same average value, representing the grayscale intensity.
    */
   public Image intensityComponent() {
-    return extractComponent(ColorComponent.INTENSITY);
+    return colorMatrix(ColorMatrix.INTENSITY);
   }
 
   /**
@@ -160,14 +199,65 @@ public class Image {
    * transformed to represent the luma (brightness) of the image.
    */
   public Image lumaComponent() {
-    return extractComponent(ColorComponent.LUMA);
+    return colorMatrix(ColorMatrix.LUMA);
   }
 
   /**
    * Applies a sepia tone filter to the image, giving it a warm, brownish tint.
    */
   public Image sepia() {
-    return extractComponent(ColorComponent.SEPIA);
+    return colorMatrix(ColorMatrix.SEPIA);
+  }
+
+  /**
+   * Transforms the color of every pixel by a color matrix. The columns are
+   * transformed in parallel for large images, and a matrix whose rows are equal only
+   * computes one component of every pixel.
+   *
+   * @param matrix The color matrix.
+   * @return A new image with transformed colors.
+   */
+  public Image colorMatrix(ColorMatrix matrix) {
+    long[][][] tables = matrix.tables();
+    long[] offsets = matrix.offsets();
+    long[] redFromRed = tables[0][0];
+    long[] redFromGreen = tables[0][1];
+    long[] redFromBlue = tables[0][2];
+    long[] greenFromRed = tables[1][0];
+    long[] greenFromGreen = tables[1][1];
+    long[] greenFromBlue = tables[1][2];
+    long[] blueFromRed = tables[2][0];
+    long[] blueFromGreen = tables[2][1];
+    long[] blueFromBlue = tables[2][2];
+    int width = pixels.length;
+    int height = pixels[0].length;
+    Pixel[][] transformed = new Pixel[width][];
+    boolean grey = matrix.isGrey();
+    Parallel.columns(width, height, x -> {
+      Pixel[] column = pixels[x];
+      Pixel[] transformedColumn = new Pixel[height];
+      for (int y = 0; y < height; y++) {
+        Pixel pixel = column[y];
+        int red = pixel.getRed();
+        int green = pixel.getGreen();
+        int blue = pixel.getBlue();
+        int newRed = (int) Math.max(0, Math.min(255, (redFromRed[red] + redFromGreen[green]
+                + redFromBlue[blue] + offsets[0]) >> ColorMatrix.SHIFT));
+        if (grey) {
+          transformedColumn[y] = Pixel.of(newRed, newRed, newRed);
+        } else {
+          int newGreen = (int) Math.max(0, Math.min(255, (greenFromRed[red]
+                  + greenFromGreen[green] + greenFromBlue[blue] + offsets[1])
+                  >> ColorMatrix.SHIFT));
+          int newBlue = (int) Math.max(0, Math.min(255, (blueFromRed[red]
+                  + blueFromGreen[green] + blueFromBlue[blue] + offsets[2])
+                  >> ColorMatrix.SHIFT));
+          transformedColumn[y] = Pixel.of(newRed, newGreen, newBlue);
+        }
+      }
+      transformed[x] = transformedColumn;
+    });
+    return new Image(transformed);
   }
 
   /**
@@ -184,6 +274,131 @@ public class Image {
     return extractComponent(ColorComponent.HORIZONTALFLIP);
   }
 
+  /**
+   * Gets the image made of the leftmost columns of this image. The columns are
+   * shared with this image rather than copied.
+   *
+   * @param width The number of columns to keep.
+   * @return The image itself if it has no more columns than requested, otherwise
+   *         an image of its leftmost columns.
+   * @throws IllegalArgumentException if the number of columns is not positive.
+   */
+  public Image columns(int width) throws IllegalArgumentException {
+    if (width <= 0) {
+      throw new IllegalArgumentException("Width must be positive");
+    }
+    if (width >= pixels.length) {
+      return this;
+    }
+    return new Image(Arrays.copyOf(pixels, width));
+  }
+
+  /**
+   * Gets the image whose leftmost columns are taken from another image and whose
+   * other columns are those of this image. The columns are shared rather than copied.
+   * When the histogram of this image is known, the histogram of the result is derived
+   * by replacing the counts of the leftmost columns, as long as that counts fewer
+   * pixels than the whole result.
+   *
+   * @param replacement The image holding the new leftmost columns.
+   * @param split       The number of leftmost columns to replace.
+   * @return A new image made of the columns of both images.
+   * @throws IllegalArgumentException if the number of columns is not positive or
+   *                                  larger than either image, or the heights differ.
+   */
+  public Image splice(Image replacement, int split) throws IllegalArgumentException {
+    int width = pixels.length;
+    if (split <= 0 || split > width || split > replacement.pixels.length) {
+      throw new IllegalArgumentException("Invalid number of columns");
+    }
+    if (replacement.pixels[0].length != pixels[0].length) {
+      throw new IllegalArgumentException("Images must have the same height");
+    }
+    Pixel[][] splicedPixels = pixels.clone();
+    System.arraycopy(replacement.pixels, 0, splicedPixels, 0, split);
+    Image spliced = new Image(splicedPixels);
+
+    Histogram known;
+    synchronized (this) {
+      known = histogram;
+    }
+    Histogram added = null;
+    if (replacement.pixels.length == split) {
+      synchronized (replacement) {
+        added = replacement.histogram;
+      }
+    }
+    int scanned = (added == null ? 2 : 1) * split;
+    if (known != null && scanned < width) {
+      Histogram removed = new Histogram(HistogramEngine.compute(Arrays.copyOf(pixels,
+              split)));
+      if (added == null) {
+        added = new Histogram(HistogramEngine.compute(Arrays.copyOf(replacement.pixels,
+                split)));
+      }
+      spliced.histogram = known.replace(removed, added);
+    }
+    return spliced;
+  }
+
+  /**
+   * Gets a reduced copy of the image that fits within the given size. The copy is
+   * made by repeatedly halving the image, and every halved level is kept with the
+   * image it was made from, so reducing the same image again costs nothing.
+   *
+   * @param maxWidth  The largest width of the reduced image.
+   * @param maxHeight The largest height of the reduced image.
+   * @return The image itself if it already fits, otherwise the largest halved level
+   *         that fits.
+   * @throws IllegalArgumentException if the size is not positive.
+   */
+  public Image downscale(int maxWidth, int maxHeight) throws IllegalArgumentException {
+    if (maxWidth <= 0 || maxHeight <= 0) {
+      throw new IllegalArgumentException("Size must be positive");
+    }
+    Image level = this;
+    while (level.pixels.length > maxWidth || level.pixels[0].length > maxHeight) {
+      level = level.halve();
+    }
+    return level;
+  }
+
+  /**
+   * Gets the image at half of its width and height, where each pixel is the average
+   * of the block of up to four pixels it replaces.
+   *
+   * @return The halved image.
+   */
+  private synchronized Image halve() {
+    if (halved == null) {
+      int width = pixels.length;
+      int height = pixels[0].length;
+      int halfWidth = (width + 1) / 2;
+      int halfHeight = (height + 1) / 2;
+      Pixel[][] halfPixels = new Pixel[halfWidth][halfHeight];
+
+      for (int i = 0; i < halfWidth; i++) {
+        for (int j = 0; j < halfHeight; j++) {
+          int red = 0;
+          int green = 0;
+          int blue = 0;
+          int count = 0;
+          for (int x = 2 * i; x < Math.min(2 * i + 2, width); x++) {
+            for (int y = 2 * j; y < Math.min(2 * j + 2, height); y++) {
+              red += pixels[x][y].getRed();
+              green += pixels[x][y].getGreen();
+              blue += pixels[x][y].getBlue();
+              count++;
+            }
+          }
+          halfPixels[i][j] = Pixel.of(red / count, green / count, blue / count);
+        }
+      }
+      halved = new Image(halfPixels);
+    }
+    return halved;
+  }
+
   /**
    * Brightens the image by adding a specified increment to the
    * red, green, and blue components of each pixel.
@@ -192,101 +407,445 @@ public class Image {
    *                  and blue components.
    */
   public Image brighten(int increment) {
-    int width = this.getPixels().length;
-    int height = this.getPixels()[0].length;
-
-    Pixel[][] pixels = new Pixel[width][height];
-
-    for (int i = 0; i < width; i++) {
-      for (int j = 0; j < height; j++) {
-        Pixel imagePixel = this.getPixels()[i][j];
-
-        int red = imagePixel.getRed();
-        int blue = imagePixel.getBlue();
-        int green = imagePixel.getGreen();
+    int[] table = new int[256];
+    for (int value = 0; value < 256; value++) {
+      table[value] = clamp(value + increment);
+    }
+    return mapped(new int[][]{table, table, table});
+  }
 
-        int newRed = red + increment;
-        int newBlue = blue + increment;
-        int newGreen = green + increment;
+  /**
+   * Maps every component of every pixel through a lookup table of its channel. The
+   * columns are mapped in parallel for large images, and the histogram of the result
+   * is derived from the histogram of this image when that one is already known.
+   *
+   * @param tables The red, green and blue lookup tables, each of 256 values between
+   *               0 and 255.
+   * @return A new image with mapped components.
+   */
+  private Image mapped(int[][] tables) {
+    int[] redTable = tables[0];
+    int[] greenTable = tables[1];
+    int[] blueTable = tables[2];
+    int width = pixels.length;
+    int height = pixels[0].length;
+    Pixel[][] mappedPixels = new Pixel[width][];
+    Parallel.columns(width, height, x -> {
+      Pixel[] column = pixels[x];
+      Pixel[] mappedColumn = new Pixel[height];
+      for (int y = 0; y < height; y++) {
+        Pixel pixel = column[y];
+        mappedColumn[y] = Pixel.of(redTable[pixel.getRed()], greenTable[pixel.getGreen()],
+                blueTable[pixel.getBlue()]);
+      }
+      mappedPixels[x] = mappedColumn;
+    });
 
-        Pixel destPixel = new Pixel(newRed, newGreen, newBlue);
-        pixels[i][j] = destPixel;
+    Image result = new Image(mappedPixels);
+    synchronized (this) {
+      if (histogram != null) {
+        result.histogram = histogram.remap(tables);
       }
     }
-    return new Image(pixels);
+    return result;
   }
 
   /**
-   * Applies a convolution kernel to the image, creating a new image as a result.
+   * Creates a lookup table that maps every value to itself.
    *
-   * @param kernel The convolution kernel matrix.
-   * @return The new image after applying the kernel.
+   * @return The identity lookup table.
    */
-  private Image applyKernel(double[][] kernel) {
-    int width = pixels.length;
-    int height = pixels[0].length;
-    Pixel[][] newPixels = new Pixel[width][height];
+  private static int[] identityTable() {
+    int[] table = new int[256];
+    for (int value = 0; value < 256; value++) {
+      table[value] = value;
+    }
+    return table;
+  }
 
-    int kernelWidth = kernel.length;
-    int kernelHeight = kernel[0].length;
-    int kernelWidthOffset = kernelWidth / 2;
-    int kernelHeightOffset = kernelHeight / 2;
+  /**
+   * Clamps a component value to the valid range [0, 255].
+   *
+   * @param value The value to be clamped.
+   * @return The clamped value.
+   */
+  private static int clamp(int value) {
+    return Math.max(0, Math.min(255, value));
+  }
 
-    for (int i = 0; i < width; i++) {
-      for (int j = 0; j < height; j++) {
-        double redSum = 0;
-        double greenSum = 0;
-        double blueSum = 0;
-
-        for (int x = 0; x < kernelWidth; x++) {
-          for (int y = 0; y < kernelHeight; y++) {
-            int pixelX = i + x - kernelWidthOffset;
-            int pixelY = j + y - kernelHeightOffset;
-
-            if (pixelX >= 0 && pixelX < width && pixelY >= 0 && pixelY < height) {
-              Pixel pixel = pixels[pixelX][pixelY];
-              redSum += pixel.getRed() * kernel[x][y];
-              greenSum += pixel.getGreen() * kernel[x][y];
-              blueSum += pixel.getBlue() * kernel[x][y];
+  /**
+   * Convolves the image with a kernel, reading the pixels beyond its edges as the
+   * border mode says. The columns of the result are computed in stripes, in parallel
+   * for large images, each from the columns of the image that the kernel reaches, read
+   * as contiguous runs of values into buffers kept for the whole stripe. A separable
+   * kernel sums those columns with the weights of its row first and then runs its
+   * column of weights down the sums, which reads k + k values per pixel instead of
+   * k * k.
+   *
+   * @param kernel The convolution kernel.
+   * @param border How the pixels beyond the edges are read.
+   * @return A new image holding the rounded and clamped weighted sums.
+   */
+  public Image convolve(Kernel kernel, BorderMode border) {
+    int width = pixels.length;
+    int height = pixels[0].length;
+    int columnRadius = kernel.getWidth() / 2;
+    int rowRadius = kernel.getHeight() / 2;
+    int[] columnIndex = borderIndices(border, width, columnRadius);
+    int[] rowIndex = borderIndices(border, height, rowRadius);
+    double[][] weights = kernel.weights();
+    double[] columnFactor = kernel.columnFactor();
+    double[] rowFactor = kernel.rowFactor();
+
+    int[] packed = new int[width * height];
+    Parallel.columns(width, height, x -> {
+      Pixel[] column = pixels[x];
+      for (int y = 0; y < height; y++) {
+        Pixel pixel = column[y];
+        packed[x * height + y] = (pixel.getRed() << 16) | (pixel.getGreen() << 8)
+                | pixel.getBlue();
+      }
+    });
+
+    Pixel[][] convolved = new Pixel[width][];
+    Parallel.stripes(width, height, (start, end) -> {
+      double[][] source = new double[3][height];
+      double[][] sums = new double[3][height];
+      double[][] rowSums = columnFactor == null ? null : new double[3][height];
+      for (int x = start; x < end; x++) {
+        for (int channel = 0; channel < 3; channel++) {
+          Arrays.fill(sums[channel], 0);
+          if (rowSums != null) {
+            Arrays.fill(rowSums[channel], 0);
+          }
+        }
+        for (int column = 0; column < kernel.getWidth(); column++) {
+          int sourceColumn = columnIndex[x + column];
+          if (sourceColumn < 0) {
+            continue;
+          }
+          for (int y = 0; y < height; y++) {
+            int rgb = packed[sourceColumn * height + y];
+            source[0][y] = rgb >> 16;
+            source[1][y] = (rgb >> 8) & 0xff;
+            source[2][y] = rgb & 0xff;
+          }
+          for (int channel = 0; channel < 3; channel++) {
+            if (rowSums != null) {
+              accumulate(rowSums[channel], source[channel], rowFactor[column], 0, rowIndex,
+                      rowRadius);
+            } else {
+              for (int row = 0; row < weights.length; row++) {
+                accumulate(sums[channel], source[channel], weights[row][column],
+                        row - rowRadius, rowIndex, row);
+              }
             }
           }
         }
+        if (rowSums != null) {
+          for (int channel = 0; channel < 3; channel++) {
+            for (int row = 0; row < columnFactor.length; row++) {
+              accumulate(sums[channel], rowSums[channel], columnFactor[row],
+                      row - rowRadius, rowIndex, row);
+            }
+          }
+        }
+        convolved[x] = roundedColumn(sums);
+      }
+    });
+    return new Image(convolved);
+  }
+
+  /**
+   * Maps every position of a row or column padded by a radius on both sides to the
+   * position of the pixel read there.
+   *
+   * @param border The border mode.
+   * @param length The number of pixels in the row or column.
+   * @param radius The number of positions padded on each side.
+   * @return The position read at each padded position, or -1 where nothing is read.
+   */
+  private static int[] borderIndices(BorderMode border, int length, int radius) {
+    int[] indices = new int[length + 2 * radius];
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = border.index(i - radius, length);
+    }
+    return indices;
+  }
 
-        newPixels[i][j] = new Pixel(
-                (int) Math.round(redSum),
-                (int) Math.round(greenSum),
-                (int) Math.round(blueSum)
-        );
+  /**
+   * Adds a weighted column of values, shifted by a number of rows, to the sums of a
+   * column. Rows that the shift moves past the ends of the column are read through
+   * the border positions, and the other rows are read directly.
+   *
+   * @param sums     The sums of the column.
+   * @param values   The column of values read.
+   * @param weight   The weight of the values.
+   * @param shift    The number of rows between each sum and the value it reads.
+   * @param rowIndex The positions read at each padded row.
+   * @param padding  The index in the padded rows of the first row.
+   */
+  private static void accumulate(double[] sums, double[] values, double weight, int shift,
+                                 int[] rowIndex, int padding) {
+    if (weight == 0) {
+      return;
+    }
+    int height = sums.length;
+    int start = Math.min(height, Math.max(0, -shift));
+    int end = Math.max(start, Math.min(height, height - shift));
+    for (int y = 0; y < start; y++) {
+      int source = rowIndex[y + padding];
+      if (source >= 0) {
+        sums[y] += weight * values[source];
+      }
+    }
+    for (int y = start; y < end; y++) {
+      sums[y] += weight * values[y + shift];
+    }
+    for (int y = end; y < height; y++) {
+      int source = rowIndex[y + padding];
+      if (source >= 0) {
+        sums[y] += weight * values[source];
       }
     }
-    return new Image(newPixels);
+  }
+
+  /**
+   * Turns the sums of a column into pixels, rounding and clamping each component.
+   *
+   * @param sums The red, green and blue sums of the column.
+   * @return The column of pixels.
+   */
+  private static Pixel[] roundedColumn(double[][] sums) {
+    Pixel[] column = new Pixel[sums[0].length];
+    for (int y = 0; y < column.length; y++) {
+      column[y] = Pixel.of(round(sums[0][y]), round(sums[1][y]), round(sums[2][y]));
+    }
+    return column;
+  }
+
+  /**
+   * Rounds a sum to the nearest component value, clamped to the range [0, 255].
+   *
+   * @param sum The sum.
+   * @return The rounded and clamped value.
+   */
+  private static int round(double sum) {
+    return (int) Math.round(Math.max(0, Math.min(255, sum)));
   }
 
   /**
    * Applies a blur filter to the image, creating a new image with a blurred appearance.
    */
   public Image blur() {
-    double[][] kernel = {
-            {1.0 / 16, 1.0 / 8, 1.0 / 16},
-            {1.0 / 8, 1.0 / 4, 1.0 / 8},
-            {1.0 / 16, 1.0 / 8, 1.0 / 16}
-    };
-    return applyKernel(kernel);
+    return convolve(Kernel.BLUR, BorderMode.ZERO);
+  }
+
+  /**
+   * Applies a Gaussian blur of the given standard deviation to the image. The Gaussian
+   * is approximated by three box filters of the same total variance, each computed
+   * with a running sum, so the cost per pixel does not depend on the standard
+   * deviation. Bands of rows are filtered first and the columns of the result next,
+   * both in parallel for large images, and pixels beyond the edges repeat the edge
+   * pixels.
+   *
+   * @param sigma The standard deviation of the Gaussian in pixels.
+   * @return A new image with a blurred appearance.
+   * @throws IllegalArgumentException if the standard deviation is not in
+   *                                  (0, MAX_BLUR_SIGMA].
+   */
+  public Image blur(double sigma) throws IllegalArgumentException {
+    int[] radii = boxRadii(sigma);
+    int width = pixels.length;
+    int height = pixels[0].length;
+    int[][] channels = new int[3][width * height];
+    int bands = (height + BLUR_BAND_HEIGHT - 1) / BLUR_BAND_HEIGHT;
+    Parallel.tiles(bands, (long) width * height, band -> {
+      int top = band * BLUR_BAND_HEIGHT;
+      int rowCount = Math.min(height, top + BLUR_BAND_HEIGHT) - top;
+      int[][][] rows = new int[3][rowCount][width];
+      for (int x = 0; x < width; x++) {
+        Pixel[] column = pixels[x];
+        for (int row = 0; row < rowCount; row++) {
+          Pixel pixel = column[top + row];
+          rows[0][row][x] = pixel.getRed();
+          rows[1][row][x] = pixel.getGreen();
+          rows[2][row][x] = pixel.getBlue();
+        }
+      }
+      int[] scratch = new int[width];
+      for (int channel = 0; channel < 3; channel++) {
+        int[] values = channels[channel];
+        for (int row = 0; row < rowCount; row++) {
+          boxBlur(rows[channel][row], 0, width, scratch, radii);
+        }
+        for (int x = 0; x < width; x++) {
+          int offset = x * height + top;
+          for (int row = 0; row < rowCount; row++) {
+            values[offset + row] = rows[channel][row][x];
+          }
+        }
+      }
+    });
+
+    Pixel[][] blurred = new Pixel[width][];
+    Parallel.columns(width, height, x -> {
+      int offset = x * height;
+      int[] scratch = new int[height];
+      for (int[] values : channels) {
+        boxBlur(values, offset, height, scratch, radii);
+      }
+      Pixel[] column = new Pixel[height];
+      for (int y = 0; y < height; y++) {
+        column[y] = Pixel.of(channels[0][offset + y], channels[1][offset + y],
+                channels[2][offset + y]);
+      }
+      blurred[x] = column;
+    });
+    return new Image(blurred);
+  }
+
+  /**
+   * Gets the number of pixels on each side of a pixel that its value after a blur of
+   * the given standard deviation depends on.
+   *
+   * @param sigma The standard deviation of the Gaussian in pixels.
+   * @return The reach of the blur in pixels.
+   * @throws IllegalArgumentException if the standard deviation is not in
+   *                                  (0, MAX_BLUR_SIGMA].
+   */
+  public static int blurReach(double sigma) throws IllegalArgumentException {
+    int reach = 0;
+    for (int radius : boxRadii(sigma)) {
+      reach += radius;
+    }
+    return reach;
   }
 
+  /**
+   * Computes the radii of the three box filters approximating a Gaussian: boxes of two
+   * consecutive odd widths, as many of the narrower one as brings the sum of their
+   * variances closest to the variance of the Gaussian.
+   *
+   * @param sigma The standard deviation of the Gaussian in pixels.
+   * @return The radius of each box filter.
+   * @throws IllegalArgumentException if the standard deviation is not in
+   *                                  (0, MAX_BLUR_SIGMA].
+   */
+  private static int[] boxRadii(double sigma) throws IllegalArgumentException {
+    if (!(sigma > 0 && sigma <= MAX_BLUR_SIGMA)) {
+      throw new IllegalArgumentException("Blur sigma must be in (0, " + MAX_BLUR_SIGMA + "]");
+    }
+    int passes = 3;
+    double variance = sigma * sigma;
+    int lower = (int) Math.sqrt(12 * variance / passes + 1);
+    if (lower % 2 == 0) {
+      lower--;
+    }
+    long narrow = Math.round((12 * variance - passes * (lower * lower + 4.0 * lower + 3))
+            / (-4.0 * lower - 4));
+    int[] radii = new int[passes];
+    for (int pass = 0; pass < passes; pass++) {
+      radii[pass] = pass < narrow ? (lower - 1) / 2 : (lower + 1) / 2;
+    }
+    return radii;
+  }
+
+  /**
+   * Filters a line of values in place by box filters of the given radii in turn,
+   * alternating between the line and the scratch buffer.
+   *
+   * @param values  The array holding the line.
+   * @param offset  The index of the first value of the line.
+   * @param length  The number of values in the line.
+   * @param scratch A buffer at least as long as the line.
+   * @param radii   The radius of each box filter.
+   */
+  private static void boxBlur(int[] values, int offset, int length, int[] scratch,
+                              int[] radii) {
+    boolean inScratch = false;
+    for (int radius : radii) {
+      if (radius > 0) {
+        if (inScratch) {
+          boxFilter(scratch, 0, values, offset, length, radius);
+        } else {
+          boxFilter(values, offset, scratch, 0, length, radius);
+        }
+        inScratch = !inScratch;
+      }
+    }
+    if (inScratch) {
+      System.arraycopy(scratch, 0, values, offset, length);
+    }
+  }
+
+  /**
+   * Replaces every value of a line by the rounded mean of the values within a radius
+   * of it, keeping a running sum of the window as it slides along the line. Positions
+   * beyond the ends of the line take the value at the nearest end, so only the
+   * windows overlapping an end clamp their positions. The division by the width of the
+   * window is a multiplication by its reciprocal in fixed point, which is exact for
+   * windows of up to 65536 values.
+   *
+   * @param source            The array holding the values to filter.
+   * @param sourceOffset      The index of the first value to filter.
+   * @param destination       The array receiving the filtered values.
+   * @param destinationOffset The index receiving the first filtered value.
+   * @param length            The number of values in the line.
+   * @param radius            The radius of the window.
+   */
+  private static void boxFilter(int[] source, int sourceOffset, int[] destination,
+                                int destinationOffset, int length, int radius) {
+    int first = source[sourceOffset];
+    int last = length - 1;
+    int size = 2 * radius + 1;
+    long multiplier = ((1L << 40) + size - 1) / size;
+    int inside = Math.min(radius, last);
+    int sum = (radius + 1) * first + (radius - inside) * source[sourceOffset + last];
+    for (int i = 1; i <= inside; i++) {
+      sum += source[sourceOffset + i];
+    }
+    int start = Math.min(radius, length);
+    int end = Math.max(start, last - radius);
+    int i = 0;
+    for (; i < start; i++) {
+      destination[destinationOffset + i] = (int) ((sum + radius) * multiplier >>> 40);
+      sum += source[sourceOffset + Math.min(i + radius + 1, last)] - first;
+    }
+    for (; i < end; i++) {
+      destination[destinationOffset + i] = (int) ((sum + radius) * multiplier >>> 40);
+      sum += source[sourceOffset + i + radius + 1] - source[sourceOffset + i - radius];
+    }
+    for (; i <= last; i++) {
+      destination[destinationOffset + i] = (int) ((sum + radius) * multiplier >>> 40);
+      sum += source[sourceOffset + last] - source[sourceOffset + Math.max(i - radius, 0)];
+    }
+  }
 
   /**
    * Applies a sharpening filter to the image, creating a new image with enhanced sharpness.
    */
   public Image sharpen() {
-    double[][] kernel = {
-            {-1.0 / 8, -1.0 / 8, -1.0 / 8, -1.0 / 8, -1.0 / 8},
-            {-1.0 / 8, 1.0 / 4, 1.0 / 4, 1.0 / 4, -1.0 / 8},
-            {-1.0 / 8, 1.0 / 4, 1, 1.0 / 4, -1.0 / 8},
-            {-1.0 / 8, -1.0 / 8, -1.0 / 8, -1.0 / 8, -1.0 / 8},
-            {-1.0 / 8, 1.0 / 4, 1.0 / 4, 1.0 / 4, -1.0 / 8}
-    };
-    return applyKernel(kernel);
+    return convolve(Kernel.SHARPEN, BorderMode.ZERO);
+  }
+
+  /**
+   * Applies a median filter of the given radius to the image, replacing each component
+   * of every pixel by the median of that component over the square of pixels within
+   * the radius of it, which removes salt and pepper noise while keeping edges sharp.
+   * The cost per pixel does not depend on the radius, and pixels beyond the edges
+   * repeat the edge pixels.
+   *
+   * @param radius The radius of the square of pixels.
+   * @return A new image with the noise removed.
+   * @throws IllegalArgumentException if the radius is not in [1, MAX_MEDIAN_RADIUS].
+   */
+  public Image median(int radius) throws IllegalArgumentException {
+    if (radius < 1 || radius > MAX_MEDIAN_RADIUS) {
+      throw new IllegalArgumentException("Median radius must be in [1, "
+              + MAX_MEDIAN_RADIUS + "]");
+    }
+    return new Image(MedianFilter.apply(pixels, radius));
   }
 
   /**
@@ -300,32 +859,54 @@ public class Image {
   }
 
   /**
-   * Creates a histogram image representation of the image.
+   * Creates a histogram image representation of the image. The histograms are
+   * computed once, in parallel for large images, and reused by later calls.
    *
-   * @return A new image representing the histogram of the original image.
+   * @return A copy of the red, green and blue histograms of the image.
    */
   public int[][] histogram() {
-    int[] redFrequency = new int[256];
-    int[] greenFrequency = new int[256];
-    int[] blueFrequency = new int[256];
-    int[][] channels = new int[3][256];
+    return getHistogram().getCounts();
+  }
 
-    Pixel[][] pixels = this.getPixels();
-    for (int i = 0; i < pixels.length; i++) {
-      for (int j = 0; j < pixels[i].length; j++) {
-        Pixel pixel = pixels[i][j];
-        redFrequency[pixel.getRed()]++;
-        greenFrequency[pixel.getGreen()]++;
-        blueFrequency[pixel.getBlue()]++;
-      }
+  /**
+   * Gets the histogram of the image. It is counted the first time it is needed,
+   * unless it was derived from the histogram of the image this one was made from.
+   *
+   * @return The histogram kept with the image.
+   */
+  public synchronized Histogram getHistogram() {
+    if (histogram == null) {
+      histogram = new Histogram(HistogramEngine.compute(pixels));
     }
-    channels[0] = redFrequency;
-    channels[1] = greenFrequency;
-    channels[2] = blueFrequency;
-
-    return channels;
+    return histogram;
   }
 
+  /**
+   * Estimates the histograms of the image from a stratified sample of its pixels: one
+   * pixel in every block of a grid whose blocks hold about 1 / fraction pixels. The
+   * histograms are exact if the fraction is 1 or they were already computed.
+   *
+   * @param fraction The fraction of the pixels to sample, greater than 0 and at most 1.
+   * @return The estimated histograms and their error bounds.
+   * @throws IllegalArgumentException if the fraction is not in the allowed range.
+   */
+  public ApproximateHistogram sampleHistogram(double fraction)
+          throws IllegalArgumentException {
+    if (!(fraction > 0 && fraction <= 1)) {
+      throw new IllegalArgumentException("Sample fraction must be in (0, 1]");
+    }
+    int width = pixels.length;
+    int height = pixels[0].length;
+    long total = (long) width * height;
+    int step = (int) Math.round(1 / Math.sqrt(fraction));
+    synchronized (this) {
+      if (step <= 1 || histogram != null) {
+        return new ApproximateHistogram(getHistogram().getCounts(), total, total);
+      }
+    }
+    return new ApproximateHistogram(HistogramEngine.sample(pixels, step),
+            HistogramEngine.sampleSize(width, height, step), total);
+  }
 
   /**
    * Corrects the colors of the image based on a specified correction algorithm.
@@ -337,72 +918,31 @@ public class Image {
   }
 
   /**
-   * Converts an Image to a BufferedImage.
+   * Corrects the colors of the image by shifting each channel so that its meaningful
+   * peak lands on the average peak of the three channels. The shift of each channel
+   * is turned into a lookup table, which is applied to the columns of the image in
+   * parallel and also moves the counts of the histogram.
    *
-   * @param image The Image to convert.
-   * @return The converted BufferedImage.
+   * @return A new image with corrected colors.
    */
-  private BufferedImage convertToBufferedImage(Image image) {
-    Pixel[][] pixels = image.getPixels();
-    int height = pixels.length;
-    int width = pixels[0].length;
-    BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-        Pixel pixel = pixels[y][x];
-        int rgb = (pixel.getRed() << 16) | (pixel.getGreen() << 8) | pixel.getBlue();
-        bufferedImage.setRGB(x, y, rgb);
-      }
-    }
-    return bufferedImage;
-  }
-
   private Image correctColors() {
-    BufferedImage image = convertToBufferedImage(this);
-    int width = image.getWidth();
-    int height = image.getHeight();
-    Pixel[][] pixels = new Pixel[height][width];
-
-    int[] redHistogram = new int[256];
-    int[] greenHistogram = new int[256];
-    int[] blueHistogram = new int[256];
-
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-        int rgb = image.getRGB(x, y);
-        int red = (rgb >> 16) & 0xFF;
-        int green = (rgb >> 8) & 0xFF;
-        int blue = rgb & 0xFF;
-
-        redHistogram[red]++;
-        greenHistogram[green]++;
-        blueHistogram[blue]++;
-      }
-    }
-
-    int redPeak = findMeaningfulPeak(redHistogram);
-    int greenPeak = findMeaningfulPeak(greenHistogram);
-    int bluePeak = findMeaningfulPeak(blueHistogram);
+    int[][] channels = getHistogram().getCounts();
+    int redPeak = findMeaningfulPeak(channels[0]);
+    int greenPeak = findMeaningfulPeak(channels[1]);
+    int bluePeak = findMeaningfulPeak(channels[2]);
 
     int averagePeak = (redPeak + greenPeak + bluePeak) / 3;
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-        int rgb = image.getRGB(x, y);
-        int red = (rgb >> 16) & 0xFF;
-        int green = (rgb >> 8) & 0xFF;
-        int blue = rgb & 0xFF;
-
-        int correctedRed = offsetValue(red, redPeak, averagePeak);
-        int correctedGreen = offsetValue(green, greenPeak, averagePeak);
-        int correctedBlue = offsetValue(blue, bluePeak, averagePeak);
-
-        pixels[y][x] = new Pixel(correctedRed, correctedGreen, correctedBlue);
-      }
+    int[] redTable = new int[256];
+    int[] greenTable = new int[256];
+    int[] blueTable = new int[256];
+    for (int value = 0; value < 256; value++) {
+      redTable[value] = offsetValue(value, redPeak, averagePeak);
+      greenTable[value] = offsetValue(value, greenPeak, averagePeak);
+      blueTable[value] = offsetValue(value, bluePeak, averagePeak);
     }
 
-    return new Image(pixels);
+    return mapped(new int[][]{redTable, greenTable, blueTable});
   }
 
   /**
@@ -455,31 +995,11 @@ public class Image {
    * @return A new image with adjusted levels.
    */
   public Image levelsAdjust(int b, int m, int w) {
-    return adjustLevels(convertToBufferedImage(this), b, m, w);
-  }
-
-
-  private Image adjustLevels(BufferedImage image, int b, int m, int w) {
-    int width = image.getWidth();
-    int height = image.getHeight();
-    Pixel[][] pixels = new Pixel[height][width];
-
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-        int rgb = image.getRGB(x, y);
-        int red = (rgb >> 16) & 0xFF;
-        int green = (rgb >> 8) & 0xFF;
-        int blue = rgb & 0xFF;
-
-        pixels[y][x] = new Pixel(
-                applyLevelAdjustment(red, b, m, w),
-                applyLevelAdjustment(green, b, m, w),
-                applyLevelAdjustment(blue, b, m, w)
-        );
-      }
+    int[] table = new int[256];
+    for (int value = 0; value < 256; value++) {
+      table[value] = clamp(applyLevelAdjustment(value, b, m, w));
     }
-
-    return new Image(pixels);
+    return mapped(new int[][]{table, table, table});
   }
 
   /**
@@ -580,10 +1100,12 @@ public class Image {
     HaarWaveletTransform haarWaveletTransform = new HaarWaveletTransform();
 
     for (int i = 0; i < channels.length; i++) {
+      Progress.report(i, 2 * channels.length);
       channels[i] = haarWaveletTransform.haar(channels[i]);
     }
     double threshold = haarWaveletTransform.calculateThreshold(channels, percentage);
     for (int i = 0; i < channels.length; i++) {
+      Progress.report(channels.length + i, 2 * channels.length);
       channels[i] = this.filter(channels[i], threshold);
       channels[i] = haarWaveletTransform.inverseHaar(channels[i], width, height);
     }
@@ -630,7 +1152,7 @@ public class Image {
         int red = (int) channels[0][i][j];
         int green = (int) channels[1][i][j];
         int blue = (int) channels[2][i][j];
-        compressedPixels[i][j] = new Pixel(red, green, blue);
+        compressedPixels[i][j] = Pixel.of(red, green, blue);
       }
     }
     return new Image(compressedPixels);
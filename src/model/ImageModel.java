@@ -1,13 +1,18 @@
 package model;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import model.strategy.ColorCorrectionStrategy;
+import model.strategy.ColorMatrixStrategy;
+import model.strategy.ConvolutionStrategy;
 import model.strategy.IntensityStrategy;
 import model.strategy.LevelAdjustmentStrategy;
 import model.strategy.LumaStrategy;
+import model.strategy.MedianStrategy;
 import model.strategy.SharpenStrategy;
 import model.strategy.SplitDecorator;
 import model.strategy.SplitStrategy;
@@ -22,12 +27,24 @@ import model.strategy.ValueStrategy;
 public class ImageModel implements ImageModelInterface {
 
   private final Map<String, Image> imageMap;
+  private final ResultCache cache;
 
   /**
    * Constructs an ImageModel object, initializing an empty map to store images.
    */
   public ImageModel() {
+    this(null);
+  }
+
+  /**
+   * Constructs an ImageModel object that reuses the results of previous operations
+   * stored in the given cache.
+   *
+   * @param cache The cache for operation results, or null to always recompute them.
+   */
+  public ImageModel(ResultCache cache) {
     this.imageMap = new HashMap<>();
+    this.cache = cache;
   }
 
 
@@ -57,7 +74,7 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    Image newImage = image.redComponent();
+    Image newImage = apply(image, image::redComponent, "red-component");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -75,7 +92,7 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    Image newImage = image.greenComponent();
+    Image newImage = apply(image, image::greenComponent, "green-component");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -93,7 +110,7 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    Image newImage = image.blueComponent();
+    Image newImage = apply(image, image::blueComponent, "blue-component");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -112,13 +129,8 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    SplitStrategy valueStrategy = new ValueStrategy();
-
-    if (splitPercentage.isPresent()) {
-      valueStrategy = new SplitDecorator(valueStrategy, splitPercentage.get());
-    }
-
-    Image newImage = image.applyFilter(valueStrategy);
+    Image newImage = applySplitFilter(image, new ValueStrategy(), splitPercentage,
+            "value-component");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -138,13 +150,8 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    SplitStrategy intensityStrategy = new IntensityStrategy();
-
-    if (splitPercentage.isPresent()) {
-      intensityStrategy = new SplitDecorator(intensityStrategy, splitPercentage.get());
-    }
-
-    Image newImage = image.applyFilter(intensityStrategy);
+    Image newImage = applySplitFilter(image, new IntensityStrategy(), splitPercentage,
+            "intensity-component");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -165,13 +172,7 @@ public class ImageModel implements ImageModelInterface {
     }
 
     Image image = this.imageMap.get(imageName);
-    SplitStrategy lumaStrategy = new LumaStrategy();
-
-    if (splitPercentage.isPresent()) {
-      lumaStrategy = new SplitDecorator(lumaStrategy, splitPercentage.get());
-    }
-
-    Image newImage = image.applyFilter(lumaStrategy);
+    Image newImage = applySplitFilter(image, new LumaStrategy(), splitPercentage, "luma-component");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -191,7 +192,7 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    Image newImage = image.brighten(increment);
+    Image newImage = apply(image, () -> image.brighten(increment), "brighten", increment);
     this.addImage(destinationImageName, newImage);
   }
 
@@ -245,7 +246,7 @@ public class ImageModel implements ImageModelInterface {
         int green = imageGreenPixel.getGreen();
         int blue = imageBluePixel.getBlue();
 
-        Pixel destPixel = new Pixel(red, green, blue);
+        Pixel destPixel = Pixel.of(red, green, blue);
         pixels[x][y] = destPixel;
       }
     }
@@ -267,13 +268,28 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    SplitStrategy blurStrategy = new BlurStrategy();
+    Image newImage = applySplitFilter(image, new BlurStrategy(), splitPercentage, "blur");
+    this.addImage(destinationImageName, newImage);
+  }
 
-    if (splitPercentage.isPresent()) {
-      blurStrategy = new SplitDecorator(blurStrategy, splitPercentage.get());
+  /**
+   * Applies a Gaussian blur of the given standard deviation to the image.
+   *
+   * @param sigma                The standard deviation of the Gaussian in pixels.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image where
+   *                             the blurred image will be stored.
+   * @param splitPercentage      a percentage value for splitting the image.
+   */
+  @Override
+  public void blurCommand(double sigma, String imageName, String destinationImageName,
+                          Optional<Double> splitPercentage) {
+    if (!imageExists(imageName)) {
+      throw new IllegalArgumentException("Image does not exist!");
     }
-
-    Image newImage = image.applyFilter(blurStrategy);
+    Image image = this.imageMap.get(imageName);
+    Image newImage = applySplitFilter(image, new BlurStrategy(sigma), splitPercentage, "blur",
+            sigma);
     this.addImage(destinationImageName, newImage);
   }
 
@@ -293,12 +309,7 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    SplitStrategy sharpenStrategy = new SharpenStrategy();
-
-    if (splitPercentage.isPresent()) {
-      sharpenStrategy = new SplitDecorator(sharpenStrategy, splitPercentage.get());
-    }
-    Image newImage = image.applyFilter(sharpenStrategy);
+    Image newImage = applySplitFilter(image, new SharpenStrategy(), splitPercentage, "sharpen");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -317,13 +328,7 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    SplitStrategy sepiaStrategy = new SepiaStrategy();
-
-    if (splitPercentage.isPresent()) {
-      sepiaStrategy = new SplitDecorator(sepiaStrategy, splitPercentage.get());
-    }
-
-    Image newImage = image.applyFilter(sepiaStrategy);
+    Image newImage = applySplitFilter(image, new SepiaStrategy(), splitPercentage, "sepia");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -341,7 +346,7 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    Image newImage = image.verticalFlip();
+    Image newImage = apply(image, image::verticalFlip, "vertical-flip");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -358,10 +363,32 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    Image newImage = image.horizontalFlip();
+    Image newImage = apply(image, image::horizontalFlip, "horizontal-flip");
     this.addImage(destinationImageName, newImage);
   }
 
+  /**
+   * Reduces the specified image to fit within the given size and stores the result
+   * in the destination image. The reduced image is kept with its source, so reducing
+   * the same image again returns it without recomputing.
+   *
+   * @param imageName            The name of the source image to be reduced.
+   * @param destinationImageName The name of the destination image where the reduced
+   *                             image will be stored.
+   * @param maxWidth             The largest width of the reduced image.
+   * @param maxHeight            The largest height of the reduced image.
+   */
+  @Override
+  public void downscaleCommand(String imageName, String destinationImageName, int maxWidth,
+                               int maxHeight) {
+    if (!imageExists(imageName)) {
+      throw new IllegalArgumentException("Image does not exist!");
+    }
+    this.addImage(destinationImageName,
+            this.imageMap.get(imageName).downscale(maxWidth, maxHeight));
+  }
+
+
   /**
    * Splits an image into its RGB components and stores them as separate images in the model.
    *
@@ -398,13 +425,15 @@ public class ImageModel implements ImageModelInterface {
     }
 
     Image image = this.imageMap.get(imageName);
-    Image compressedImage = image.compress(percentage);
+    Image compressedImage = apply(image, () -> image.compress(percentage), "compress",
+            percentage);
     this.addImage(destinationImageName, compressedImage);
   }
 
   /**
    * Displays the histogram of the specified image and stores the result
-   * in the destination image.
+   * in the destination image. The counts are those of the histogram kept with the
+   * image, which is only counted from its pixels if it was not derived already.
    *
    * @param imageName            The name of the source image.
    * @param destinationImageName The name of the destination image where
@@ -435,13 +464,8 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Image does not exist!");
     }
     Image image = this.imageMap.get(imageName);
-    SplitStrategy colorCorrectionStrategy = new ColorCorrectionStrategy();
-
-    if (splitPercentage.isPresent()) {
-      colorCorrectionStrategy = new SplitDecorator(colorCorrectionStrategy, splitPercentage.get());
-    }
-
-    Image newImage = image.applyFilter(colorCorrectionStrategy);
+    Image newImage = applySplitFilter(image, new ColorCorrectionStrategy(), splitPercentage,
+            "color-correct");
     this.addImage(destinationImageName, newImage);
   }
 
@@ -468,16 +492,81 @@ public class ImageModel implements ImageModelInterface {
       throw new IllegalArgumentException("Enter valid values for b, m and w");
     }
     Image image = this.imageMap.get(imageName);
-    SplitStrategy levelAdjustmentStrategy = new LevelAdjustmentStrategy(b, m, w);
+    Image newImage = applySplitFilter(image, new LevelAdjustmentStrategy(b, m, w), splitPercentage,
+            "levels-adjust", b, m, w);
+    this.addImage(destinationImageName, newImage);
+  }
 
-    if (splitPercentage.isPresent()) {
-      levelAdjustmentStrategy = new SplitDecorator(levelAdjustmentStrategy, splitPercentage.get());
+  /**
+   * Transforms the colors of the specified image by a color matrix and stores the
+   * result in the destination image with the specified split percentage.
+   *
+   * @param matrix               The color matrix.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image where
+   *                             the transformed image will be stored.
+   * @param splitPercentage      A percentage value for splitting the image.
+   */
+  @Override
+  public void colorMatrixCommand(ColorMatrix matrix, String imageName,
+                                 String destinationImageName,
+                                 Optional<Double> splitPercentage) {
+    if (!imageExists(imageName)) {
+      throw new IllegalArgumentException("Image does not exist!");
+    }
+    Image image = this.imageMap.get(imageName);
+    Image newImage = applySplitFilter(image, new ColorMatrixStrategy(matrix), splitPercentage,
+            "color-matrix", matrix);
+    this.addImage(destinationImageName, newImage);
+  }
+
+  /**
+   * Convolves the specified image with a kernel and stores the result in the
+   * destination image with the specified split percentage.
+   *
+   * @param kernel               The convolution kernel.
+   * @param border               How the pixels beyond the edges of the image are read.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image where
+   *                             the convolved image will be stored.
+   * @param splitPercentage      A percentage value for splitting the image.
+   */
+  @Override
+  public void convolveCommand(Kernel kernel, BorderMode border, String imageName,
+                              String destinationImageName, Optional<Double> splitPercentage) {
+    if (!imageExists(imageName)) {
+      throw new IllegalArgumentException("Image does not exist!");
     }
+    Image image = this.imageMap.get(imageName);
+    Image newImage = applySplitFilter(image, new ConvolutionStrategy(kernel, border),
+            splitPercentage, "convolve", kernel, border);
+    this.addImage(destinationImageName, newImage);
+  }
 
-    Image newImage = image.applyFilter(levelAdjustmentStrategy);
+  /**
+   * Removes noise from the specified image with a median filter of the given radius and
+   * stores the result in the destination image with the specified split percentage.
+   *
+   * @param radius               The radius of the square of pixels the median is taken
+   *                             over.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image where
+   *                             the filtered image will be stored.
+   * @param splitPercentage      A percentage value for splitting the image.
+   */
+  @Override
+  public void medianCommand(int radius, String imageName, String destinationImageName,
+                            Optional<Double> splitPercentage) {
+    if (!imageExists(imageName)) {
+      throw new IllegalArgumentException("Image does not exist!");
+    }
+    Image image = this.imageMap.get(imageName);
+    Image newImage = applySplitFilter(image, new MedianStrategy(radius), splitPercentage,
+            "median", radius);
     this.addImage(destinationImageName, newImage);
   }
 
+
   /**
    * Checks whether an image with the specified name exists in the image map.
    *
@@ -500,4 +589,61 @@ public class ImageModel implements ImageModelInterface {
     return this.imageMap.get(imageName);
   }
 
+  /**
+   * Applies an operation to the given image. When the model has a cache, the result
+   * of the same operation on an image with the same content is reused instead of
+   * being recomputed.
+   *
+   * @param image      The source image.
+   * @param operation  The operation producing the new image.
+   * @param name       The name of the operation.
+   * @param parameters The parameters of the operation.
+   * @return The resulting image.
+   */
+  private Image apply(Image image, Supplier<Image> operation, String name,
+                      Object... parameters) {
+    if (cache == null) {
+      return compute(operation, name);
+    }
+    String key = ResultCache.key(image, name, parameters);
+    Image result = cache.get(key);
+    if (result == null) {
+      result = compute(operation, name);
+      cache.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Runs an operation, tracing it as a filter span when a trace is recorded.
+   *
+   * @param operation The operation producing the new image.
+   * @param name      The name of the operation.
+   * @return The resulting image.
+   */
+  private Image compute(Supplier<Image> operation, String name) {
+    return Tracer.span("filter", name, operation::get);
+  }
+
+  /**
+   * Applies a strategy to the given image, restricted to the split percentage
+   * of the image when one is specified.
+   *
+   * @param image           The source image.
+   * @param strategy        The strategy to be applied.
+   * @param splitPercentage The percentage of the image to apply the strategy on.
+   * @param name            The name of the operation.
+   * @param parameters      The parameters of the strategy.
+   * @return The resulting image.
+   */
+  private Image applySplitFilter(Image image, SplitStrategy strategy,
+                                 Optional<Double> splitPercentage, String name,
+                                 Object... parameters) {
+    SplitStrategy filter = splitPercentage.isPresent()
+            ? new SplitDecorator(strategy, splitPercentage.get()) : strategy;
+    Object[] key = Arrays.copyOf(parameters, parameters.length + 1);
+    key[parameters.length] = splitPercentage.orElse(100.0);
+    return apply(image, () -> image.applyFilter(filter), name, key);
+  }
+
 }
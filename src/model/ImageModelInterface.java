@@ -116,6 +116,18 @@ public interface ImageModelInterface {
   void blurCommand(String imageName, String destinationImageName,
                    Optional<Double> splitPercentage);
 
+  /**
+   * Applies a Gaussian blur of the given standard deviation to the image.
+   *
+   * @param sigma                The standard deviation of the Gaussian in pixels.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image where
+   *                             the blurred image will be stored.
+   * @param splitPercentage      a percentage value for splitting the image.
+   */
+  void blurCommand(double sigma, String imageName, String destinationImageName,
+                   Optional<Double> splitPercentage);
+
   /**
    * Applies a sharpening filter to the image, creating a new image with enhanced sharpness.
    *
@@ -157,6 +169,19 @@ public interface ImageModelInterface {
    */
   void horizontalFlipCommand(String imageName, String destinationImageName);
 
+  /**
+   * Reduces the specified image to fit within the given size and stores the result
+   * in the destination image.
+   *
+   * @param imageName            The name of the source image to be reduced.
+   * @param destinationImageName The name of the destination image where the reduced
+   *                             image will be stored.
+   * @param maxWidth             The largest width of the reduced image.
+   * @param maxHeight            The largest height of the reduced image.
+   */
+  void downscaleCommand(String imageName, String destinationImageName, int maxWidth,
+                        int maxHeight);
+
   /**
    * Checks whether an image with the specified name exists in the image map.
    *
@@ -231,4 +256,45 @@ public interface ImageModelInterface {
    */
   void levelsAdjustmentCommand(int b, int m, int w, String imageName,
                                String destinationImageName, Optional<Double> splitPercentage);
+
+  /**
+   * Transforms the colors of the specified image by a color matrix and stores the
+   * result in the destination image with the specified split percentage.
+   *
+   * @param matrix               The color matrix.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image where
+   *                             the transformed image will be stored.
+   * @param splitPercentage      An optional percentage value for splitting the image.
+   */
+  void colorMatrixCommand(ColorMatrix matrix, String imageName, String destinationImageName,
+                          Optional<Double> splitPercentage);
+
+  /**
+   * Convolves the specified image with a kernel and stores the result in the
+   * destination image with the specified split percentage.
+   *
+   * @param kernel               The convolution kernel.
+   * @param border               How the pixels beyond the edges of the image are read.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image where
+   *                             the convolved image will be stored.
+   * @param splitPercentage      A percentage value for splitting the image.
+   */
+  void convolveCommand(Kernel kernel, BorderMode border, String imageName,
+                       String destinationImageName, Optional<Double> splitPercentage);
+
+  /**
+   * Removes noise from the specified image with a median filter of the given radius and
+   * stores the result in the destination image with the specified split percentage.
+   *
+   * @param radius               The radius of the square of pixels the median is taken
+   *                             over.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image where
+   *                             the filtered image will be stored.
+   * @param splitPercentage      A percentage value for splitting the image.
+   */
+  void medianCommand(int radius, String imageName, String destinationImageName,
+                     Optional<Double> splitPercentage);
 }
@@ -0,0 +1,284 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Kernel class represents the weights of a convolution: every pixel of the result
+ * is the weighted sum of the pixels around it, with the center of the kernel on the
+ * pixel itself. A kernel whose weights are the product of a column and a row of
+ * weights, such as a Gaussian or a Sobel kernel, is separable and is applied as two
+ * one-dimensional passes, which reads k + k pixels per result instead of k * k. The
+ * kernel is found separable when its largest singular value holds all of its energy,
+ * that is, when its matrix has rank one.
+ */
+public class Kernel {
+
+  /**
+   * The 3x3 blur kernel.
+   */
+  public static final Kernel BLUR = new Kernel(new double[][]{
+      {1.0 / 16, 1.0 / 8, 1.0 / 16},
+      {1.0 / 8, 1.0 / 4, 1.0 / 8},
+      {1.0 / 16, 1.0 / 8, 1.0 / 16}});
+
+  /**
+   * The 5x5 sharpening kernel.
+   */
+  public static final Kernel SHARPEN = new Kernel(new double[][]{
+      {-1.0 / 8, -1.0 / 8, -1.0 / 8, -1.0 / 8, -1.0 / 8},
+      {-1.0 / 8, 1.0 / 4, 1.0 / 4, 1.0 / 4, -1.0 / 8},
+      {-1.0 / 8, 1.0 / 4, 1, 1.0 / 4, -1.0 / 8},
+      {-1.0 / 8, 1.0 / 4, 1.0 / 4, 1.0 / 4, -1.0 / 8},
+      {-1.0 / 8, -1.0 / 8, -1.0 / 8, -1.0 / 8, -1.0 / 8}});
+
+  private static final double RANK_TOLERANCE = 1e-12;
+  private static final int POWER_ITERATIONS = 100;
+
+  private final double[][] weights;
+  private final double[] columnFactor;
+  private final double[] rowFactor;
+
+  /**
+   * Constructs a Kernel from its rows of weights, from top to bottom.
+   *
+   * @param weights The rows of weights, all of the same odd length and odd in number.
+   * @throws IllegalArgumentException if the weights are not an odd number of rows of
+   *                                  the same odd length, or a weight is not finite.
+   */
+  public Kernel(double[][] weights) throws IllegalArgumentException {
+    if (weights == null || weights.length % 2 == 0 || weights[0] == null
+            || weights[0].length % 2 == 0) {
+      throw new IllegalArgumentException("Kernel must have an odd number of rows and columns");
+    }
+    this.weights = new double[weights.length][];
+    for (int row = 0; row < weights.length; row++) {
+      if (weights[row] == null || weights[row].length != weights[0].length) {
+        throw new IllegalArgumentException("Kernel rows must have the same length");
+      }
+      for (double weight : weights[row]) {
+        if (!Double.isFinite(weight)) {
+          throw new IllegalArgumentException("Invalid kernel weight: " + weight);
+        }
+      }
+      this.weights[row] = weights[row].clone();
+    }
+
+    if (isRankOne(this.weights)) {
+      int pivotRow = 0;
+      int pivotColumn = 0;
+      for (int row = 0; row < getHeight(); row++) {
+        for (int column = 0; column < getWidth(); column++) {
+          if (Math.abs(this.weights[row][column])
+                  > Math.abs(this.weights[pivotRow][pivotColumn])) {
+            pivotRow = row;
+            pivotColumn = column;
+          }
+        }
+      }
+      double pivot = this.weights[pivotRow][pivotColumn];
+      this.columnFactor = new double[getHeight()];
+      this.rowFactor = new double[getWidth()];
+      for (int row = 0; row < getHeight(); row++) {
+        columnFactor[row] = this.weights[row][pivotColumn];
+      }
+      for (int column = 0; column < getWidth(); column++) {
+        rowFactor[column] = this.weights[pivotRow][column] / pivot;
+      }
+    } else {
+      this.columnFactor = null;
+      this.rowFactor = null;
+    }
+  }
+
+  /**
+   * Parses a kernel written as lines of weights separated by spaces or commas, one
+   * line for each row. Empty lines and lines starting with '#' are skipped.
+   *
+   * @param lines The lines of the kernel.
+   * @return The parsed kernel.
+   * @throws IllegalArgumentException if a weight cannot be parsed or the kernel is not
+   *                                  valid.
+   */
+  public static Kernel parse(List<String> lines) throws IllegalArgumentException {
+    List<double[]> rows = new ArrayList<>();
+    for (String line : lines) {
+      String trimmed = line.trim();
+      if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+        continue;
+      }
+      String[] values = trimmed.split("[\\s,]+");
+      double[] row = new double[values.length];
+      for (int column = 0; column < values.length; column++) {
+        try {
+          row[column] = Double.parseDouble(values[column]);
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid kernel weight: " + values[column]);
+        }
+      }
+      rows.add(row);
+    }
+    if (rows.isEmpty()) {
+      throw new IllegalArgumentException("Kernel has no weights");
+    }
+    return new Kernel(rows.toArray(new double[0][]));
+  }
+
+  /**
+   * Checks whether a matrix has rank one by comparing the square of its largest
+   * singular value, found by power iteration, with the sum of the squares of all its
+   * singular values, which is the sum of the squares of its entries. A matrix of zeros
+   * has rank zero and no weight to factor the others by, so it is not separable.
+   *
+   * @param matrix The matrix.
+   * @return True if the matrix is the product of a column and a nonzero row, false
+   *         otherwise.
+   */
+  private static boolean isRankOne(double[][] matrix) {
+    int columns = matrix[0].length;
+    double energy = 0;
+    double[] vector = matrix[0];
+    double largestRow = -1;
+    for (double[] row : matrix) {
+      double norm = 0;
+      for (double weight : row) {
+        norm += weight * weight;
+      }
+      energy += norm;
+      if (norm > largestRow) {
+        largestRow = norm;
+        vector = row;
+      }
+    }
+    if (energy == 0) {
+      return false;
+    }
+
+    double[] right = vector.clone();
+    double singularSquared = 0;
+    for (int iteration = 0; iteration < POWER_ITERATIONS; iteration++) {
+      double[] left = new double[matrix.length];
+      double leftNorm = 0;
+      for (int row = 0; row < matrix.length; row++) {
+        for (int column = 0; column < columns; column++) {
+          left[row] += matrix[row][column] * right[column];
+        }
+        leftNorm += left[row] * left[row];
+      }
+      double rightNorm = 0;
+      for (double value : right) {
+        rightNorm += value * value;
+      }
+      double previous = singularSquared;
+      singularSquared = leftNorm / rightNorm;
+      if (energy - singularSquared <= RANK_TOLERANCE * energy) {
+        return true;
+      }
+      if (iteration > 0 && singularSquared - previous <= RANK_TOLERANCE * energy) {
+        return false;
+      }
+      double[] next = new double[columns];
+      for (int row = 0; row < matrix.length; row++) {
+        for (int column = 0; column < columns; column++) {
+          next[column] += matrix[row][column] * left[row];
+        }
+      }
+      right = next;
+    }
+    return false;
+  }
+
+  /**
+   * Gets the number of columns of the kernel.
+   *
+   * @return The width of the kernel.
+   */
+  public int getWidth() {
+    return weights[0].length;
+  }
+
+  /**
+   * Gets the number of rows of the kernel.
+   *
+   * @return The height of the kernel.
+   */
+  public int getHeight() {
+    return weights.length;
+  }
+
+  /**
+   * Gets the weights of the kernel.
+   *
+   * @return A copy of the rows of weights.
+   */
+  public double[][] getWeights() {
+    double[][] copy = new double[weights.length][];
+    for (int row = 0; row < weights.length; row++) {
+      copy[row] = weights[row].clone();
+    }
+    return copy;
+  }
+
+  /**
+   * Checks whether the kernel is the product of a column and a row of weights, in which
+   * case it is applied as two one-dimensional passes.
+   *
+   * @return True if the kernel is separable, false otherwise.
+   */
+  public boolean isSeparable() {
+    return columnFactor != null;
+  }
+
+  /**
+   * Gets the weights of the rows of the kernel when it is separable.
+   *
+   * @return The shared column of weights, which must not be modified, or null if the
+   *         kernel is not separable.
+   */
+  double[] columnFactor() {
+    return columnFactor;
+  }
+
+  /**
+   * Gets the weights of the columns of the kernel when it is separable. The weight of a
+   * row and column is the product of the column factor of the row and the row factor
+   * of the column.
+   *
+   * @return The shared row of weights, which must not be modified, or null if the
+   *         kernel is not separable.
+   */
+  double[] rowFactor() {
+    return rowFactor;
+  }
+
+  /**
+   * Gets the shared weights of the kernel.
+   *
+   * @return The rows of weights, which must not be modified.
+   */
+  double[][] weights() {
+    return weights;
+  }
+
+  /**
+   * Writes the kernel as its rows of comma separated weights, separated by semicolons.
+   *
+   * @return The kernel as text.
+   */
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder();
+    for (int row = 0; row < weights.length; row++) {
+      if (row > 0) {
+        text.append(';');
+      }
+      for (int column = 0; column < weights[row].length; column++) {
+        if (column > 0) {
+          text.append(',');
+        }
+        text.append(weights[row][column]);
+      }
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,222 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The MedianFilter class replaces each component of every pixel of an image by the
+ * median of that component over the square of pixels within a radius of it, which
+ * removes salt and pepper noise while keeping edges sharp. Pixels beyond the edges
+ * repeat the edge pixels.
+ *
+ * <p>The filter keeps the histograms of sliding windows rather than sorting every
+ * square, so its cost per pixel does not depend on the radius. Every row keeps the
+ * histogram of the pixels of the row within the radius of the current column; moving
+ * to the next column removes one pixel from each row histogram and adds another. The
+ * histogram of the square is the sum of the histograms of its rows, and moving down a
+ * row adds the histogram of the row entering the square and subtracts the one leaving
+ * it. Each histogram is kept at two levels, 16 coarse bins over 256 fine ones: the
+ * coarse bins of the square are always up to date and locate the median, and only the
+ * fine bins of the coarse bin holding it are brought up to date. Images are divided
+ * into tiles of columns that are filtered in parallel.
+ */
+final class MedianFilter {
+
+  private static final int BINS = 256;
+  private static final int COARSE_BINS = 16;
+  private static final int FINE_PER_COARSE = BINS / COARSE_BINS;
+  private static final int MIN_TILE_WIDTH = 64;
+
+  /**
+   * Prevents instantiation of this class.
+   */
+  private MedianFilter() {
+  }
+
+  /**
+   * Filters an image with a median of the given radius.
+   *
+   * @param pixels The pixels of the image.
+   * @param radius The radius of the square of pixels, at least 1.
+   * @return The filtered pixels.
+   */
+  static Pixel[][] apply(Pixel[][] pixels, int radius) {
+    int width = pixels.length;
+    int height = pixels[0].length;
+    int tileWidth = Math.max(MIN_TILE_WIDTH, 2 * (2 * radius + 1));
+    int tiles = (width + tileWidth - 1) / tileWidth;
+    Pixel[][] filtered = new Pixel[width][];
+    Parallel.tiles(tiles, (long) width * height, tile -> filterTile(pixels, radius,
+            tile * tileWidth, Math.min(width, (tile + 1) * tileWidth), filtered));
+    return filtered;
+  }
+
+  /**
+   * Filters a tile of adjacent columns, setting up the row histograms for its first
+   * column and sliding them across the others.
+   *
+   * @param pixels   The pixels of the image.
+   * @param radius   The radius of the square of pixels.
+   * @param start    The index of the first column of the tile.
+   * @param end      The index after the last column of the tile.
+   * @param filtered The columns of the filtered image, set for the tile.
+   */
+  private static void filterTile(Pixel[][] pixels, int radius, int start, int end,
+                                 Pixel[][] filtered) {
+    int width = pixels.length;
+    int height = pixels[0].length;
+    int[][] fine = new int[3][height * BINS];
+    int[][] coarse = new int[3][height * COARSE_BINS];
+    for (int offset = -radius; offset <= radius; offset++) {
+      addColumn(pixels[clamp(start + offset, width)], fine, coarse, 1);
+    }
+
+    int[][] medians = new int[3][height];
+    int[] squareFine = new int[BINS];
+    int[] squareCoarse = new int[COARSE_BINS];
+    int[] updated = new int[COARSE_BINS];
+    for (int x = start; x < end; x++) {
+      if (x > start) {
+        addColumn(pixels[clamp(x - radius - 1, width)], fine, coarse, -1);
+        addColumn(pixels[clamp(x + radius, width)], fine, coarse, 1);
+      }
+      for (int channel = 0; channel < 3; channel++) {
+        medianColumn(fine[channel], coarse[channel], radius, medians[channel], squareFine,
+                squareCoarse, updated);
+      }
+      Pixel[] column = new Pixel[height];
+      for (int y = 0; y < height; y++) {
+        column[y] = Pixel.of(medians[0][y], medians[1][y], medians[2][y]);
+      }
+      filtered[x] = column;
+    }
+  }
+
+  /**
+   * Adds the pixels of a column to the row histograms, or removes them.
+   *
+   * @param column The pixels of the column.
+   * @param fine   The fine row histograms of each channel.
+   * @param coarse The coarse row histograms of each channel.
+   * @param delta  1 to add the pixels, -1 to remove them.
+   */
+  private static void addColumn(Pixel[] column, int[][] fine, int[][] coarse, int delta) {
+    for (int y = 0; y < column.length; y++) {
+      Pixel pixel = column[y];
+      int red = pixel.getRed();
+      int green = pixel.getGreen();
+      int blue = pixel.getBlue();
+      fine[0][y * BINS + red] += delta;
+      fine[1][y * BINS + green] += delta;
+      fine[2][y * BINS + blue] += delta;
+      coarse[0][y * COARSE_BINS + red / FINE_PER_COARSE] += delta;
+      coarse[1][y * COARSE_BINS + green / FINE_PER_COARSE] += delta;
+      coarse[2][y * COARSE_BINS + blue / FINE_PER_COARSE] += delta;
+    }
+  }
+
+  /**
+   * Finds the median of one channel for every row of a column, sliding the histogram
+   * of the square down the column.
+   *
+   * @param fine         The fine row histograms of the channel.
+   * @param coarse       The coarse row histograms of the channel.
+   * @param radius       The radius of the square of pixels.
+   * @param medians      The array receiving the median of every row.
+   * @param squareFine   The fine histogram of the square, brought up to date per coarse
+   *                     bin.
+   * @param squareCoarse The coarse histogram of the square.
+   * @param updated      The row each coarse bin of the fine histogram is up to date for.
+   */
+  private static void medianColumn(int[] fine, int[] coarse, int radius, int[] medians,
+                                   int[] squareFine, int[] squareCoarse, int[] updated) {
+    int height = medians.length;
+    int size = 2 * radius + 1;
+    int rank = size * size / 2;
+    Arrays.fill(squareCoarse, 0);
+    Arrays.fill(updated, -size);
+    for (int offset = -radius; offset <= radius; offset++) {
+      int row = clamp(offset, height) * COARSE_BINS;
+      for (int bin = 0; bin < COARSE_BINS; bin++) {
+        squareCoarse[bin] += coarse[row + bin];
+      }
+    }
+
+    for (int y = 0; y < height; y++) {
+      if (y > 0) {
+        int added = clamp(y + radius, height) * COARSE_BINS;
+        int removed = clamp(y - radius - 1, height) * COARSE_BINS;
+        if (added != removed) {
+          for (int bin = 0; bin < COARSE_BINS; bin++) {
+            squareCoarse[bin] += coarse[added + bin] - coarse[removed + bin];
+          }
+        }
+      }
+      int bin = 0;
+      int below = 0;
+      while (below + squareCoarse[bin] <= rank) {
+        below += squareCoarse[bin];
+        bin++;
+      }
+      updateFine(fine, radius, y, bin, squareFine, updated);
+      int value = bin * FINE_PER_COARSE;
+      while (below + squareFine[value] <= rank) {
+        below += squareFine[value];
+        value++;
+      }
+      medians[y] = value;
+    }
+  }
+
+  /**
+   * Brings the fine bins of one coarse bin of the histogram of the square up to date
+   * for a row, either by sliding them over the rows passed since they were last
+   * updated or, if that is more work, by summing them again over the square.
+   *
+   * @param fine       The fine row histograms of the channel.
+   * @param radius     The radius of the square of pixels.
+   * @param y          The row of the center of the square.
+   * @param bin        The coarse bin whose fine bins are needed.
+   * @param squareFine The fine histogram of the square.
+   * @param updated    The row each coarse bin of the fine histogram is up to date for.
+   */
+  private static void updateFine(int[] fine, int radius, int y, int bin, int[] squareFine,
+                                 int[] updated) {
+    int last = updated[bin];
+    if (last == y) {
+      return;
+    }
+    int height = fine.length / BINS;
+    int first = bin * FINE_PER_COARSE;
+    if (2 * (y - last) > 2 * radius + 1) {
+      Arrays.fill(squareFine, first, first + FINE_PER_COARSE, 0);
+      for (int offset = -radius; offset <= radius; offset++) {
+        int row = clamp(y + offset, height) * BINS + first;
+        for (int i = 0; i < FINE_PER_COARSE; i++) {
+          squareFine[first + i] += fine[row + i];
+        }
+      }
+    } else {
+      for (int step = last + 1; step <= y; step++) {
+        int added = clamp(step + radius, height) * BINS + first;
+        int removed = clamp(step - radius - 1, height) * BINS + first;
+        if (added != removed) {
+          for (int i = 0; i < FINE_PER_COARSE; i++) {
+            squareFine[first + i] += fine[added + i] - fine[removed + i];
+          }
+        }
+      }
+    }
+    updated[bin] = y;
+  }
+
+  /**
+   * Clamps a position to the pixels of a row or column.
+   *
+   * @param position The position, which may be beyond either end.
+   * @param length   The number of pixels.
+   * @return The position of the nearest pixel.
+   */
+  private static int clamp(int position, int length) {
+    return Math.max(0, Math.min(length - 1, position));
+  }
+}
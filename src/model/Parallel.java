@@ -0,0 +1,202 @@
+package model;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * The Parallel class runs the columns of an image operation on the threads of the
+ * common fork-join pool. Columns are handed out in stripes and larger tiles one at a
+ * time, and the calling thread reports the progress of the operation and abandons it
+ * when it is interrupted, as the sequential loops of the operations do. The CPU time
+ * and allocations of the stripes run by pool threads are added to the ThreadUsage of
+ * the calling thread. Small images are processed on the calling thread alone.
+ */
+final class Parallel {
+
+  private static final int STRIPE_WIDTH = 16;
+  private static final long PARALLEL_THRESHOLD = 1L << 16;
+  private static final long REPORT_MILLIS = 20;
+
+  /**
+   * Prevents instantiation of this class.
+   */
+  private Parallel() {
+  }
+
+  /**
+   * The processing of a stripe of adjacent columns.
+   */
+  interface Stripe {
+    /**
+     * Processes the columns of a stripe.
+     *
+     * @param start The index of the first column of the stripe.
+     * @param end   The index after the last column of the stripe.
+     */
+    void accept(int start, int end);
+  }
+
+  /**
+   * Processes every column of an image, in parallel if the image is large enough.
+   * Each column must be processed independently of the others.
+   *
+   * @param width  The width of the image.
+   * @param height The height of the image.
+   * @param column The processing of one column, given its index.
+   * @throws CancellationException if the calling thread is interrupted.
+   */
+  static void columns(int width, int height, IntConsumer column)
+          throws CancellationException {
+    if (isSequential((long) width * height)) {
+      for (int x = 0; x < width; x++) {
+        Progress.report(x, width);
+        column.accept(x);
+      }
+      return;
+    }
+    run(width, STRIPE_WIDTH, (start, end) -> {
+      for (int x = start; x < end; x++) {
+        column.accept(x);
+      }
+    });
+  }
+
+  /**
+   * Processes the tiles of an image, in parallel if the image is large enough. Unlike
+   * columns, each tile is a task of its own, so that an operation dividing the image
+   * into a few large tiles, such as bands of rows or groups of columns, still shares
+   * them between the threads. Each tile must be processed independently of the others.
+   *
+   * @param tiles  The number of tiles.
+   * @param pixels The number of pixels of the image.
+   * @param tile   The processing of one tile, given its index.
+   * @throws CancellationException if the calling thread is interrupted.
+   */
+  static void tiles(int tiles, long pixels, IntConsumer tile) throws CancellationException {
+    if (isSequential(pixels)) {
+      for (int index = 0; index < tiles; index++) {
+        Progress.report(index, tiles);
+        tile.accept(index);
+      }
+      return;
+    }
+    run(tiles, 1, (start, end) -> {
+      for (int index = start; index < end; index++) {
+        tile.accept(index);
+      }
+    });
+  }
+
+  /**
+   * Processes the columns of an image in stripes of adjacent columns, in parallel if
+   * the image is large enough, so that an operation can set up its buffers once for
+   * every stripe rather than for every column. Each stripe must be processed
+   * independently of the others.
+   *
+   * @param width  The width of the image.
+   * @param height The height of the image.
+   * @param stripe The processing of one stripe, given its first and last columns.
+   * @throws CancellationException if the calling thread is interrupted.
+   */
+  static void stripes(int width, int height, Stripe stripe) throws CancellationException {
+    if (isSequential((long) width * height)) {
+      for (int start = 0; start < width; start += STRIPE_WIDTH) {
+        Progress.report(start, width);
+        stripe.accept(start, Math.min(width, start + STRIPE_WIDTH));
+      }
+      return;
+    }
+    run(width, STRIPE_WIDTH, stripe);
+  }
+
+  /**
+   * Checks whether an image is processed on the calling thread alone, because it is
+   * small or there is no other thread to share the work with.
+   *
+   * @param pixels The number of pixels of the image.
+   * @return True if the image is processed sequentially, false otherwise.
+   */
+  private static boolean isSequential(long pixels) {
+    return pixels < PARALLEL_THRESHOLD
+            || ForkJoinPool.getCommonPoolParallelism() < 2;
+  }
+
+  /**
+   * Processes the units of an image, such as columns or tiles, in stripes of adjacent
+   * units on the common fork-join pool while the calling thread reports the progress
+   * and waits for them. Each stripe run by another thread
+   * is measured on that thread, and the sums are added to the ThreadUsage of the
+   * calling thread once the stripes are done.
+   *
+   * @param width       The number of units of the image.
+   * @param stripeWidth The number of units of each stripe.
+   * @param stripe      The processing of one stripe, given its first and last units.
+   * @throws CancellationException if the calling thread is interrupted.
+   */
+  private static void run(int width, int stripeWidth, Stripe stripe)
+          throws CancellationException {
+    AtomicInteger done = new AtomicInteger();
+    AtomicBoolean cancelled = new AtomicBoolean();
+    LongAdder cpuNanos = new LongAdder();
+    LongAdder allocatedBytes = new LongAdder();
+    Thread caller = Thread.currentThread();
+    int stripes = (width + stripeWidth - 1) / stripeWidth;
+    ForkJoinTask<?> task = ForkJoinPool.commonPool().submit(() -> IntStream.range(0, stripes)
+        .parallel().forEach(index -> {
+          int start = index * stripeWidth;
+          int end = Math.min(width, start + stripeWidth);
+          if (!cancelled.get()) {
+            if (Thread.currentThread() == caller) {
+              stripe.accept(start, end);
+            } else {
+              long cpuStart = ThreadUsage.cpuTime();
+              long allocatedStart = ThreadUsage.allocatedBytes();
+              try {
+                stripe.accept(start, end);
+              } finally {
+                cpuNanos.add(ThreadUsage.cpuTime() - cpuStart);
+                allocatedBytes.add(ThreadUsage.allocatedBytes() - allocatedStart);
+              }
+            }
+          }
+          done.addAndGet(end - start);
+        }));
+    try {
+      while (true) {
+        Progress.report(done.get(), width);
+        try {
+          task.get(REPORT_MILLIS, TimeUnit.MILLISECONDS);
+          return;
+        } catch (TimeoutException e) {
+          // report the progress again
+        }
+      }
+    } catch (InterruptedException e) {
+      cancelled.set(true);
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Operation cancelled");
+    } catch (CancellationException e) {
+      cancelled.set(true);
+      throw e;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      ThreadUsage.addForked(cpuNanos.sum(), allocatedBytes.sum());
+    }
+  }
+}
@@ -2,9 +2,25 @@ package model;
 
 /**
  * The `Pixel` class represents a color pixel with red, green, and blue components.
- * Each component is an integer value ranging from 0 to 255.
+ * Each component is an integer value ranging from 0 to 255. Pixels are immutable, so
+ * the `of` factories share one instance for every grey pixel and every pixel with a
+ * single non-zero component instead of allocating a new one.
  */
 public class Pixel {
+  private static final Pixel[] GREYS = new Pixel[256];
+  private static final Pixel[] REDS = new Pixel[256];
+  private static final Pixel[] GREENS = new Pixel[256];
+  private static final Pixel[] BLUES = new Pixel[256];
+
+  static {
+    for (int value = 0; value < 256; value++) {
+      GREYS[value] = new Pixel(value, value, value);
+      REDS[value] = value == 0 ? GREYS[0] : new Pixel(value, 0, 0);
+      GREENS[value] = value == 0 ? GREYS[0] : new Pixel(0, value, 0);
+      BLUES[value] = value == 0 ? GREYS[0] : new Pixel(0, 0, value);
+    }
+  }
+
   private final int red;
   private final int green;
   private final int blue;
@@ -23,13 +39,64 @@ public class Pixel {
     this.blue = clamp(blue);
   }
 
+  /**
+   * Constructs a Pixel object from a color packed into an integer.
+   *
+   * @param rgb The red, green and blue components in bits 16 to 23, 8 to 15 and
+   *            0 to 7. Higher bits, such as an alpha component, are ignored.
+   */
+  public Pixel(int rgb) {
+    this((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+  }
+
+  /**
+   * Gets a Pixel with the specified red, green, and blue components, clamped to the
+   * valid range [0, 255]. Grey pixels and pixels with a single non-zero component are
+   * shared, and other pixels are newly allocated.
+   *
+   * @param red   The red component of the pixel.
+   * @param green The green component of the pixel.
+   * @param blue  The blue component of the pixel.
+   * @return The pixel.
+   */
+  public static Pixel of(int red, int green, int blue) {
+    red = clamp(red);
+    green = clamp(green);
+    blue = clamp(blue);
+    if (red == green && green == blue) {
+      return GREYS[red];
+    }
+    if (green == 0 && blue == 0) {
+      return REDS[red];
+    }
+    if (red == 0 && blue == 0) {
+      return GREENS[green];
+    }
+    if (red == 0 && green == 0) {
+      return BLUES[blue];
+    }
+    return new Pixel(red, green, blue);
+  }
+
+  /**
+   * Gets a Pixel with a color packed into an integer, sharing it as `of(int, int, int)`
+   * does.
+   *
+   * @param rgb The red, green and blue components in bits 16 to 23, 8 to 15 and
+   *            0 to 7. Higher bits, such as an alpha component, are ignored.
+   * @return The pixel.
+   */
+  public static Pixel of(int rgb) {
+    return of((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+  }
+
   /**
    * Clamps the given value to the valid range [0, 255].
    *
    * @param value The value to be clamped.
    * @return The clamped value within the range [0, 255].
    */
-  private int clamp(int value) {
+  private static int clamp(int value) {
     if (value < 0) {
       value = 0;
     } else if (value > 255) {
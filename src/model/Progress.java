@@ -0,0 +1,53 @@
+package model;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
+
+/**
+ * The Progress class lets long-running image operations report how far they have
+ * come and stop early when they are no longer wanted. Operations report their
+ * progress on the thread running them; a listener registered on that thread
+ * receives the percentage of the operation that is done. When the thread is
+ * interrupted, the next report abandons the operation by throwing a
+ * CancellationException.
+ */
+public final class Progress {
+
+  private static final ThreadLocal<IntConsumer> LISTENER = new ThreadLocal<>();
+
+  /**
+   * Prevents instantiation of this class.
+   */
+  private Progress() {
+  }
+
+  /**
+   * Sets the listener receiving the progress of operations run on the current thread.
+   *
+   * @param listener The listener receiving the percentage done, or null to remove it.
+   */
+  public static void setListener(IntConsumer listener) {
+    if (listener == null) {
+      LISTENER.remove();
+    } else {
+      LISTENER.set(listener);
+    }
+  }
+
+  /**
+   * Reports the progress of an operation on the current thread.
+   *
+   * @param done  The number of units of work that are done.
+   * @param total The total number of units of work.
+   * @throws CancellationException if the current thread has been interrupted.
+   */
+  public static void report(int done, int total) throws CancellationException {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Operation cancelled");
+    }
+    IntConsumer listener = LISTENER.get();
+    if (listener != null && total > 0) {
+      listener.accept((int) (100L * done / total));
+    }
+  }
+}
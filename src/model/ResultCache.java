@@ -0,0 +1,437 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The ResultCache class stores the results of image operations keyed by the
+ * SHA-256 digest of the source image, the operation name, its parameters and the
+ * split percentage. Results are kept in memory up to a byte limit, evicting the least
+ * recently used entries first, and can optionally be written to a cache directory
+ * so that repeated operations are also served across runs. The directory is bounded
+ * by its own byte limit with the same eviction, and results are written to it by a
+ * background thread so that a miss does not wait for the file to be written.
+ */
+public class ResultCache {
+
+  /**
+   * Approximate heap footprint of one pixel: the `Pixel` object and its array slot.
+   */
+  static final long BYTES_PER_PIXEL = 28;
+
+  /**
+   * The default limit of the on-disk tier in bytes.
+   */
+  public static final long DEFAULT_DISK_BYTES = 1024L * 1024 * 1024;
+
+  private static final int FILE_MAGIC = 0x47524d43;
+  private static final String EXTENSION = ".img";
+
+  private final long maxBytes;
+  private final File directory;
+  private final long maxDiskBytes;
+  private final LinkedHashMap<String, Image> entries;
+  private final LinkedHashMap<String, Long> files;
+  private final Map<String, Image> pending;
+  private final ExecutorService writer;
+  private long currentBytes;
+  private long diskBytes;
+  private long hits;
+  private long misses;
+
+  /**
+   * Constructs an in-memory ResultCache holding at most the given number of bytes.
+   *
+   * @param maxBytes The maximum approximate size of the cached images in bytes.
+   */
+  public ResultCache(long maxBytes) {
+    this(maxBytes, null);
+  }
+
+  /**
+   * Constructs a ResultCache holding at most the given number of bytes in memory
+   * and persisting results under the given directory up to DEFAULT_DISK_BYTES.
+   *
+   * @param maxBytes  The maximum approximate size of the cached images in bytes.
+   * @param directory The directory for the on-disk tier, or null to disable it.
+   * @throws IllegalArgumentException if the limit is negative or the directory
+   *                                  cannot be created.
+   */
+  public ResultCache(long maxBytes, File directory) throws IllegalArgumentException {
+    this(maxBytes, directory, DEFAULT_DISK_BYTES);
+  }
+
+  /**
+   * Constructs a ResultCache holding at most the given number of bytes in memory
+   * and at most the given number of bytes of files under the given directory. Files
+   * left in the directory by earlier runs count towards the limit, the least recently
+   * used first.
+   *
+   * @param maxBytes     The maximum approximate size of the cached images in bytes.
+   * @param directory    The directory for the on-disk tier, or null to disable it.
+   * @param maxDiskBytes The maximum size of the files of the on-disk tier in bytes.
+   * @throws IllegalArgumentException if a limit is negative or the directory cannot
+   *                                  be created.
+   */
+  public ResultCache(long maxBytes, File directory, long maxDiskBytes)
+          throws IllegalArgumentException {
+    if (maxBytes < 0 || maxDiskBytes < 0) {
+      throw new IllegalArgumentException("Cache size cannot be negative");
+    }
+    if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+      throw new IllegalArgumentException("Cannot create cache directory: " + directory);
+    }
+    this.maxBytes = maxBytes;
+    this.directory = directory;
+    this.maxDiskBytes = maxDiskBytes;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.files = new LinkedHashMap<>(16, 0.75f, true);
+    this.pending = new HashMap<>();
+    if (directory == null) {
+      this.writer = null;
+    } else {
+      this.writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-writer");
+        thread.setDaemon(true);
+        return thread;
+      });
+      indexDirectory();
+    }
+  }
+
+  /**
+   * Builds the cache key for an operation applied to the given source image.
+   *
+   * @param source     The image the operation is applied to.
+   * @param operation  The name of the operation.
+   * @param parameters The parameters of the operation, including the split percentage.
+   * @return The key identifying the result of the operation.
+   */
+  public static String key(Image source, String operation, Object... parameters) {
+    StringBuilder key = new StringBuilder();
+    key.append(source.contentDigest())
+            .append('-').append(source.getPixels().length)
+            .append('x').append(source.getPixels()[0].length)
+            .append(':').append(operation);
+    for (Object parameter : parameters) {
+      key.append(':').append(parameter);
+    }
+    return key.toString();
+  }
+
+  /**
+   * Looks up the result stored under the given key, first in memory, then among the
+   * results still being written, and then on disk. The file of a result on disk is
+   * read without holding the lock of the cache, so reading a large result does not
+   * hold up other lookups or writes; a file that cannot be read is dropped from the
+   * on-disk tier.
+   *
+   * @param key The key of the result.
+   * @return The cached image, or null if the result is not cached.
+   */
+  public Image get(String key) {
+    File file = directory == null ? null : fileFor(key);
+    synchronized (this) {
+      Image image = entries.get(key);
+      if (image == null) {
+        image = pending.get(key);
+      }
+      if (image != null) {
+        hits++;
+        return image;
+      }
+      if (file == null || !files.containsKey(file.getName())) {
+        misses++;
+        return null;
+      }
+    }
+
+    Image image = readFromDisk(file, key);
+    synchronized (this) {
+      if (image == null) {
+        Long size = files.remove(file.getName());
+        if (size != null) {
+          diskBytes -= size;
+          file.delete();
+        }
+        misses++;
+      } else {
+        files.get(file.getName());
+        storeInMemory(key, image);
+        hits++;
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Stores the result of an operation under the given key. When a cache directory is
+   * configured, the result is queued to be written there in the background.
+   *
+   * @param key   The key of the result.
+   * @param image The resulting image.
+   */
+  public synchronized void put(String key, Image image) {
+    storeInMemory(key, image);
+    if (directory != null && !files.containsKey(fileFor(key).getName())
+            && pending.putIfAbsent(key, image) == null) {
+      writer.execute(() -> writeToDisk(key, image));
+    }
+  }
+
+  /**
+   * Waits until every result queued so far has been written to the cache directory.
+   */
+  public void flush() {
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.submit(() -> { }).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Cache writer failed", e);
+    }
+  }
+
+  /**
+   * Gets the number of lookups that were served from the cache.
+   *
+   * @return The number of cache hits.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of lookups that were not found in the cache.
+   *
+   * @return The number of cache misses.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Gets the approximate size of the images currently held in memory.
+   *
+   * @return The size of the in-memory tier in bytes.
+   */
+  public synchronized long getSize() {
+    return currentBytes;
+  }
+
+  /**
+   * Gets the size of the files of the on-disk tier.
+   *
+   * @return The size of the on-disk tier in bytes.
+   */
+  public synchronized long getDiskSize() {
+    return diskBytes;
+  }
+
+  /**
+   * Stores an image in the in-memory tier, evicting the least recently used
+   * entries until the tier fits within its limit.
+   *
+   * @param key   The key of the result.
+   * @param image The resulting image.
+   */
+  private void storeInMemory(String key, Image image) {
+    long size = sizeOf(image);
+    if (size > maxBytes) {
+      return;
+    }
+    Image previous = entries.put(key, image);
+    if (previous != null) {
+      currentBytes -= sizeOf(previous);
+    }
+    currentBytes += size;
+
+    Iterator<Map.Entry<String, Image>> iterator = entries.entrySet().iterator();
+    while (currentBytes > maxBytes && iterator.hasNext()) {
+      Map.Entry<String, Image> eldest = iterator.next();
+      currentBytes -= sizeOf(eldest.getValue());
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Estimates the heap footprint of an image.
+   *
+   * @param image The image to measure.
+   * @return The approximate size of the image in bytes.
+   */
+  private static long sizeOf(Image image) {
+    return (long) image.getPixels().length * image.getPixels()[0].length * BYTES_PER_PIXEL;
+  }
+
+  /**
+   * Gets the file holding the on-disk copy of a result.
+   *
+   * @param key The key of the result.
+   * @return The cache file for the key.
+   */
+  private File fileFor(String key) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+      StringBuilder name = new StringBuilder();
+      for (byte b : hash) {
+        name.append(String.format("%02x", b));
+      }
+      return new File(directory, name + EXTENSION);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Indexes the files left in the cache directory by earlier runs, from the least to
+   * the most recently used, removes unfinished temporary files, and evicts files until
+   * the directory fits within its limit.
+   */
+  private void indexDirectory() {
+    File[] existing = directory.listFiles();
+    if (existing == null) {
+      return;
+    }
+    Arrays.sort(existing, Comparator.comparingLong(File::lastModified));
+    for (File file : existing) {
+      if (file.getName().endsWith(EXTENSION + ".tmp")) {
+        file.delete();
+      } else if (file.isFile() && file.getName().endsWith(EXTENSION)) {
+        files.put(file.getName(), file.length());
+        diskBytes += file.length();
+      }
+    }
+    evictFiles();
+  }
+
+  /**
+   * Deletes the least recently used files of the on-disk tier until it fits within
+   * its limit.
+   */
+  private void evictFiles() {
+    Iterator<Map.Entry<String, Long>> iterator = files.entrySet().iterator();
+    while (diskBytes > maxDiskBytes && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      new File(directory, eldest.getKey()).delete();
+      diskBytes -= eldest.getValue();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Reads a result from its file in the on-disk tier, marking the file as recently
+   * used for later runs.
+   *
+   * @param file The cache file for the key.
+   * @param key  The key of the result.
+   * @return The stored image, or null if the file is missing, truncated or holds
+   *         another result.
+   */
+  private Image readFromDisk(File file, String key) {
+    if (!file.isFile()) {
+      return null;
+    }
+    file.setLastModified(System.currentTimeMillis());
+    try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != FILE_MAGIC || !in.readUTF().equals(key)) {
+        return null;
+      }
+      int width = in.readInt();
+      int height = in.readInt();
+      if (width <= 0 || height <= 0 || 4L * width * height > file.length()) {
+        return null;
+      }
+      Pixel[][] pixels = new Pixel[width][height];
+      for (int i = 0; i < width; i++) {
+        for (int j = 0; j < height; j++) {
+          int rgb = in.readInt();
+          pixels[i][j] = Pixel.of(rgb);
+        }
+      }
+      return new Image(pixels);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Writes a result to the on-disk tier on the writer thread, then indexes the file
+   * and evicts the least recently used files beyond the limit. The file is written
+   * under a temporary name and renamed once complete so that readers never see a
+   * partial entry. The disk tier is best effort, so failures and results larger than
+   * the whole tier only mean the entry is not persisted.
+   *
+   * @param key   The key of the result.
+   * @param image The resulting image.
+   */
+  private void writeToDisk(String key, Image image) {
+    File file = fileFor(key);
+    boolean written = 4L * image.getPixels().length * image.getPixels()[0].length
+            <= maxDiskBytes && writeFile(file, key, image);
+    synchronized (this) {
+      pending.remove(key);
+      if (written) {
+        Long previous = files.put(file.getName(), file.length());
+        diskBytes += file.length() - (previous == null ? 0 : previous);
+        evictFiles();
+      }
+    }
+  }
+
+  /**
+   * Writes the file holding a result.
+   *
+   * @param file  The cache file for the key.
+   * @param key   The key of the result.
+   * @param image The resulting image.
+   * @return True if the file was written, false otherwise.
+   */
+  private boolean writeFile(File file, String key, Image image) {
+    File temp = new File(directory, file.getName() + ".tmp");
+    Pixel[][] pixels = image.getPixels();
+    try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(temp)))) {
+      out.writeInt(FILE_MAGIC);
+      out.writeUTF(key);
+      out.writeInt(pixels.length);
+      out.writeInt(pixels[0].length);
+      for (Pixel[] column : pixels) {
+        for (Pixel pixel : column) {
+          out.writeInt((pixel.getRed() << 16) | (pixel.getGreen() << 8) | pixel.getBlue());
+        }
+      }
+    } catch (IOException e) {
+      temp.delete();
+      return false;
+    }
+    if (!temp.renameTo(file)) {
+      temp.delete();
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,84 @@
+package model;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The ThreadUsage class measures the CPU time and the bytes allocated by the current
+ * thread, together with those of the work it hands to other threads. Image operations
+ * that process their columns in parallel measure every stripe on the pool thread that
+ * runs it and add the totals to the thread that ran the operation, so that the work
+ * of an operation is accounted to that thread whichever threads did it.
+ */
+public final class ThreadUsage {
+
+  private static final ThreadLocal<long[]> FORKED = ThreadLocal.withInitial(() -> new long[2]);
+
+  /**
+   * Prevents instantiation of this class.
+   */
+  private ThreadUsage() {
+  }
+
+  /**
+   * Gets the CPU time consumed so far by the current thread.
+   *
+   * @return The CPU time in nanoseconds, or 0 if it cannot be measured.
+   */
+  public static long cpuTime() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (!threads.isCurrentThreadCpuTimeSupported()) {
+      return 0;
+    }
+    return threads.getCurrentThreadCpuTime();
+  }
+
+  /**
+   * Gets the number of bytes allocated so far by the current thread.
+   *
+   * @return The allocated bytes, or 0 if they cannot be measured.
+   */
+  public static long allocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+      if (allocations.isThreadAllocatedMemorySupported()
+              && allocations.isThreadAllocatedMemoryEnabled()) {
+        return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Gets the CPU time consumed so far by the parallel work of the operations run on
+   * the current thread.
+   *
+   * @return The CPU time of the other threads in nanoseconds.
+   */
+  public static long forkedCpuTime() {
+    return FORKED.get()[0];
+  }
+
+  /**
+   * Gets the number of bytes allocated so far by the parallel work of the operations
+   * run on the current thread.
+   *
+   * @return The bytes allocated by the other threads.
+   */
+  public static long forkedAllocatedBytes() {
+    return FORKED.get()[1];
+  }
+
+  /**
+   * Adds work done by other threads for an operation run on the current thread.
+   *
+   * @param cpuNanos       The CPU time of the work in nanoseconds.
+   * @param allocatedBytes The bytes allocated by the work.
+   */
+  static void addForked(long cpuNanos, long allocatedBytes) {
+    long[] forked = FORKED.get();
+    forked[0] += cpuNanos;
+    forked[1] += allocatedBytes;
+  }
+}
@@ -0,0 +1,244 @@
+package model;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The Tracer class records spans of work, such as commands and the decoding,
+ * filtering and encoding they do, and writes them in the Chrome trace event format
+ * so that a run can be opened in a trace viewer. Spans are recorded with the thread
+ * that ran them. At the end of every command, the heap in use is sampled together
+ * with the high-water mark the heap reached during the command, which the heap
+ * memory pools track from when the command started. At most one trace is recorded
+ * at a time; while no trace is started, spans only run their work.
+ */
+public class Tracer {
+
+  private static final String COMMAND = "command";
+  private static volatile Tracer active;
+
+  private final long origin;
+  private final List<String> events;
+  private final Map<Long, String> threads;
+  private final MemoryMXBean memory;
+  private final List<MemoryPoolMXBean> heapPools;
+
+  /**
+   * Constructs an empty Tracer whose timestamps start now.
+   */
+  private Tracer() {
+    this.origin = System.nanoTime();
+    this.events = new ArrayList<>();
+    this.threads = new TreeMap<>();
+    this.memory = ManagementFactory.getMemoryMXBean();
+    this.heapPools = new ArrayList<>();
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+        heapPools.add(pool);
+      }
+    }
+  }
+
+  /**
+   * The Work interface represents the work done in a span.
+   *
+   * @param <T> The type of the result of the work.
+   * @param <E> The type of the exception the work may throw.
+   */
+  public interface Work<T, E extends Exception> {
+
+    /**
+     * Does the work.
+     *
+     * @return The result of the work.
+     * @throws E if the work fails.
+     */
+    T run() throws E;
+  }
+
+  /**
+   * Starts recording a new trace, replacing any trace being recorded.
+   *
+   * @return The trace being recorded.
+   */
+  public static Tracer start() {
+    Tracer tracer = new Tracer();
+    active = tracer;
+    return tracer;
+  }
+
+  /**
+   * Stops recording the current trace.
+   *
+   * @return The recorded trace, or null if no trace was being recorded.
+   */
+  public static Tracer stop() {
+    Tracer tracer = active;
+    active = null;
+    return tracer;
+  }
+
+  /**
+   * Runs work as a span of the current trace on the current thread. The span is
+   * recorded when the work ends, whether it completes or throws.
+   *
+   * @param category  The category of the span, such as "command" or "filter".
+   * @param name      The name of the span.
+   * @param work      The work done in the span.
+   * @param arguments Alternating names and values describing the span.
+   * @param <T>       The type of the result of the work.
+   * @param <E>       The type of the exception the work may throw.
+   * @return The result of the work.
+   * @throws E if the work fails.
+   */
+  public static <T, E extends Exception> T span(String category, String name,
+                                                Work<T, E> work, String... arguments)
+          throws E {
+    Tracer tracer = active;
+    if (tracer == null) {
+      return work.run();
+    }
+    if (COMMAND.equals(category)) {
+      tracer.resetPeaks();
+    }
+    long start = System.nanoTime();
+    try {
+      return work.run();
+    } finally {
+      tracer.record(category, name, arguments, start, System.nanoTime());
+    }
+  }
+
+  /**
+   * Restarts the high-water marks of the heap memory pools.
+   */
+  private void resetPeaks() {
+    for (MemoryPoolMXBean pool : heapPools) {
+      pool.resetPeakUsage();
+    }
+  }
+
+  /**
+   * Records a completed span and, for commands, the heap in use at its end and the
+   * high-water mark of the heap during it. Each pool of the heap tracks its own
+   * high-water mark, so their sum bounds the peak of the whole heap from above.
+   *
+   * @param category  The category of the span.
+   * @param name      The name of the span.
+   * @param arguments Alternating names and values describing the span.
+   * @param start     The start of the span in nanoseconds.
+   * @param end       The end of the span in nanoseconds.
+   */
+  private synchronized void record(String category, String name, String[] arguments,
+                                   long start, long end) {
+    Thread thread = Thread.currentThread();
+    threads.putIfAbsent(thread.getId(), thread.getName());
+    StringBuilder event = new StringBuilder("{\"name\": ").append(quote(name))
+            .append(", \"cat\": ").append(quote(category))
+            .append(", \"ph\": \"X\", \"ts\": ").append(micros(start))
+            .append(", \"dur\": ").append((end - start) / 1000)
+            .append(", \"pid\": 1, \"tid\": ").append(thread.getId())
+            .append(", \"args\": {");
+    for (int i = 0; i + 1 < arguments.length; i += 2) {
+      event.append(i == 0 ? "" : ", ").append(quote(arguments[i])).append(": ")
+              .append(quote(arguments[i + 1]));
+    }
+    events.add(event.append("}}").toString());
+
+    if (COMMAND.equals(category)) {
+      long used = memory.getHeapMemoryUsage().getUsed();
+      long peak = 0;
+      for (MemoryPoolMXBean pool : heapPools) {
+        MemoryUsage usage = pool.getPeakUsage();
+        peak += usage == null ? 0 : usage.getUsed();
+      }
+      events.add("{\"name\": \"heap\", \"ph\": \"C\", \"ts\": " + micros(end)
+              + ", \"pid\": 1, \"args\": {\"used\": " + used + ", \"peak\": "
+              + Math.max(peak, used) + "}}");
+    }
+  }
+
+  /**
+   * Gets the number of spans and samples recorded so far.
+   *
+   * @return The number of recorded events.
+   */
+  public synchronized int getEventCount() {
+    return events.size();
+  }
+
+  /**
+   * Formats the recorded trace as Chrome trace event JSON.
+   *
+   * @return The trace as JSON.
+   */
+  public synchronized String toJson() {
+    StringBuilder json = new StringBuilder("{\"displayTimeUnit\": \"ms\", \"traceEvents\": [");
+    String separator = "\n  ";
+    for (Map.Entry<Long, String> thread : threads.entrySet()) {
+      json.append(separator).append("{\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, ")
+              .append("\"tid\": ").append(thread.getKey()).append(", \"args\": {\"name\": ")
+              .append(quote(thread.getValue())).append("}}");
+      separator = ",\n  ";
+    }
+    for (String event : events) {
+      json.append(separator).append(event);
+      separator = ",\n  ";
+    }
+    return json.append("\n]}\n").toString();
+  }
+
+  /**
+   * Writes the recorded trace to a file as Chrome trace event JSON.
+   *
+   * @param path The path of the file to write.
+   * @throws IOException if the file cannot be written.
+   */
+  public void write(String path) throws IOException {
+    Files.write(Paths.get(path), toJson().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Converts a time to microseconds since the start of the trace.
+   *
+   * @param nanos The time in nanoseconds.
+   * @return The microseconds since the start of the trace.
+   */
+  private long micros(long nanos) {
+    return (nanos - origin) / 1000;
+  }
+
+  /**
+   * Quotes a string as a JSON string.
+   *
+   * @param value The string, or null.
+   * @return The quoted string, or null.
+   */
+  private static String quote(String value) {
+    if (value == null) {
+      return "null";
+    }
+    StringBuilder quoted = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        quoted.append('\\').append(c);
+      } else if (c < 0x20) {
+        quoted.append(String.format("\\u%04x", (int) c));
+      } else {
+        quoted.append(c);
+      }
+    }
+    return quoted.append('"').toString();
+  }
+}
@@ -0,0 +1,32 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The TransformEvent class is a Flight Recorder event emitted for every stage
+ * of the Haar wavelet transform used to compress images.
+ */
+@Name("grime.HaarTransform")
+@Label("Haar Transform")
+@Category({"GRIME", "Model"})
+@Description("A stage of the Haar wavelet transform")
+public class TransformEvent extends Event {
+
+  @Label("Stage")
+  String stage;
+
+  @Label("Width")
+  @Description("The width of the transformed array")
+  int width;
+
+  @Label("Height")
+  @Description("The height of the transformed array")
+  int height;
+
+  @Label("Percentage")
+  double percentage;
+}
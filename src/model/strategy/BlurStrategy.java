@@ -4,9 +4,30 @@ import model.Image;
 
 /**
  * The BlurStrategy class implements the SplitStrategy interface to provide a strategy for
- * applying a blurring effect to an image.
+ * applying a blurring effect to an image, either with the 3x3 blur kernel or with a
+ * Gaussian of a given standard deviation.
  */
 public class BlurStrategy implements SplitStrategy {
+  private final double sigma;
+
+  /**
+   * Constructs a BlurStrategy applying the 3x3 blur kernel.
+   */
+  public BlurStrategy() {
+    this.sigma = 0;
+  }
+
+  /**
+   * Constructs a BlurStrategy applying a Gaussian blur of the given standard deviation.
+   *
+   * @param sigma The standard deviation of the Gaussian in pixels.
+   * @throws IllegalArgumentException if the standard deviation is not in
+   *                                  (0, Image.MAX_BLUR_SIGMA].
+   */
+  public BlurStrategy(double sigma) throws IllegalArgumentException {
+    Image.blurReach(sigma);
+    this.sigma = sigma;
+  }
 
   /**
    * Applies the blurring strategy to the given Image.
@@ -16,6 +37,22 @@ public class BlurStrategy implements SplitStrategy {
    */
   @Override
   public Image apply(Image image) {
-    return image.blur();
+    return sigma > 0 ? image.blur(sigma) : image.blur();
+  }
+
+  /**
+   * Applies the strategy to the leftmost columns of the given Image and the columns
+   * right of them that the blur reads, one for the blur kernel and the reach of the
+   * Gaussian otherwise, so that the needed columns are the same as when the whole
+   * image is filtered.
+   *
+   * @param image   The input Image on which the strategy is applied.
+   * @param columns The number of leftmost columns that are needed.
+   * @return A new Image holding the result for the needed columns.
+   */
+  @Override
+  public Image apply(Image image, int columns) {
+    int reach = sigma > 0 ? Image.blurReach(sigma) : 1;
+    return apply(image.columns(columns + reach));
   }
 }
@@ -0,0 +1,37 @@
+package model.strategy;
+
+import model.ColorMatrix;
+import model.Image;
+
+/**
+ * The ColorMatrixStrategy class implements the PointStrategy interface to provide a
+ * strategy for transforming the colors of an image by a color matrix.
+ */
+public class ColorMatrixStrategy implements PointStrategy {
+  private final ColorMatrix matrix;
+
+  /**
+   * Constructs a ColorMatrixStrategy applying the given color matrix.
+   *
+   * @param matrix The color matrix.
+   * @throws IllegalArgumentException if the matrix is missing.
+   */
+  public ColorMatrixStrategy(ColorMatrix matrix) throws IllegalArgumentException {
+    if (matrix == null) {
+      throw new IllegalArgumentException("Color matrix is missing!");
+    }
+    this.matrix = matrix;
+  }
+
+  /**
+   * Applies the color matrix to the given Image.
+   *
+   * @param image The input Image whose colors are transformed.
+   * @return A new Image with transformed colors.
+   * @see Image#colorMatrix(ColorMatrix)
+   */
+  @Override
+  public Image apply(Image image) {
+    return image.colorMatrix(matrix);
+  }
+}
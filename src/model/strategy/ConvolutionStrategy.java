@@ -0,0 +1,62 @@
+package model.strategy;
+
+import model.BorderMode;
+import model.Image;
+import model.Kernel;
+
+/**
+ * The ConvolutionStrategy class implements the SplitStrategy interface to provide a
+ * strategy for convolving an image with a kernel given by the user.
+ */
+public class ConvolutionStrategy implements SplitStrategy {
+  private final Kernel kernel;
+  private final BorderMode border;
+
+  /**
+   * Constructs a ConvolutionStrategy applying the given kernel.
+   *
+   * @param kernel The convolution kernel.
+   * @param border How the pixels beyond the edges of the image are read.
+   * @throws IllegalArgumentException if the kernel or the border mode is missing.
+   */
+  public ConvolutionStrategy(Kernel kernel, BorderMode border)
+          throws IllegalArgumentException {
+    if (kernel == null) {
+      throw new IllegalArgumentException("Kernel is missing!");
+    }
+    if (border == null) {
+      throw new IllegalArgumentException("Border mode is missing!");
+    }
+    this.kernel = kernel;
+    this.border = border;
+  }
+
+  /**
+   * Convolves the given Image with the kernel.
+   *
+   * @param image The input Image to convolve.
+   * @return A new Image holding the result of the convolution.
+   * @see Image#convolve(Kernel, BorderMode)
+   */
+  @Override
+  public Image apply(Image image) {
+    return image.convolve(kernel, border);
+  }
+
+  /**
+   * Applies the strategy to the leftmost columns of the given Image and the columns
+   * right of them that the kernel reads. Wrapped borders read the rightmost columns as
+   * well, so the whole image is convolved for them.
+   *
+   * @param image   The input Image on which the strategy is applied.
+   * @param columns The number of leftmost columns that are needed.
+   * @return A new Image holding the result for the needed columns.
+   */
+  @Override
+  public Image apply(Image image, int columns) {
+    if (border == BorderMode.WRAP) {
+      return apply(image);
+    }
+    return apply(image.columns(columns + kernel.getWidth() / 2));
+  }
+}
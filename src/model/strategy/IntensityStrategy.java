@@ -3,10 +3,10 @@ package model.strategy;
 import model.Image;
 
 /**
- * The IntensityStrategy class implements the SplitStrategy interface to provide a strategy
+ * The IntensityStrategy class implements the PointStrategy interface to provide a strategy
  * for isolating the intensity component of an image.
  */
-public class IntensityStrategy implements SplitStrategy {
+public class IntensityStrategy implements PointStrategy {
 
   /**
    * Applies the intensity component isolation strategy to the given Image.
@@ -3,10 +3,10 @@ package model.strategy;
 import model.Image;
 
 /**
- * The LevelAdjustmentStrategy class implements the SplitStrategy interface to provide a strategy
+ * The LevelAdjustmentStrategy class implements the PointStrategy interface to provide a strategy
  * for adjusting the levels of an image.
  */
-public class LevelAdjustmentStrategy implements SplitStrategy {
+public class LevelAdjustmentStrategy implements PointStrategy {
   private final int b;
   private final int m;
   private final int w;
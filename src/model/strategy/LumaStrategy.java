@@ -3,10 +3,10 @@ package model.strategy;
 import model.Image;
 
 /**
- * The LumaStrategy class implements the SplitStrategy interface to provide a strategy
+ * The LumaStrategy class implements the PointStrategy interface to provide a strategy
  * for isolating the luma (luminance) component of an image.
  */
-public class LumaStrategy implements SplitStrategy {
+public class LumaStrategy implements PointStrategy {
 
   /**
    * Applies the luma component isolation strategy to the given Image.
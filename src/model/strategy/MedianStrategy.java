@@ -0,0 +1,52 @@
+package model.strategy;
+
+import model.Image;
+
+/**
+ * The MedianStrategy class implements the SplitStrategy interface to provide a strategy
+ * for removing noise from an image with a median filter of a given radius.
+ */
+public class MedianStrategy implements SplitStrategy {
+  private final int radius;
+
+  /**
+   * Constructs a MedianStrategy applying a median filter of the given radius.
+   *
+   * @param radius The radius of the square of pixels the median is taken over.
+   * @throws IllegalArgumentException if the radius is not in
+   *                                  [1, Image.MAX_MEDIAN_RADIUS].
+   */
+  public MedianStrategy(int radius) throws IllegalArgumentException {
+    if (radius < 1 || radius > Image.MAX_MEDIAN_RADIUS) {
+      throw new IllegalArgumentException("Median radius must be in [1, "
+              + Image.MAX_MEDIAN_RADIUS + "]");
+    }
+    this.radius = radius;
+  }
+
+  /**
+   * Applies the median filter to the given Image.
+   *
+   * @param image The input Image to filter.
+   * @return A new Image with the noise removed.
+   * @see Image#median(int)
+   */
+  @Override
+  public Image apply(Image image) {
+    return image.median(radius);
+  }
+
+  /**
+   * Applies the strategy to the leftmost columns of the given Image and the columns
+   * right of them within the radius of the filter, so that the needed columns are the
+   * same as when the whole image is filtered.
+   *
+   * @param image   The input Image on which the strategy is applied.
+   * @param columns The number of leftmost columns that are needed.
+   * @return A new Image holding the result for the needed columns.
+   */
+  @Override
+  public Image apply(Image image, int columns) {
+    return apply(image.columns(columns + radius));
+  }
+}
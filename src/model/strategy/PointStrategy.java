@@ -0,0 +1,25 @@
+package model.strategy;
+
+import model.Image;
+
+/**
+ * The PointStrategy interface extends the SplitStrategy interface for strategies
+ * that compute every pixel of the result from the same pixel of the input alone,
+ * such as color transforms and levels adjustments. A split preview of such a
+ * strategy only needs the columns it shows, so the strategy is applied to those
+ * columns alone.
+ */
+public interface PointStrategy extends SplitStrategy {
+
+  /**
+   * Applies the strategy to the leftmost columns of the given Image only.
+   *
+   * @param image   The input Image on which the strategy is applied.
+   * @param columns The number of leftmost columns that are needed.
+   * @return A new Image holding the result for the needed columns.
+   */
+  @Override
+  default Image apply(Image image, int columns) {
+    return apply(image.columns(columns));
+  }
+}
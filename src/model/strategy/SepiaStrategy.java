@@ -3,10 +3,10 @@ package model.strategy;
 import model.Image;
 
 /**
- * The SepiaStrategy class implements the SplitStrategy interface to provide a strategy
+ * The SepiaStrategy class implements the PointStrategy interface to provide a strategy
  * for applying a sepia tone effect to an image.
  */
-public class SepiaStrategy implements SplitStrategy {
+public class SepiaStrategy implements PointStrategy {
 
   /**
    * Applies the sepia tone effect strategy to the given Image.
@@ -18,4 +18,18 @@ public class SharpenStrategy implements SplitStrategy {
   public Image apply(Image image) {
     return image.sharpen();
   }
+
+  /**
+   * Applies the strategy to the leftmost columns of the given Image and the two
+   * columns right of them that the sharpen kernel reads, so that the needed columns
+   * are the same as when the whole image is filtered.
+   *
+   * @param image   The input Image on which the strategy is applied.
+   * @param columns The number of leftmost columns that are needed.
+   * @return A new Image holding the result for the needed columns.
+   */
+  @Override
+  public Image apply(Image image, int columns) {
+    return apply(image.columns(columns + 2));
+  }
 }
@@ -1,12 +1,13 @@
 package model.strategy;
 
 import model.Image;
-import model.Pixel;
 
 /**
  * The SplitDecorator class implements the SplitStrategy interface and serves as a decorator
  * for applying an additional splitting functionality to the result of an underlying SplitStrategy.
- * The splitting is performed based on a specified percentage of the image width.
+ * The splitting is performed based on a specified percentage of the image width, and
+ * the underlying strategy is only asked for the columns left of the split, which are
+ * spliced into the image so that its histogram can be updated for those columns only.
  */
 public class SplitDecorator implements SplitStrategy {
   private final SplitStrategy strategy;
@@ -36,23 +37,11 @@ public class SplitDecorator implements SplitStrategy {
    */
   @Override
   public Image apply(Image image) {
-    Image filteredImage = this.strategy.apply(image);
     int split = (int) (image.getPixels().length * (this.splitPercentage / 100.0));
-
-    int width = image.getPixels().length;
-    int height = image.getPixels()[0].length;
-
-    Pixel[][] splitPixels = new Pixel[width][height];
-
-    for (int i = 0; i < width; i++) {
-      for (int j = 0; j < height; j++) {
-        if (i < split) {
-          splitPixels[i][j] = filteredImage.getPixels()[i][j];
-        } else {
-          splitPixels[i][j] = image.getPixels()[i][j];
-        }
-      }
+    if (split == 0) {
+      return image;
     }
-    return new Image(splitPixels);
+    Image filteredImage = this.strategy.apply(image, split);
+    return image.splice(filteredImage, split);
   }
 }
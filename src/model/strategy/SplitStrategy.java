@@ -19,4 +19,19 @@ public interface SplitStrategy {
    * @return A modified Image after applying the split strategy.
    */
   Image apply(Image image);
+
+  /**
+   * Applies the strategy to the leftmost columns of the given Image. Only the first
+   * columns of the result are meaningful, which lets strategies that compute each
+   * pixel from a small neighbourhood skip the rest of the image. By default the
+   * strategy is applied to the whole image.
+   *
+   * @param image   The input Image on which the split strategy is applied.
+   * @param columns The number of leftmost columns that are needed.
+   * @return An Image at least as wide as the needed columns, whose first columns
+   *         are the result of the strategy.
+   */
+  default Image apply(Image image, int columns) {
+    return apply(image);
+  }
 }
@@ -3,10 +3,10 @@ package model.strategy;
 import model.Image;
 
 /**
- * The ValueStrategy class implements the SplitStrategy interface to provide a strategy
+ * The ValueStrategy class implements the PointStrategy interface to provide a strategy
  * for isolating the value (brightness) component of an image.
  */
-public class ValueStrategy implements SplitStrategy {
+public class ValueStrategy implements PointStrategy {
 
   /**
    * Applies the value component isolation strategy to the given Image.
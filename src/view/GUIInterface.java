@@ -28,6 +28,17 @@ public interface GUIInterface extends ImageViewInterface {
    */
   void setImage(BufferedImage image);
 
+  /**
+   * Sets the displayed image on the graphical user interface, shown at the
+   * given size. A preview computed on a reduced copy of the image is scaled
+   * to the size of the image when it is painted.
+   *
+   * @param image  The BufferedImage to be displayed.
+   * @param width  The width the image is shown at.
+   * @param height The height the image is shown at.
+   */
+  void setImage(BufferedImage image, int width, int height);
+
   /**
    * Sets the displayed histogram image on
    * the graphical user interface.
@@ -60,6 +71,21 @@ public interface GUIInterface extends ImageViewInterface {
    */
   void showOperationControls(boolean show);
 
+  /**
+   * Shows or hides the progress of an operation running in the background.
+   * While an operation is running, only the cancel control is enabled.
+   *
+   * @param busy True while an operation is running, false once it has ended.
+   */
+  void showBusy(boolean busy);
+
+  /**
+   * Shows how much of the operation running in the background is done.
+   *
+   * @param percent The percentage of the operation that is done.
+   */
+  void showProgress(int percent);
+
   /**
    * Confirms the user's intention to load a new image.
    * Returns true if confirmed, false otherwise.
@@ -13,6 +13,7 @@ import javax.swing.JLabel;
 import javax.swing.JFrame;
 import javax.swing.JButton;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.ImageIcon;
 import javax.swing.JFileChooser;
@@ -29,13 +30,17 @@ import controller.Features;
  */
 public class GUIView extends JFrame implements GUIInterface {
 
-  private JLabel imageDisplay;
+  private static final long TILE_CACHE_BYTES = 64L * 1024 * 1024;
+
+  private TiledImagePanel imageDisplay;
   private JLabel histogramDisplay;
   private JButton loadButton;
   private JButton blurButton;
   private JButton saveButton;
   private JButton confirmButton;
   private JButton cancelButton;
+  private JButton undoButton;
+  private JButton redoButton;
   private JButton sepiaButton;
   private JButton redButton;
   private JButton greenButton;
@@ -47,6 +52,7 @@ public class GUIView extends JFrame implements GUIInterface {
   private JButton compressButton;
   private JButton colorCorrectedButton;
   private JButton adjustLevelsButton;
+  private JProgressBar progressBar;
 
   /**
    * Constructs a GUIView object, initializing the user interface.
@@ -69,12 +75,10 @@ public class GUIView extends JFrame implements GUIInterface {
     JPanel imagePanel = new JPanel(new BorderLayout());
     JLabel imageHeading = new JLabel("Image Display");
     imageHeading.setHorizontalAlignment(JLabel.CENTER);
-    imageDisplay = new JLabel();
-    imageDisplay.setHorizontalAlignment(JLabel.CENTER);
+    imageDisplay = new TiledImagePanel(TILE_CACHE_BYTES);
     imageDisplay.setPreferredSize(new Dimension(900, 600));
-    JScrollPane imageScrollPane = new JScrollPane(imageDisplay);
     imagePanel.add(imageHeading, BorderLayout.NORTH);
-    imagePanel.add(imageScrollPane, BorderLayout.CENTER);
+    imagePanel.add(imageDisplay, BorderLayout.CENTER);
 
     c.gridx = 0;
     c.gridy = 0;
@@ -115,7 +119,7 @@ public class GUIView extends JFrame implements GUIInterface {
    */
   private void makeButtons() {
     JPanel buttonPanel = new JPanel();
-    int numberOfButtons = 16;
+    int numberOfButtons = 18;
     int rows = 2;
     int cols = (int) Math.ceil((double) numberOfButtons / rows);
     buttonPanel.setLayout(new GridLayout(rows, cols));
@@ -162,6 +166,12 @@ public class GUIView extends JFrame implements GUIInterface {
     saveButton = new JButton("Save");
     buttonPanel.add(saveButton);
 
+    undoButton = new JButton("Undo");
+    buttonPanel.add(undoButton);
+
+    redoButton = new JButton("Redo");
+    buttonPanel.add(redoButton);
+
     confirmButton = new JButton("Confirm");
     confirmButton.setVisible(false);
     buttonPanel.add(confirmButton);
@@ -171,8 +181,14 @@ public class GUIView extends JFrame implements GUIInterface {
     buttonPanel.add(cancelButton);
 
 
-    add(buttonPanel, BorderLayout.SOUTH);
+    progressBar = new JProgressBar(0, 100);
+    progressBar.setStringPainted(true);
+    progressBar.setVisible(false);
 
+    JPanel controlPanel = new JPanel(new BorderLayout());
+    controlPanel.add(progressBar, BorderLayout.NORTH);
+    controlPanel.add(buttonPanel, BorderLayout.CENTER);
+    add(controlPanel, BorderLayout.SOUTH);
 
     pack();
     setLocationRelativeTo(null);
@@ -203,17 +219,33 @@ public class GUIView extends JFrame implements GUIInterface {
     saveButton.addActionListener(evt -> features.saveButton());
     cancelButton.addActionListener(evt -> features.cancelButton());
     confirmButton.addActionListener(evt -> features.confirmButton());
+    undoButton.addActionListener(evt -> features.undoButton());
+    redoButton.addActionListener(evt -> features.redoButton());
   }
 
 
   /**
-   * Sets the displayed image in the user interface.
+   * Sets the displayed image in the user interface. The image is shown in a tiled
+   * viewer that zooms with the mouse wheel and pans by dragging.
    *
    * @param image The BufferedImage to be displayed.
    */
   @Override
   public void setImage(BufferedImage image) {
-    imageDisplay.setIcon(new ImageIcon(image));
+    imageDisplay.setImage(image);
+  }
+
+  /**
+   * Sets the displayed image in the user interface, shown at the given size. The
+   * tiled viewer scales the image as it renders the visible tiles.
+   *
+   * @param image  The BufferedImage to be displayed.
+   * @param width  The width the image is shown at.
+   * @param height The height the image is shown at.
+   */
+  @Override
+  public void setImage(BufferedImage image, int width, int height) {
+    imageDisplay.setImage(image, width, height);
   }
 
   /**
@@ -288,20 +320,56 @@ public class GUIView extends JFrame implements GUIInterface {
   public void showOperationControls(boolean show) {
     confirmButton.setVisible(show);
     cancelButton.setVisible(show);
-    loadButton.setEnabled(!show);
-    blurButton.setEnabled(!show);
-    saveButton.setEnabled(!show);
-    sepiaButton.setEnabled(!show);
-    redButton.setEnabled(!show);
-    greenButton.setEnabled(!show);
-    blueButton.setEnabled(!show);
-    horizontalFlipButton.setEnabled(!show);
-    verticalFlipButton.setEnabled(!show);
-    lumaButton.setEnabled(!show);
-    sharpenButton.setEnabled(!show);
-    compressButton.setEnabled(!show);
-    colorCorrectedButton.setEnabled(!show);
-    adjustLevelsButton.setEnabled(!show);
+    setOperationsEnabled(!show);
+  }
+
+  /**
+   * Shows a progress bar and the cancel button while an operation is running,
+   * and disables every other control until it ends.
+   *
+   * @param busy True while an operation is running, false once it has ended.
+   */
+  @Override
+  public void showBusy(boolean busy) {
+    progressBar.setValue(0);
+    progressBar.setVisible(busy);
+    confirmButton.setVisible(false);
+    cancelButton.setVisible(busy);
+    setOperationsEnabled(!busy);
+  }
+
+  /**
+   * Shows how much of the running operation is done on the progress bar.
+   *
+   * @param percent The percentage of the operation that is done.
+   */
+  @Override
+  public void showProgress(int percent) {
+    progressBar.setValue(percent);
+  }
+
+  /**
+   * Enables or disables the buttons that start an operation.
+   *
+   * @param enabled True to enable the buttons, false to disable them.
+   */
+  private void setOperationsEnabled(boolean enabled) {
+    loadButton.setEnabled(enabled);
+    undoButton.setEnabled(enabled);
+    redoButton.setEnabled(enabled);
+    blurButton.setEnabled(enabled);
+    saveButton.setEnabled(enabled);
+    sepiaButton.setEnabled(enabled);
+    redButton.setEnabled(enabled);
+    greenButton.setEnabled(enabled);
+    blueButton.setEnabled(enabled);
+    horizontalFlipButton.setEnabled(enabled);
+    verticalFlipButton.setEnabled(enabled);
+    lumaButton.setEnabled(enabled);
+    sharpenButton.setEnabled(enabled);
+    compressButton.setEnabled(enabled);
+    colorCorrectedButton.setEnabled(enabled);
+    adjustLevelsButton.setEnabled(enabled);
   }
 
   /**
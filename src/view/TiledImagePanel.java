@@ -0,0 +1,361 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JComponent;
+
+/**
+ * The TiledImagePanel class displays an image that can be zoomed with the mouse wheel
+ * and panned by dragging. Only the tiles visible at the current zoom are rendered,
+ * each from the level of a pyramid of halved copies of the image closest to the zoom,
+ * so that showing a very large image does not rasterise it at full resolution.
+ * Rendered tiles are kept in a cache bounded in bytes, evicting the least recently
+ * shown tiles first.
+ */
+public class TiledImagePanel extends JComponent {
+
+  private static final long serialVersionUID = 1L;
+
+  static final int TILE_SIZE = 256;
+
+  private static final double ZOOM_STEP = 1.25;
+  private static final double MIN_ZOOM = 1.0 / 64;
+  private static final double MAX_ZOOM = 32;
+
+  private final long maxCacheBytes;
+  private final List<BufferedImage> levels;
+  private final LinkedHashMap<String, BufferedImage> tiles;
+  private long cachedBytes;
+  private int imageWidth;
+  private int imageHeight;
+  private double zoom;
+  private int viewX;
+  private int viewY;
+  private boolean fitted;
+  private Point dragStart;
+
+  /**
+   * Constructs an empty TiledImagePanel whose rendered tiles take at most the given
+   * number of bytes.
+   *
+   * @param maxCacheBytes The maximum size of the cached tiles in bytes.
+   * @throws IllegalArgumentException if the size is negative.
+   */
+  public TiledImagePanel(long maxCacheBytes) throws IllegalArgumentException {
+    if (maxCacheBytes < 0) {
+      throw new IllegalArgumentException("Cache size cannot be negative");
+    }
+    this.maxCacheBytes = maxCacheBytes;
+    this.levels = new ArrayList<>();
+    this.tiles = new LinkedHashMap<>(16, 0.75f, true);
+    this.zoom = 1;
+
+    MouseAdapter mouse = new MouseAdapter() {
+      @Override
+      public void mousePressed(MouseEvent e) {
+        dragStart = e.getPoint();
+      }
+
+      @Override
+      public void mouseDragged(MouseEvent e) {
+        if (dragStart != null) {
+          pan(dragStart.x - e.getX(), dragStart.y - e.getY());
+          dragStart = e.getPoint();
+        }
+      }
+
+      @Override
+      public void mouseReleased(MouseEvent e) {
+        dragStart = null;
+      }
+
+      @Override
+      public void mouseWheelMoved(MouseWheelEvent e) {
+        zoomAt(e.getPoint(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+      }
+    };
+    addMouseListener(mouse);
+    addMouseMotionListener(mouse);
+    addMouseWheelListener(mouse);
+  }
+
+  /**
+   * Sets the displayed image. An image of the same size as the displayed one keeps
+   * the current zoom and position; any other image is fitted to the panel.
+   *
+   * @param image The image to display.
+   */
+  public void setImage(BufferedImage image) {
+    setImage(image, image.getWidth(), image.getHeight());
+  }
+
+  /**
+   * Sets the displayed image, shown as if it had the given size. A preview computed on
+   * a reduced copy of an image is given the size of that image, so it is scaled as its
+   * tiles are rendered and keeps the zoom and position of the image it previews. An
+   * image of any other size is fitted to the panel.
+   *
+   * @param image  The image to display.
+   * @param width  The width the image is shown at, at a zoom of 1.
+   * @param height The height the image is shown at, at a zoom of 1.
+   * @throws IllegalArgumentException if the size is not positive.
+   */
+  public void setImage(BufferedImage image, int width, int height)
+          throws IllegalArgumentException {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Size must be positive");
+    }
+    boolean sameSize = !levels.isEmpty() && imageWidth == width && imageHeight == height;
+    levels.clear();
+    levels.add(image);
+    imageWidth = width;
+    imageHeight = height;
+    tiles.clear();
+    cachedBytes = 0;
+    if (!sameSize) {
+      fitted = false;
+    }
+    repaint();
+  }
+
+  /**
+   * Gets the current zoom.
+   *
+   * @return The number of screen pixels per image pixel.
+   */
+  public double getZoom() {
+    return zoom;
+  }
+
+  /**
+   * Gets the size of the tiles currently cached.
+   *
+   * @return The size of the cached tiles in bytes.
+   */
+  public long getCachedBytes() {
+    return cachedBytes;
+  }
+
+  /**
+   * Zooms the image by a factor, keeping the image pixel under the given point of the
+   * panel in place.
+   *
+   * @param point  The point of the panel to zoom around.
+   * @param factor The factor to multiply the zoom by.
+   */
+  public void zoomAt(Point point, double factor) {
+    if (levels.isEmpty()) {
+      return;
+    }
+    fit();
+    double imageX = (point.x - originX()) / zoom;
+    double imageY = (point.y - originY()) / zoom;
+    double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+    if (newZoom != zoom) {
+      zoom = newZoom;
+      viewX = (int) Math.round(imageX * zoom - point.x);
+      viewY = (int) Math.round(imageY * zoom - point.y);
+      repaint();
+    }
+  }
+
+  /**
+   * Moves the visible part of the image.
+   *
+   * @param dx The number of screen pixels to move right.
+   * @param dy The number of screen pixels to move down.
+   */
+  public void pan(int dx, int dy) {
+    viewX += dx;
+    viewY += dy;
+    repaint();
+  }
+
+  /**
+   * Paints the tiles of the image that are visible in the panel.
+   *
+   * @param g The graphics to paint with.
+   */
+  @Override
+  protected void paintComponent(Graphics g) {
+    g.setColor(getBackground() != null ? getBackground() : Color.LIGHT_GRAY);
+    g.fillRect(0, 0, getWidth(), getHeight());
+    if (levels.isEmpty()) {
+      return;
+    }
+    fit();
+    int originX = originX();
+    int originY = originY();
+    int firstX = Math.max(0, -originX) / TILE_SIZE;
+    int firstY = Math.max(0, -originY) / TILE_SIZE;
+    int lastX = (Math.min(zoomedWidth(), getWidth() - originX) - 1) / TILE_SIZE;
+    int lastY = (Math.min(zoomedHeight(), getHeight() - originY) - 1) / TILE_SIZE;
+    for (int tileX = firstX; tileX <= lastX; tileX++) {
+      for (int tileY = firstY; tileY <= lastY; tileY++) {
+        g.drawImage(tile(tileX, tileY), originX + tileX * TILE_SIZE,
+                originY + tileY * TILE_SIZE, null);
+      }
+    }
+  }
+
+  /**
+   * Fits the image to the panel if it was not fitted yet, and keeps the visible part
+   * of the image within the image.
+   */
+  private void fit() {
+    if (!fitted && getWidth() > 0 && getHeight() > 0) {
+      zoom = Math.min(1, Math.min((double) getWidth() / imageWidth,
+              (double) getHeight() / imageHeight));
+      zoom = Math.max(MIN_ZOOM, zoom);
+      viewX = 0;
+      viewY = 0;
+      fitted = true;
+    }
+    viewX = Math.max(0, Math.min(viewX, zoomedWidth() - getWidth()));
+    viewY = Math.max(0, Math.min(viewY, zoomedHeight() - getHeight()));
+  }
+
+  /**
+   * Gets the horizontal position of the image in the panel, centering an image that
+   * is narrower than the panel.
+   *
+   * @return The position of the left edge of the image in the panel.
+   */
+  private int originX() {
+    int width = zoomedWidth();
+    return width < getWidth() ? (getWidth() - width) / 2 : -viewX;
+  }
+
+  /**
+   * Gets the vertical position of the image in the panel, centering an image that is
+   * shorter than the panel.
+   *
+   * @return The position of the top edge of the image in the panel.
+   */
+  private int originY() {
+    int height = zoomedHeight();
+    return height < getHeight() ? (getHeight() - height) / 2 : -viewY;
+  }
+
+  /**
+   * Gets the width of the image at the current zoom.
+   *
+   * @return The zoomed width in screen pixels.
+   */
+  private int zoomedWidth() {
+    return Math.max(1, (int) Math.round(imageWidth * zoom));
+  }
+
+  /**
+   * Gets the height of the image at the current zoom.
+   *
+   * @return The zoomed height in screen pixels.
+   */
+  private int zoomedHeight() {
+    return Math.max(1, (int) Math.round(imageHeight * zoom));
+  }
+
+  /**
+   * Gets a tile of the image at the current zoom, rendering it if it is not cached.
+   *
+   * @param tileX The column of the tile.
+   * @param tileY The row of the tile.
+   * @return The rendered tile.
+   */
+  private BufferedImage tile(int tileX, int tileY) {
+    String key = zoom + ":" + tileX + ":" + tileY;
+    BufferedImage tile = tiles.get(key);
+    if (tile == null) {
+      tile = render(tileX, tileY);
+      tiles.put(key, tile);
+      cachedBytes += 4L * tile.getWidth() * tile.getHeight();
+      Iterator<Map.Entry<String, BufferedImage>> eldest = tiles.entrySet().iterator();
+      while (cachedBytes > maxCacheBytes && eldest.hasNext()) {
+        BufferedImage evicted = eldest.next().getValue();
+        eldest.remove();
+        cachedBytes -= 4L * evicted.getWidth() * evicted.getHeight();
+      }
+    }
+    return tile;
+  }
+
+  /**
+   * Renders a tile of the image at the current zoom from the smallest level of the
+   * pyramid that is at least as detailed as the zoom. The level is scaled from its own
+   * size to the size the image is shown at, so a reduced preview is enlarged here
+   * rather than before it is displayed.
+   *
+   * @param tileX The column of the tile.
+   * @param tileY The row of the tile.
+   * @return The rendered tile.
+   */
+  private BufferedImage render(int tileX, int tileY) {
+    double rasterZoom = zoom * imageWidth / levels.get(0).getWidth();
+    int level = 0;
+    while (rasterZoom * (1 << (level + 1)) <= 1 && level < 30) {
+      level++;
+    }
+    BufferedImage source = level(level);
+    double scaleX = zoom * imageWidth / source.getWidth();
+    double scaleY = zoom * imageHeight / source.getHeight();
+
+    int x = tileX * TILE_SIZE;
+    int y = tileY * TILE_SIZE;
+    int width = Math.min(TILE_SIZE, zoomedWidth() - x);
+    int height = Math.min(TILE_SIZE, zoomedHeight() - y);
+    int sourceX = Math.min(source.getWidth() - 1, (int) Math.floor(x / scaleX));
+    int sourceY = Math.min(source.getHeight() - 1, (int) Math.floor(y / scaleY));
+    int sourceWidth = Math.min(source.getWidth() - sourceX,
+            (int) Math.ceil((x + width) / scaleX) - sourceX + 1);
+    int sourceHeight = Math.min(source.getHeight() - sourceY,
+            (int) Math.ceil((y + height) / scaleY) - sourceY + 1);
+
+    BufferedImage tile = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = tile.createGraphics();
+    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, zoom >= 1
+            ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+            : RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    graphics.translate(-x, -y);
+    graphics.scale(scaleX, scaleY);
+    graphics.drawImage(source.getSubimage(sourceX, sourceY, sourceWidth, sourceHeight),
+            sourceX, sourceY, null);
+    graphics.dispose();
+    return tile;
+  }
+
+  /**
+   * Gets a level of the pyramid of the image, halving the previous level the first
+   * time it is needed.
+   *
+   * @param level The level, where level 0 is the image itself.
+   * @return The image at the given level.
+   */
+  private BufferedImage level(int level) {
+    while (levels.size() <= level) {
+      BufferedImage previous = levels.get(levels.size() - 1);
+      int width = Math.max(1, (previous.getWidth() + 1) / 2);
+      int height = Math.max(1, (previous.getHeight() + 1) / 2);
+      BufferedImage halved = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      Graphics2D graphics = halved.createGraphics();
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+              RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.drawImage(previous, 0, 0, width, height, null);
+      graphics.dispose();
+      levels.add(halved);
+    }
+    return levels.get(level);
+  }
+}
@@ -0,0 +1,121 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import controller.commands.AtomicFileWriter;
+import controller.commands.Durability;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * The AtomicFileWriterTest class contains JUnit tests for the AtomicFileWriter
+ * class, which replaces files through a temporary file and a rename.
+ */
+public class AtomicFileWriterTest {
+
+  private final File directory = new File("test/res/atomic");
+  private final File target = new File(directory, "target.txt");
+
+  /**
+   * Deletes the written files and restores the default durability after each test.
+   */
+  @After
+  public void delete() {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+    AtomicFileWriter.setDurability(Durability.NONE);
+  }
+
+  /**
+   * Writes the given text to a file.
+   *
+   * @param file The file to write.
+   * @param text The text to write.
+   * @throws IOException if the file cannot be written.
+   */
+  private void writeText(File file, String text) throws IOException {
+    try (FileWriter writer = new FileWriter(file)) {
+      writer.write(text);
+    }
+  }
+
+  /**
+   * Test that a write replaces the file in every durability mode.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  @Test
+  public void testWriteReplacesFile() throws IOException {
+    directory.mkdirs();
+    for (Durability durability : Durability.values()) {
+      AtomicFileWriter.setDurability(durability);
+      AtomicFileWriter.write(target.getPath(), file -> writeText(file, durability.name()));
+      assertEquals(durability.name(), new String(Files.readAllBytes(target.toPath())));
+    }
+    assertEquals(1, directory.listFiles().length);
+  }
+
+  /**
+   * Test that a failed write leaves the previous file and no temporary file behind.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  @Test
+  public void testFailedWriteKeepsPreviousFile() throws IOException {
+    directory.mkdirs();
+    writeText(target, "previous");
+    try {
+      AtomicFileWriter.write(target.getPath(), file -> {
+        writeText(file, "partial");
+        throw new IOException("Encoding failed");
+      });
+      fail("This test should have failed!");
+    } catch (IOException e) {
+      assertEquals("Encoding failed", e.getMessage());
+    }
+    assertEquals("previous", new String(Files.readAllBytes(target.toPath())));
+    assertEquals(1, directory.listFiles().length);
+  }
+
+  /**
+   * Test that durability cannot be null.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDurability() {
+    AtomicFileWriter.setDurability(null);
+  }
+
+  /**
+   * Test that a replaced file keeps its permissions on file systems that have them.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  @Test
+  public void testWriteKeepsPermissions() throws IOException {
+    directory.mkdirs();
+    writeText(target, "old");
+    PosixFileAttributeView view = Files.getFileAttributeView(target.toPath(),
+            PosixFileAttributeView.class);
+    if (view == null) {
+      return;
+    }
+    view.setPermissions(PosixFilePermissions.fromString("rw-r-----"));
+
+    AtomicFileWriter.write(target.getPath(), file -> writeText(file, "new"));
+    assertEquals("new", new String(Files.readAllBytes(target.toPath())));
+    assertEquals("rw-r-----", PosixFilePermissions.toString(Files.getFileAttributeView(
+            target.toPath(), PosixFileAttributeView.class).readAttributes().permissions()));
+  }
+}
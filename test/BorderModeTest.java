@@ -0,0 +1,51 @@
+import org.junit.Test;
+
+import model.BorderMode;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The BorderModeTest class contains JUnit tests for the BorderMode enum, which maps
+ * positions beyond the edges of an image to the pixels read there.
+ */
+public class BorderModeTest {
+
+  /**
+   * Test the positions read before, inside and after a row of five pixels.
+   */
+  @Test
+  public void testIndex() {
+    int[] positions = {-7, -2, -1, 0, 4, 5, 6, 11};
+    int[][] expected = {
+        {-1, -1, -1, 0, 4, -1, -1, -1},
+        {0, 0, 0, 0, 4, 4, 4, 4},
+        {1, 2, 1, 0, 4, 3, 2, 3},
+        {3, 3, 4, 0, 4, 0, 1, 1}};
+    BorderMode[] modes = {BorderMode.ZERO, BorderMode.CLAMP, BorderMode.REFLECT,
+        BorderMode.WRAP};
+    for (int mode = 0; mode < modes.length; mode++) {
+      for (int i = 0; i < positions.length; i++) {
+        assertEquals(modes[mode] + " " + positions[i], expected[mode][i],
+                modes[mode].index(positions[i], 5));
+      }
+    }
+    assertEquals(0, BorderMode.REFLECT.index(-3, 1));
+  }
+
+  /**
+   * Test parsing border modes by name.
+   */
+  @Test
+  public void testParse() {
+    assertEquals(BorderMode.REFLECT, BorderMode.parse("Reflect"));
+    assertEquals("wrap", BorderMode.WRAP.toString());
+  }
+
+  /**
+   * Test that unknown border modes are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseUnknown() {
+    BorderMode.parse("mirror");
+  }
+}
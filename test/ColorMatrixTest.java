@@ -0,0 +1,82 @@
+import org.junit.Test;
+
+import model.ColorMatrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The ColorMatrixTest class contains JUnit tests for the ColorMatrix class, which
+ * represents a linear color transform.
+ */
+public class ColorMatrixTest {
+
+  /**
+   * Test parsing a matrix with and without offsets.
+   */
+  @Test
+  public void testParse() {
+    ColorMatrix matrix = ColorMatrix.parse("1,0,0", "0,0.5,0,10", "0,0,1,-5");
+    double[][] coefficients = matrix.getCoefficients();
+
+    assertArrayEquals(new double[]{1, 0, 0, 0}, coefficients[0], 0);
+    assertArrayEquals(new double[]{0, 0.5, 0, 10}, coefficients[1], 0);
+    assertArrayEquals(new double[]{0, 0, 1, -5}, coefficients[2], 0);
+    assertEquals("1.0,0.0,0.0,0.0 0.0,0.5,0.0,10.0 0.0,0.0,1.0,-5.0", matrix.toString());
+  }
+
+  /**
+   * Test composing two matrices.
+   */
+  @Test
+  public void testThen() {
+    ColorMatrix scale = new ColorMatrix(new double[][]{{2, 0, 0, 1}, {0, 1, 0}, {0, 0, 1}});
+    ColorMatrix mix = new ColorMatrix(new double[][]{{0, 1, 0}, {0.5, 0, 0, 3}, {1, 1, 1}});
+    double[][] composed = scale.then(mix).getCoefficients();
+
+    assertArrayEquals(new double[]{0, 1, 0, 0}, composed[0], 1e-12);
+    assertArrayEquals(new double[]{1, 0, 0, 3.5}, composed[1], 1e-12);
+    assertArrayEquals(new double[]{2, 1, 1, 1}, composed[2], 1e-12);
+  }
+
+  /**
+   * Test that the coefficients are copied out of the matrix.
+   */
+  @Test
+  public void testCoefficientsCopied() {
+    ColorMatrix.SEPIA.getCoefficients()[0][0] = 5;
+    assertEquals(0.393, ColorMatrix.SEPIA.getCoefficients()[0][0], 0);
+  }
+
+  /**
+   * Test that a matrix must have three rows.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRows() {
+    new ColorMatrix(new double[][]{{1, 0, 0}, {0, 1, 0}});
+  }
+
+  /**
+   * Test that rows must have three or four values.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRowLength() {
+    ColorMatrix.parse("1,0", "0,1,0", "0,0,1");
+  }
+
+  /**
+   * Test that values must be numbers.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidValue() {
+    ColorMatrix.parse("1,0,x", "0,1,0", "0,0,1");
+  }
+
+  /**
+   * Test that values must be finite and in range.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueOutOfRange() {
+    new ColorMatrix(new double[][]{{Double.NaN, 0, 0}, {0, 1, 0}, {0, 0, 1}});
+  }
+}
@@ -1,6 +1,8 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Optional;
+
 import controller.commands.CommandFactory;
 import controller.commands.CommandGroup;
 import model.ImageModelInterface;
@@ -82,6 +84,8 @@ public class CommandFactoryTest {
     assertNotNull(commandGroup.getPreviewCommand());
     assertNotNull(commandGroup.getApplyCommand());
     assertEquals("BlurCommand", commandGroup.getApplyCommand().toString());
+    assertEquals("blur", commandGroup.getOperation());
+    assertEquals(Optional.of(20.5), commandGroup.getSplitPercentage());
   }
 
   /**
@@ -242,6 +246,8 @@ public class CommandFactoryTest {
     assertNotNull(commandGroup.getPreviewCommand());
     assertNotNull(commandGroup.getApplyCommand());
     assertEquals("LevelsAdjustmentCommand", commandGroup.getApplyCommand().toString());
+    assertEquals("adjust-levels 10 20 30", commandGroup.getOperation());
+    assertEquals(Optional.of(20.5), commandGroup.getSplitPercentage());
   }
 
   /**
@@ -0,0 +1,133 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.EditHistory;
+import model.Image;
+import model.Pixel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The EditHistoryTest class contains JUnit tests for the EditHistory class, which
+ * keeps the states of an image for undo and redo.
+ */
+public class EditHistoryTest {
+
+  private Image image;
+
+  /**
+   * Sets up an image of 100x70 pixels, spanning several tiles.
+   */
+  @Before
+  public void setup() {
+    Pixel[][] pixels = new Pixel[100][70];
+    for (int x = 0; x < 100; x++) {
+      for (int y = 0; y < 70; y++) {
+        pixels[x][y] = new Pixel(x * 2, y * 3, (x + y) % 256);
+      }
+    }
+    image = new Image(pixels);
+  }
+
+  /**
+   * Asserts that two images have the same size and pixels.
+   *
+   * @param expected The expected image.
+   * @param actual   The actual image.
+   */
+  private void assertSameImage(Image expected, Image actual) {
+    Pixel[][] expectedPixels = expected.getPixels();
+    Pixel[][] actualPixels = actual.getPixels();
+    assertEquals(expectedPixels.length, actualPixels.length);
+    assertEquals(expectedPixels[0].length, actualPixels[0].length);
+    for (int x = 0; x < expectedPixels.length; x++) {
+      for (int y = 0; y < expectedPixels[0].length; y++) {
+        assertEquals(expectedPixels[x][y].getRed(), actualPixels[x][y].getRed());
+        assertEquals(expectedPixels[x][y].getGreen(), actualPixels[x][y].getGreen());
+        assertEquals(expectedPixels[x][y].getBlue(), actualPixels[x][y].getBlue());
+      }
+    }
+  }
+
+  /**
+   * Creates a copy of the image with one pixel changed.
+   *
+   * @param source The image.
+   * @param x      The column of the changed pixel.
+   * @param y      The row of the changed pixel.
+   * @return The changed copy.
+   */
+  private Image changed(Image source, int x, int y) {
+    Pixel[][] pixels = new Pixel[100][];
+    for (int i = 0; i < 100; i++) {
+      pixels[i] = source.getPixels()[i].clone();
+    }
+    pixels[x][y] = new Pixel(255, 255, 255);
+    return new Image(pixels);
+  }
+
+  /**
+   * Test undoing and redoing edits, and that a new edit drops the undone states.
+   */
+  @Test
+  public void testUndoRedo() {
+    EditHistory history = new EditHistory(1L << 30);
+    assertNull(history.undo());
+    history.reset(image);
+    Image blurred = image.blur();
+    history.record(blurred);
+    Image flipped = blurred.horizontalFlip();
+    history.record(flipped);
+    history.record(flipped);
+    assertEquals(3, history.size());
+
+    assertSameImage(blurred, history.undo());
+    assertSameImage(image, history.undo());
+    assertNull(history.undo());
+    assertSameImage(blurred, history.redo());
+
+    Image sepia = blurred.sepia();
+    history.record(sepia);
+    assertNull(history.redo());
+    assertEquals(3, history.size());
+    assertSameImage(blurred, history.undo());
+  }
+
+  /**
+   * Test that an edit changing one pixel only stores the tile holding it.
+   */
+  @Test
+  public void testUnchangedTilesAreShared() {
+    EditHistory history = new EditHistory(1L << 30);
+    history.reset(image);
+    assertEquals(4L * 100 * 70, history.getBytes());
+
+    Image edited = changed(image, 70, 10);
+    history.record(edited);
+    assertEquals(4L * 100 * 70 + 4L * 36 * 64, history.getBytes());
+
+    assertSameImage(image, history.undo());
+    assertSameImage(edited, history.redo());
+  }
+
+  /**
+   * Test that the oldest states are dropped once the history exceeds its bound.
+   */
+  @Test
+  public void testBound() {
+    EditHistory history = new EditHistory(4L * 100 * 70 + 2 * 4L * 64 * 64);
+    history.reset(image);
+    Image current = image;
+    for (int i = 0; i < 5; i++) {
+      current = changed(current, 10, 10 + i);
+      history.record(current);
+      assertTrue(history.getBytes() <= 4L * 100 * 70 + 2 * 4L * 64 * 64);
+    }
+    assertEquals(3, history.size());
+    assertTrue(history.undo() != null);
+    assertTrue(history.undo() != null);
+    assertNull(history.undo());
+  }
+}
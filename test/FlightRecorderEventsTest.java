@@ -0,0 +1,123 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import controller.commands.BlurCommand;
+import controller.commands.CompressCommand;
+import controller.commands.ImagePPM;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Image;
+import model.ImageModel;
+import model.Pixel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The FlightRecorderEventsTest class contains JUnit tests for the Flight Recorder
+ * events emitted by commands, image formats and the Haar wavelet transform.
+ */
+public class FlightRecorderEventsTest {
+
+  private final String savePath = "test/res/flightRecorderTest.ppm";
+  private final File recordingFile = new File("test/res/flightRecorderTest.jfr");
+  private ImageModel model;
+
+  /**
+   * Sets up a model holding a sample image.
+   */
+  @Before
+  public void setup() {
+    Pixel[][] pixelArray = new Pixel[3][2];
+    pixelArray[0][0] = new Pixel(150, 100, 0);
+    pixelArray[0][1] = new Pixel(0, 120, 180);
+    pixelArray[1][0] = new Pixel(0, 0, 0);
+    pixelArray[1][1] = new Pixel(255, 255, 255);
+    pixelArray[2][0] = new Pixel(230, 130, 100);
+    pixelArray[2][1] = new Pixel(125, 190, 0);
+    this.model = new ImageModel();
+    this.model.addImage("image", new Image(pixelArray));
+  }
+
+  /**
+   * Deletes the files written by the test.
+   */
+  @After
+  public void delete() {
+    new File(savePath).delete();
+    recordingFile.delete();
+  }
+
+  /**
+   * Test that commands, codecs and transform stages are recorded with their details.
+   *
+   * @throws Exception if the recording cannot be written or read.
+   */
+  @Test
+  public void testEventsAreRecorded() throws Exception {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable("grime.Command").withThreshold(Duration.ZERO);
+      recording.enable("grime.Codec").withThreshold(Duration.ZERO);
+      recording.enable("grime.HaarTransform").withThreshold(Duration.ZERO);
+      recording.start();
+
+      new BlurCommand(model, "image", "blurred", Optional.of(50.0)).execute();
+      new CompressCommand(model, 40, "image", "compressed").execute();
+      new ImagePPM(savePath).save(savePath, model.getImage("blurred"));
+      new ImagePPM(savePath).load();
+
+      recording.stop();
+      recording.dump(recordingFile.toPath());
+      events = RecordingFile.readAllEvents(recordingFile.toPath());
+    }
+
+    RecordedEvent blur = find(events, "grime.Command", "command", "BlurCommand");
+    assertEquals("image", blur.getString("imageName"));
+    assertEquals("blurred", blur.getString("destination"));
+    assertEquals(3, blur.getInt("width"));
+    assertEquals(2, blur.getInt("height"));
+    assertEquals("split 50.0", blur.getString("parameters"));
+    assertTrue(blur.getBoolean("success"));
+
+    RecordedEvent compress = find(events, "grime.Command", "command", "CompressCommand");
+    assertEquals("percentage 40.0", compress.getString("parameters"));
+
+    RecordedEvent save = find(events, "grime.Codec", "operation", "save");
+    assertEquals("ppm", save.getString("format"));
+    assertEquals(savePath, save.getString("path"));
+    RecordedEvent load = find(events, "grime.Codec", "operation", "load");
+    assertEquals(3, load.getInt("width"));
+    assertTrue(load.getBoolean("success"));
+
+    assertEquals(3, find(events, "grime.HaarTransform", "stage", "haar").getInt("width"));
+    assertEquals(40.0, find(events, "grime.HaarTransform", "stage", "calculateThreshold")
+            .getDouble("percentage"), 0.001);
+  }
+
+  /**
+   * Finds the first event of a type with the given value of a field.
+   *
+   * @param events The recorded events.
+   * @param type   The name of the event type.
+   * @param field  The name of the field.
+   * @param value  The value of the field.
+   * @return The event.
+   */
+  private RecordedEvent find(List<RecordedEvent> events, String type, String field,
+                             String value) {
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals(type) && value.equals(event.getValue(field))) {
+        return event;
+      }
+    }
+    throw new AssertionError("No " + type + " event with " + field + " " + value);
+  }
+}
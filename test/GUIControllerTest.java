@@ -1,6 +1,10 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.SwingUtilities;
 
 import controller.GUIController;
 import model.ImageModelInterface;
@@ -80,6 +84,21 @@ public class GUIControllerTest {
     assertEquals(expectedResult, res);
   }
 
+  /**
+   * Testing UndoButton and RedoButton without any applied operation.
+   */
+  @Test
+  public void testUndoRedoWithoutHistory() {
+    controller.undoButton();
+    controller.redoButton();
+    String res = MockView.getLog();
+
+    String expectedResult = "display method is invoked!\n"
+            + "display method is invoked!\n";
+
+    assertEquals(expectedResult, res);
+  }
+
   /**
    * Testing BlurButton.
    */
@@ -301,4 +320,27 @@ public class GUIControllerTest {
     assertEquals(expectedResult, res);
   }
 
-}
\ No newline at end of file
+  /**
+   * Testing LoadButton with commands run on a background worker.
+   *
+   * @throws Exception if waiting for the worker fails.
+   */
+  @Test
+  public void testLoadButtonInBackground() throws Exception {
+    ExecutorService worker = Executors.newSingleThreadExecutor();
+    GUIController backgroundController = new GUIController(new MockView(), new MockModel(),
+            worker);
+    backgroundController.loadButton();
+    worker.submit(() -> { }).get();
+    SwingUtilities.invokeAndWait(() -> { });
+    worker.shutdown();
+    String res = MockView.getLog();
+
+    String expectedResult = "loadImagePath method is invoked!\n"
+            + "showBusy method is invoked!\n"
+            + "showBusy method is invoked!\n"
+            + "display method is invoked!\n";
+
+    assertEquals(expectedResult, res);
+  }
+}
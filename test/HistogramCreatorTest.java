@@ -0,0 +1,100 @@
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import model.HistogramCreator;
+import model.Pixel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The HistogramCreatorTest class contains JUnit tests for the HistogramCreator class,
+ * which rasterises histograms into images.
+ */
+public class HistogramCreatorTest {
+
+  /**
+   * Creates histograms where every red value occurs once, green value 128 occurs twice
+   * and blue value 255 occurs four times.
+   *
+   * @return The red, green and blue histograms.
+   */
+  private int[][] channels() {
+    int[][] channels = new int[3][256];
+    for (int value = 0; value < 256; value++) {
+      channels[0][value] = 1;
+    }
+    channels[1][128] = 2;
+    channels[2][255] = 4;
+    return channels;
+  }
+
+  /**
+   * Test that lines are drawn at the height of their frequency over the grid.
+   */
+  @Test
+  public void testRenderHistogram() {
+    BufferedImage image = HistogramCreator.renderHistogram(channels());
+
+    assertEquals(256, image.getWidth());
+    assertEquals(256, image.getHeight());
+    assertEquals(0xff0000, image.getRGB(100, 255 - 63) & 0xffffff);
+    assertEquals(0x00ff00, image.getRGB(128, 255 - 127) & 0xffffff);
+    assertEquals(0x0000ff, image.getRGB(255, 0) & 0xffffff);
+    assertEquals(0xc0c0c0, image.getRGB(16, 100) & 0xffffff);
+    assertEquals(0xffffff, image.getRGB(100, 100) & 0xffffff);
+  }
+
+  /**
+   * Test that a creator draws every histogram into the same image.
+   */
+  @Test
+  public void testRenderReusesImage() {
+    HistogramCreator creator = new HistogramCreator();
+    BufferedImage first = creator.render(channels());
+    int[][] empty = new int[3][256];
+    BufferedImage second = creator.render(empty);
+
+    assertSame(first, second);
+    assertEquals(0xc0c0c0, second.getRGB(100, 255 - 63) & 0xffffff);
+  }
+
+  /**
+   * Test the logarithmic and cumulative scales.
+   */
+  @Test
+  public void testLogAndCumulative() {
+    BufferedImage log = new HistogramCreator(256, true, false).render(channels());
+    int row = 255 - (int) (Math.log(2) / Math.log(5) * 255);
+    assertEquals(0xff0000, log.getRGB(100, row) & 0xffffff);
+
+    BufferedImage cumulative = new HistogramCreator(256, false, true).render(channels());
+    assertEquals(0xff0000, cumulative.getRGB(127, 128) & 0xffffff);
+    assertEquals(0x00ff00, cumulative.getRGB(200, 255 - 1) & 0xffffff);
+    assertEquals(0xff0000, cumulative.getRGB(255, 0) & 0xffffff);
+  }
+
+  /**
+   * Test drawing a histogram at another size and converting it to pixels.
+   */
+  @Test
+  public void testSizeAndPixels() {
+    BufferedImage small = new HistogramCreator(64, false, false).render(channels());
+    assertEquals(64, small.getWidth());
+    assertEquals(0x0000ff, small.getRGB(63, 0) & 0xffffff);
+
+    Pixel[][] pixels = HistogramCreator.createHistogramImage(channels());
+    assertEquals(256, pixels.length);
+    assertEquals(255, pixels[128][255 - 127].getGreen());
+    assertEquals(0, pixels[128][255 - 127].getRed());
+  }
+
+  /**
+   * Test that a histogram cannot have an empty size.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new HistogramCreator(0, false, false);
+  }
+}
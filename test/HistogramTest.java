@@ -0,0 +1,113 @@
+import org.junit.Test;
+
+import model.Histogram;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The HistogramTest class contains JUnit tests for the Histogram class, which holds
+ * the histograms of an image and derives the histograms of edited images.
+ */
+public class HistogramTest {
+
+  /**
+   * Creates a histogram of four pixels with red values 0, 10, 10 and 255, and green
+   * and blue values of 100.
+   *
+   * @return The histogram.
+   */
+  private Histogram histogram() {
+    int[][] counts = new int[3][256];
+    counts[0][0] = 1;
+    counts[0][10] = 2;
+    counts[0][255] = 1;
+    counts[1][100] = 4;
+    counts[2][100] = 4;
+    return new Histogram(counts);
+  }
+
+  /**
+   * Test that the counts are copied in and out of the histogram.
+   */
+  @Test
+  public void testCounts() {
+    int[][] counts = new int[3][256];
+    counts[0][5] = 3;
+    Histogram histogram = new Histogram(counts);
+    counts[0][5] = 7;
+    histogram.getCounts()[0][5] = 9;
+
+    assertEquals(3, histogram.getCount(0, 5));
+    assertEquals(3, histogram.getTotal());
+  }
+
+  /**
+   * Test moving the counts through lookup tables.
+   */
+  @Test
+  public void testRemap() {
+    int[] half = new int[256];
+    int[] zero = new int[256];
+    for (int value = 0; value < 256; value++) {
+      half[value] = value / 2;
+    }
+    Histogram remapped = histogram().remap(new int[][]{half, zero, half});
+
+    assertEquals(1, remapped.getCount(0, 0));
+    assertEquals(2, remapped.getCount(0, 5));
+    assertEquals(1, remapped.getCount(0, 127));
+    assertEquals(4, remapped.getCount(1, 0));
+    assertEquals(4, remapped.getCount(2, 50));
+    assertEquals(4, remapped.getTotal());
+  }
+
+  /**
+   * Test replacing the counts of some of the pixels.
+   */
+  @Test
+  public void testReplace() {
+    int[][] removed = new int[3][256];
+    removed[0][10] = 1;
+    removed[1][100] = 1;
+    removed[2][100] = 1;
+    int[][] added = new int[3][256];
+    added[0][20] = 1;
+    added[1][0] = 1;
+    added[2][100] = 1;
+    Histogram replaced = histogram().replace(new Histogram(removed), new Histogram(added));
+
+    assertEquals(1, replaced.getCount(0, 10));
+    assertEquals(1, replaced.getCount(0, 20));
+    assertEquals(3, replaced.getCount(1, 100));
+    assertEquals(1, replaced.getCount(1, 0));
+    assertEquals(4, replaced.getCount(2, 100));
+  }
+
+  /**
+   * Test that pixels that were not counted cannot be removed.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testReplaceMissingPixels() {
+    int[][] removed = new int[3][256];
+    removed[0][1] = 1;
+    histogram().replace(new Histogram(removed), new Histogram(new int[3][256]));
+  }
+
+  /**
+   * Test that lookup tables must map into the range of a component.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRemapOutOfRange() {
+    int[] table = new int[256];
+    table[3] = 256;
+    histogram().remap(new int[][]{table, table, table});
+  }
+
+  /**
+   * Test that a histogram must have three channels of 256 values.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCounts() {
+    new Histogram(new int[3][255]);
+  }
+}
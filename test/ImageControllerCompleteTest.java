@@ -13,15 +13,18 @@ import javax.imageio.ImageIO;
 
 import controller.ImageController;
 import controller.ImageControllerInterface;
+import controller.commands.LoadCommand;
 import model.Image;
 import model.ImageModel;
 import model.ImageModelInterface;
 import model.Pixel;
+import model.ResultCache;
 import view.ImageView;
 import view.ImageViewInterface;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 
@@ -971,13 +974,13 @@ public class ImageControllerCompleteTest {
       int height = testImage.getPixels()[0].length;
 
       Pixel[][] expectedArray = new Pixel[3][3];
-      expectedArray[0][0] = new Pixel(165, 163, 0);
-      expectedArray[0][1] = new Pixel(174, 186, 255);
-      expectedArray[0][2] = new Pixel(219, 9, 255);
+      expectedArray[0][0] = new Pixel(128, 139, 13);
+      expectedArray[0][1] = new Pixel(113, 191, 255);
+      expectedArray[0][2] = new Pixel(244, 64, 255);
 
-      expectedArray[1][0] = new Pixel(15, 64, 13);
+      expectedArray[1][0] = new Pixel(148, 184, 51);
       expectedArray[1][1] = new Pixel(255, 255, 255);
-      expectedArray[1][2] = new Pixel(64, 139, 255);
+      expectedArray[1][2] = new Pixel(139, 218, 255);
 
       expectedArray[2][0] = new Pixel(255, 199, 58);
       expectedArray[2][1] = new Pixel(218, 255, 137);
@@ -1026,13 +1029,13 @@ public class ImageControllerCompleteTest {
       int height = testImage.getPixels()[0].length;
 
       Pixel[][] expectedArray = new Pixel[3][3];
-      expectedArray[0][0] = new Pixel(165, 163, 0);
-      expectedArray[0][1] = new Pixel(174, 186, 255);
-      expectedArray[0][2] = new Pixel(219, 9, 255);
+      expectedArray[0][0] = new Pixel(128, 139, 13);
+      expectedArray[0][1] = new Pixel(113, 191, 255);
+      expectedArray[0][2] = new Pixel(244, 64, 255);
 
-      expectedArray[1][0] = new Pixel(15, 64, 13);
+      expectedArray[1][0] = new Pixel(148, 184, 51);
       expectedArray[1][1] = new Pixel(255, 255, 255);
-      expectedArray[1][2] = new Pixel(64, 139, 255);
+      expectedArray[1][2] = new Pixel(139, 218, 255);
 
       expectedArray[2][0] = new Pixel(230, 130, 100);
       expectedArray[2][1] = new Pixel(125, 190, 0);
@@ -1977,4 +1980,46 @@ public class ImageControllerCompleteTest {
       fail("This test should have failed!");
     }
   }
+
+  /**
+   * test repeated loads of the same file are decoded once and share the image.
+   */
+  @Test
+  public void testRepeatedLoadUsesDecodedImage() {
+    String inputData = "load " + this.imagePath + " first\n"
+            + "load " + this.imagePath + " second\nq";
+    simulateUserInput(inputData);
+
+    ImageViewInterface view = new ImageView();
+    ImageModelInterface model = new ImageModel();
+    ImageController controller = new ImageController(view, model);
+
+    controller.process();
+    assertTrue(model.getImage("first") == model.getImage("second"));
+    assertEquals(1, controller.getDecodedImages().getHits());
+    assertEquals(1, controller.getDecodedImages().getMisses());
+  }
+
+  /**
+   * test a file that changed on disk is decoded again.
+   *
+   * @throws Exception if the image cannot be rewritten or loaded.
+   */
+  @Test
+  public void testLoadAfterFileChangeDecodesAgain() throws Exception {
+    ImageModelInterface model = new ImageModel();
+    ResultCache decodedImages = new ResultCache(1024 * 1024);
+
+    assertTrue(new LoadCommand(model, this.imagePath, "first", decodedImages).execute());
+
+    BufferedImage changed = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+    File file = new File(this.imagePath);
+    ImageIO.write(changed, "png", file);
+    file.setLastModified(file.lastModified() + 2000);
+
+    assertTrue(new LoadCommand(model, this.imagePath, "second", decodedImages).execute());
+    assertEquals(2, model.getImage("second").getPixels().length);
+    assertEquals(0, decodedImages.getHits());
+    assertEquals(2, decodedImages.getMisses());
+  }
 }
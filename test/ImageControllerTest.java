@@ -4,7 +4,11 @@ import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 import controller.ImageController;
 import controller.ImageControllerInterface;
@@ -253,6 +257,52 @@ public class ImageControllerTest {
     assertTrue(model.getLog().contains("blurCommand method is invoked!"));
   }
 
+  /**
+   * Test that a blur with a standard deviation invokes the Gaussian blur.
+   */
+  @Test
+  public void testControllerGaussianBlurMethodMock() {
+    String inputData = "blur 2.5 testNYC testBlur split 50\nq";
+    ByteArrayInputStream inContent = new ByteArrayInputStream(inputData.getBytes());
+    System.setIn(inContent);
+
+    ImageViewInterface view = new ImageView();
+    MockModel model = new MockModel();
+    String expectedResult;
+    ImageControllerInterface controller = new ImageController(view, model);
+    try {
+      controller.process();
+    } catch (Exception e) {
+      fail("This test should have passed!");
+    }
+    expectedResult = "blur executed successfully";
+    assertEquals(expectedResult + System.lineSeparator(), outResult.toString());
+    assertTrue(model.getLog().contains("gaussian blurCommand method is invoked with 2.5!"));
+  }
+
+  /**
+   * Test medianCommand.
+   */
+  @Test
+  public void testControllerMedianMethodMock() {
+    String inputData = "median 2 testNYC testMedian split 50\nq";
+    ByteArrayInputStream inContent = new ByteArrayInputStream(inputData.getBytes());
+    System.setIn(inContent);
+
+    ImageViewInterface view = new ImageView();
+    MockModel model = new MockModel();
+    String expectedResult;
+    ImageControllerInterface controller = new ImageController(view, model);
+    try {
+      controller.process();
+    } catch (Exception e) {
+      fail("This test should have passed!");
+    }
+    expectedResult = "median executed successfully";
+    assertEquals(expectedResult + System.lineSeparator(), outResult.toString());
+    assertTrue(model.getLog().contains("median method is invoked with 2!"));
+  }
+
 
   /**
    * Test sepiaCommand.
@@ -566,6 +616,30 @@ public class ImageControllerTest {
     assertTrue(model.getLog().contains("levels adjustment method is invoked!"));
   }
 
+  /**
+   * test colorMatrix invoked.
+   */
+  @Test
+  public void testColorMatrixMethodInvoked() {
+    String inputData = "color-matrix 0.393,0.769,0.189 0.349,0.686,0.168 0.272,0.534,0.131,10 "
+            + "testNYC testNYC-matrix split 50\nq";
+    ByteArrayInputStream inContent = new ByteArrayInputStream(inputData.getBytes());
+    System.setIn(inContent);
+
+    ImageViewInterface view = new ImageView();
+    MockModel model = new MockModel();
+    String expectedResult;
+    ImageControllerInterface controller = new ImageController(view, model);
+    try {
+      controller.process();
+    } catch (Exception e) {
+      fail("This test should have passed!");
+    }
+    expectedResult = "color-matrix executed successfully";
+    assertEquals(expectedResult + System.lineSeparator(), outResult.toString());
+    assertTrue(model.getLog().contains("color matrix method is invoked!"));
+  }
+
   /**
    * test compressImageMethod invoked.
    */
@@ -611,4 +685,35 @@ public class ImageControllerTest {
     assertEquals(expectedResult + System.lineSeparator(), outResult.toString());
     assertTrue(model.getLog().contains("histogram method is invoked!"));
   }
-}
\ No newline at end of file
+
+  /**
+   * Test that convolve reads its kernel from a file and passes on the border mode.
+   *
+   * @throws IOException if the kernel file cannot be written.
+   */
+  @Test
+  public void testConvolveMethodInvoked() throws IOException {
+    File kernel = File.createTempFile("kernel", ".txt");
+    try {
+      Files.write(kernel.toPath(), Arrays.asList("1 0 -1", "2 0 -2", "1 0 -1"));
+      String inputData = "convolve " + kernel.getPath() + " reflect testNYC testNYC-edges "
+              + "split 50\nq";
+      ByteArrayInputStream inContent = new ByteArrayInputStream(inputData.getBytes());
+      System.setIn(inContent);
+
+      ImageViewInterface view = new ImageView();
+      MockModel model = new MockModel();
+      ImageControllerInterface controller = new ImageController(view, model);
+      try {
+        controller.process();
+      } catch (Exception e) {
+        fail("This test should have passed!");
+      }
+      assertEquals("convolve executed successfully" + System.lineSeparator(),
+              outResult.toString());
+      assertTrue(model.getLog().contains("convolve method is invoked with reflect!"));
+    } finally {
+      kernel.delete();
+    }
+  }
+}
@@ -895,13 +895,13 @@ public class ImageModelTest {
     int height = testImage.getPixels()[0].length;
 
     Pixel[][] expectedArray = new Pixel[3][3];
-    expectedArray[0][0] = new Pixel(165, 163, 0);
-    expectedArray[0][1] = new Pixel(174, 186, 255);
-    expectedArray[0][2] = new Pixel(219, 9, 255);
+    expectedArray[0][0] = new Pixel(128, 139, 13);
+    expectedArray[0][1] = new Pixel(113, 191, 255);
+    expectedArray[0][2] = new Pixel(244, 64, 255);
 
-    expectedArray[1][0] = new Pixel(15, 64, 13);
+    expectedArray[1][0] = new Pixel(148, 184, 51);
     expectedArray[1][1] = new Pixel(255, 255, 255);
-    expectedArray[1][2] = new Pixel(64, 139, 255);
+    expectedArray[1][2] = new Pixel(139, 218, 255);
 
     expectedArray[2][0] = new Pixel(255, 199, 58);
     expectedArray[2][1] = new Pixel(218, 255, 137);
@@ -936,13 +936,13 @@ public class ImageModelTest {
     int height = testImage.getPixels()[0].length;
 
     Pixel[][] expectedArray = new Pixel[3][3];
-    expectedArray[0][0] = new Pixel(165, 163, 0);
-    expectedArray[0][1] = new Pixel(174, 186, 255);
-    expectedArray[0][2] = new Pixel(219, 9, 255);
+    expectedArray[0][0] = new Pixel(128, 139, 13);
+    expectedArray[0][1] = new Pixel(113, 191, 255);
+    expectedArray[0][2] = new Pixel(244, 64, 255);
 
-    expectedArray[1][0] = new Pixel(15, 64, 13);
+    expectedArray[1][0] = new Pixel(148, 184, 51);
     expectedArray[1][1] = new Pixel(255, 255, 255);
-    expectedArray[1][2] = new Pixel(64, 139, 255);
+    expectedArray[1][2] = new Pixel(139, 218, 255);
 
     expectedArray[2][0] = new Pixel(230, 130, 100);
     expectedArray[2][1] = new Pixel(125, 190, 0);
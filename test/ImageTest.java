@@ -1,12 +1,34 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
+import model.ApproximateHistogram;
+import model.BorderMode;
+import model.ColorMatrix;
 import model.Image;
+import model.Kernel;
 import model.Pixel;
+import model.strategy.BlurStrategy;
+import model.strategy.ConvolutionStrategy;
+import model.strategy.LevelAdjustmentStrategy;
+import model.strategy.LumaStrategy;
+import model.strategy.MedianStrategy;
+import model.strategy.SepiaStrategy;
+import model.strategy.SharpenStrategy;
+import model.strategy.SplitDecorator;
+import model.strategy.SplitStrategy;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 
 /**
@@ -799,4 +821,562 @@ public class ImageTest {
     }
   }
 
-}
\ No newline at end of file
+  /**
+   * Test reducing an image by averaging blocks of pixels, reusing each reduced level.
+   */
+  @Test
+  public void testDownscale() {
+    assertTrue(image.downscale(3, 3) == image);
+
+    Image reduced = image.downscale(2, 2);
+    assertTrue(image.downscale(2, 2) == reduced);
+    assertEquals(2, reduced.getPixels().length);
+    assertEquals(2, reduced.getPixels()[0].length);
+    int[][] expected = {{101, 118, 108}, {130, 50, 227}, {177, 160, 50}, {75, 20, 210}};
+    for (int i = 0; i < 4; i++) {
+      Pixel pixel = reduced.getPixels()[i / 2][i % 2];
+      assertEquals(expected[i][0], pixel.getRed());
+      assertEquals(expected[i][1], pixel.getGreen());
+      assertEquals(expected[i][2], pixel.getBlue());
+    }
+
+    Image smallest = image.downscale(1, 1);
+    assertEquals(1, smallest.getPixels().length);
+    assertTrue(reduced.downscale(1, 1) == smallest);
+  }
+
+  /**
+   * Test taking the leftmost columns of an image.
+   */
+  @Test
+  public void testColumns() {
+    assertTrue(image.columns(3) == image);
+    Image left = image.columns(2);
+    assertEquals(2, left.getPixels().length);
+    assertTrue(left.getPixels()[1] == image.getPixels()[1]);
+  }
+
+  /**
+   * Test that filtering only the columns left of the split gives the same result as
+   * filtering the whole image, including for kernels reading neighbouring columns.
+   */
+  @Test
+  public void testSplitFiltersOnlyLeftColumns() {
+    Pixel[][] pixels = new Pixel[9][4];
+    for (int x = 0; x < 9; x++) {
+      for (int y = 0; y < 4; y++) {
+        pixels[x][y] = new Pixel((x * 53 + y * 17) % 256, (x * 29 + y * 71) % 256,
+                (x * y * 37) % 256);
+      }
+    }
+    Image source = new Image(pixels);
+    SplitStrategy[] strategies = {new BlurStrategy(), new BlurStrategy(1.5),
+        new SharpenStrategy(), new SepiaStrategy(), new LumaStrategy(),
+        new LevelAdjustmentStrategy(20, 100, 220),
+        new ConvolutionStrategy(Kernel.SHARPEN, BorderMode.REFLECT),
+        new ConvolutionStrategy(new Kernel(new double[][]{{1, 0, -1}}), BorderMode.WRAP),
+        new MedianStrategy(1), new MedianStrategy(3)};
+
+    for (SplitStrategy strategy : strategies) {
+      Pixel[][] whole = strategy.apply(source).getPixels();
+      for (double percentage : new double[]{0, 12, 34, 50, 90, 100}) {
+        int split = (int) (9 * (percentage / 100.0));
+        Pixel[][] result = new SplitDecorator(strategy, percentage).apply(source).getPixels();
+        for (int x = 0; x < 9; x++) {
+          for (int y = 0; y < 4; y++) {
+            Pixel expected = x < split ? whole[x][y] : pixels[x][y];
+            assertEquals(expected.getRed(), result[x][y].getRed());
+            assertEquals(expected.getGreen(), result[x][y].getGreen());
+            assertEquals(expected.getBlue(), result[x][y].getBlue());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test converting an image to a shared BufferedImage.
+   */
+  @Test
+  public void testToBufferedImage() {
+    BufferedImage buffered = image.toBufferedImage();
+    assertEquals(width, buffered.getWidth());
+    assertEquals(height, buffered.getHeight());
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        Pixel pixel = image.getPixels()[x][y];
+        int rgb = buffered.getRGB(x, y);
+        assertEquals(pixel.getRed(), (rgb >> 16) & 0xff);
+        assertEquals(pixel.getGreen(), (rgb >> 8) & 0xff);
+        assertEquals(pixel.getBlue(), rgb & 0xff);
+      }
+    }
+    assertTrue(image.toBufferedImage() == buffered);
+  }
+
+  /**
+   * Test that the histograms of an image large enough to be counted in parallel
+   * match a sequential count, and that the returned histograms are copies.
+   */
+  @Test
+  public void testParallelHistogram() {
+    Pixel[][] pixels = new Pixel[400][300];
+    int[][] expected = new int[3][256];
+    for (int x = 0; x < 400; x++) {
+      for (int y = 0; y < 300; y++) {
+        pixels[x][y] = new Pixel((x * 7 + y) % 256, (x * y) % 256, (x + y * 13) % 256);
+        expected[0][pixels[x][y].getRed()]++;
+        expected[1][pixels[x][y].getGreen()]++;
+        expected[2][pixels[x][y].getBlue()]++;
+      }
+    }
+    Image large = new Image(pixels);
+
+    int[][] histogram = large.histogram();
+    for (int channel = 0; channel < 3; channel++) {
+      assertTrue(Arrays.equals(expected[channel], histogram[channel]));
+    }
+    histogram[0][0] = -1;
+    assertEquals(expected[0][0], large.histogram()[0][0]);
+  }
+
+  /**
+   * Test estimating the histograms from a stratified sample of the pixels.
+   */
+  @Test
+  public void testSampleHistogram() {
+    Pixel[][] pixels = new Pixel[400][300];
+    for (int x = 0; x < 400; x++) {
+      for (int y = 0; y < 300; y++) {
+        pixels[x][y] = new Pixel(x < 100 ? 10 : 200, (x + y) % 2 == 0 ? 50 : 150, y % 256);
+      }
+    }
+    Image large = new Image(pixels);
+
+    ApproximateHistogram sampled = large.sampleHistogram(0.01);
+    assertTrue(!sampled.isExact());
+    assertEquals(1200, sampled.getSampledPixels());
+    int[][] counts = sampled.getCounts();
+    assertEquals(30000, counts[0][10], 3 * sampled.getErrorBound(0, 10));
+    assertEquals(90000, counts[0][200], 3 * sampled.getErrorBound(0, 200));
+    assertEquals(60000, counts[1][50], 3 * sampled.getErrorBound(1, 50) + 1000);
+    assertTrue(sampled.getMaxErrorBound() > 0);
+    assertTrue(sampled.getMaxErrorBound() < 10000);
+
+    ApproximateHistogram exact = large.sampleHistogram(1);
+    assertTrue(exact.isExact());
+    assertEquals(30000, exact.getCounts()[0][10]);
+    assertEquals(0, exact.getMaxErrorBound(), 0);
+    assertTrue(large.sampleHistogram(0.01).isExact());
+  }
+
+  /**
+   * Test correcting the colors of an image large enough to be corrected in parallel.
+   */
+  @Test
+  public void testParallelColorCorrection() {
+    Pixel[][] pixels = new Pixel[400][300];
+    for (int x = 0; x < 400; x++) {
+      for (int y = 0; y < 300; y++) {
+        pixels[x][y] = new Pixel(x % 10 == 0 ? 5 : 100, y % 10 == 0 ? 250 : 120,
+                (x + y) % 10 == 0 ? 10 : 140);
+      }
+    }
+    Image corrected = new Image(pixels).correctImage();
+
+    Pixel[][] result = corrected.getPixels();
+    for (int x = 0; x < 400; x++) {
+      for (int y = 0; y < 300; y++) {
+        assertEquals(x % 10 == 0 ? 25 : 120, result[x][y].getRed());
+        assertEquals(y % 10 == 0 ? 250 : 120, result[x][y].getGreen());
+        assertEquals((x + y) % 10 == 0 ? 0 : 120, result[x][y].getBlue());
+      }
+    }
+  }
+
+  /**
+   * Asserts that the histogram kept with an image matches the counts of its pixels.
+   *
+   * @param image The image.
+   */
+  private void assertHistogramMatchesPixels(Image image) {
+    int[][] expected = new Image(image.getPixels()).histogram();
+    int[][] actual = image.getHistogram().getCounts();
+    for (int channel = 0; channel < 3; channel++) {
+      assertTrue(Arrays.equals(expected[channel], actual[channel]));
+    }
+  }
+
+  /**
+   * Test that point operations derive the histogram of their result from the
+   * histogram of the original image.
+   */
+  @Test
+  public void testDerivedHistogram() {
+    this.image.getHistogram();
+
+    assertHistogramMatchesPixels(this.image.brighten(40));
+    assertHistogramMatchesPixels(this.image.brighten(-300));
+    assertHistogramMatchesPixels(this.image.redComponent());
+    assertHistogramMatchesPixels(this.image.greenComponent());
+    assertHistogramMatchesPixels(this.image.blueComponent());
+    assertHistogramMatchesPixels(this.image.levelsAdjust(20, 100, 200));
+    assertHistogramMatchesPixels(this.image.correctImage());
+    assertHistogramMatchesPixels(this.image.lumaComponent());
+  }
+
+  /**
+   * Test splicing the leftmost columns of one image into another.
+   */
+  @Test
+  public void testSplice() {
+    Pixel[][] pixels = new Pixel[10][3];
+    for (int x = 0; x < 10; x++) {
+      for (int y = 0; y < 3; y++) {
+        pixels[x][y] = new Pixel(x * 20, y * 50, x + y);
+      }
+    }
+    Image original = new Image(pixels);
+    original.getHistogram();
+    Image spliced = original.splice(original.sepia(), 3);
+
+    for (int x = 0; x < 10; x++) {
+      for (int y = 0; y < 3; y++) {
+        Pixel expected = x < 3 ? original.sepia().getPixels()[x][y] : pixels[x][y];
+        assertEquals(expected.getRed(), spliced.getPixels()[x][y].getRed());
+        assertEquals(expected.getBlue(), spliced.getPixels()[x][y].getBlue());
+      }
+    }
+    assertHistogramMatchesPixels(spliced);
+    assertHistogramMatchesPixels(original.splice(original.columns(2).brighten(30), 2));
+    assertHistogramMatchesPixels(original.splice(original.blur(), 8));
+  }
+
+  /**
+   * Test that images of different heights cannot be spliced.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSpliceDifferentHeights() {
+    this.image.splice(new Image(new Pixel[][]{{new Pixel(0, 0, 0)}}), 1);
+  }
+
+  /**
+   * Test transforming the colors of an image by a custom color matrix, composed
+   * matrices and the matrices of the built-in filters.
+   */
+  @Test
+  public void testColorMatrix() {
+    ColorMatrix swap = new ColorMatrix(new double[][]{{0, 0, 1}, {0, 1, 0}, {1, 0, 0, -20}});
+    Image swapped = this.image.colorMatrix(swap);
+    Pixel[][] pixels = this.image.getPixels();
+    for (int x = 0; x < pixels.length; x++) {
+      for (int y = 0; y < pixels[0].length; y++) {
+        Pixel pixel = swapped.getPixels()[x][y];
+        assertEquals(pixels[x][y].getBlue(), pixel.getRed());
+        assertEquals(pixels[x][y].getGreen(), pixel.getGreen());
+        assertEquals(Math.max(0, pixels[x][y].getRed() - 20), pixel.getBlue());
+      }
+    }
+
+    Image twice = this.image.colorMatrix(swap.then(swap));
+    for (int x = 0; x < pixels.length; x++) {
+      for (int y = 0; y < pixels[0].length; y++) {
+        Pixel pixel = twice.getPixels()[x][y];
+        assertEquals(Math.max(0, pixels[x][y].getRed() - 20), pixel.getRed());
+        assertEquals(Math.max(0, pixels[x][y].getBlue() - 20), pixel.getBlue());
+      }
+    }
+
+    Image sepia = this.image.colorMatrix(ColorMatrix.SEPIA);
+    assertEquals(this.image.sepia().contentDigest(), sepia.contentDigest());
+  }
+
+  /**
+   * Test that the fixed-point color matrices truncate whole sums to themselves, such
+   * as the average of three equal components.
+   */
+  @Test
+  public void testColorMatrixExactSums() {
+    Pixel[][] pixels = new Pixel[256][1];
+    for (int value = 0; value < 256; value++) {
+      pixels[value][0] = Pixel.of(value, value, (value * 7) % 256);
+    }
+    Image intensity = new Image(pixels).intensityComponent();
+    Image luma = new Image(pixels).lumaComponent();
+    for (int value = 0; value < 256; value++) {
+      int blue = (value * 7) % 256;
+      assertEquals((2 * value + blue) / 3, intensity.getPixels()[value][0].getRed());
+      assertEquals(Math.round(0.2126 * value) + Math.round(0.7152 * value)
+              + Math.round(0.0722 * blue), luma.getPixels()[value][0].getGreen());
+    }
+  }
+
+  /**
+   * Test that a Gaussian blur spreads a vertical line symmetrically, keeps its total
+   * and has about the requested variance.
+   */
+  @Test
+  public void testGaussianBlur() {
+    Pixel[][] pixels = new Pixel[41][7];
+    for (int x = 0; x < 41; x++) {
+      for (int y = 0; y < 7; y++) {
+        pixels[x][y] = x == 20 ? Pixel.of(255, 255, 255) : Pixel.of(0, 0, 0);
+      }
+    }
+    Pixel[][] blurred = new Image(pixels).blur(3).getPixels();
+
+    long total = 0;
+    double variance = 0;
+    for (int x = 0; x < 41; x++) {
+      int value = blurred[x][0].getRed();
+      for (int y = 0; y < 7; y++) {
+        assertEquals(value, blurred[x][y].getRed());
+        assertEquals(value, blurred[x][y].getBlue());
+      }
+      assertEquals(value, blurred[40 - x][0].getGreen());
+      if (x > 0 && x <= 20) {
+        assertTrue(value >= blurred[x - 1][0].getRed());
+      }
+      total += value;
+      variance += value * (x - 20.0) * (x - 20.0);
+    }
+    assertEquals(255, total, 8);
+    assertEquals(9, variance / total, 1.5);
+    assertEquals(7, Image.blurReach(3));
+  }
+
+  /**
+   * Test that a blur much wider than the image keeps a constant image and evens out
+   * any other.
+   */
+  @Test
+  public void testGaussianBlurWiderThanImage() {
+    Pixel[][] constant = new Pixel[5][3];
+    Pixel[][] halves = new Pixel[5][3];
+    for (int x = 0; x < 5; x++) {
+      for (int y = 0; y < 3; y++) {
+        constant[x][y] = Pixel.of(90, 120, 150);
+        halves[x][y] = x < 2 ? Pixel.of(0, 0, 0) : Pixel.of(200, 200, 200);
+      }
+    }
+    Pixel[][] blurred = new Image(constant).blur(500).getPixels();
+    Pixel[][] even = new Image(halves).blur(500).getPixels();
+    for (int x = 0; x < 5; x++) {
+      for (int y = 0; y < 3; y++) {
+        assertEquals(90, blurred[x][y].getRed());
+        assertEquals(120, blurred[x][y].getGreen());
+        assertEquals(150, blurred[x][y].getBlue());
+        assertEquals(even[0][0].getRed(), even[x][y].getRed(), 1);
+      }
+    }
+  }
+
+  /**
+   * Test that a Gaussian blur needs a positive standard deviation within the limit.
+   */
+  @Test
+  public void testInvalidGaussianBlur() {
+    for (double sigma : new double[]{0, -1, Double.NaN, Image.MAX_BLUR_SIGMA + 1}) {
+      try {
+        image.blur(sigma);
+        fail("Blur sigma " + sigma + " should have been rejected");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  /**
+   * Test that convolving with separable and other kernels gives the weighted sums of
+   * the pixels read through every border mode, rounded to the nearest value.
+   */
+  @Test
+  public void testConvolve() {
+    Pixel[][] pixels = new Pixel[7][5];
+    for (int x = 0; x < 7; x++) {
+      for (int y = 0; y < 5; y++) {
+        pixels[x][y] = Pixel.of((x * 53 + y * 17) % 256, (x * 29 + y * 71) % 256,
+                (x * y * 37) % 256);
+      }
+    }
+    Image source = new Image(pixels);
+    Kernel[] kernels = {
+        new Kernel(new double[][]{{1, 2, 1}, {0, 0, 0}, {-1, -2, -1}}),
+        new Kernel(new double[][]{{0.1, 0.3, 0.2}, {0.4, -0.5, 0.7}, {0.2, 0.1, 0.05}}),
+        new Kernel(new double[][]{{0.25, 0.5, 0.25, 0.5, 0.25}}),
+        Kernel.SHARPEN};
+
+    for (Kernel kernel : kernels) {
+      double[][] weights = kernel.getWeights();
+      for (BorderMode border : BorderMode.values()) {
+        Pixel[][] result = source.convolve(kernel, border).getPixels();
+        for (int x = 0; x < 7; x++) {
+          for (int y = 0; y < 5; y++) {
+            double[] sums = new double[3];
+            for (int row = 0; row < kernel.getHeight(); row++) {
+              for (int column = 0; column < kernel.getWidth(); column++) {
+                int sourceX = border.index(x + column - kernel.getWidth() / 2, 7);
+                int sourceY = border.index(y + row - kernel.getHeight() / 2, 5);
+                if (sourceX >= 0 && sourceY >= 0) {
+                  Pixel pixel = pixels[sourceX][sourceY];
+                  sums[0] += weights[row][column] * pixel.getRed();
+                  sums[1] += weights[row][column] * pixel.getGreen();
+                  sums[2] += weights[row][column] * pixel.getBlue();
+                }
+              }
+            }
+            String where = kernel + " " + border + " " + x + "," + y;
+            assertEquals(where, Math.max(0, Math.min(255, sums[0])), result[x][y].getRed(),
+                    0.5001);
+            assertEquals(where, Math.max(0, Math.min(255, sums[1])), result[x][y].getGreen(),
+                    0.5001);
+            assertEquals(where, Math.max(0, Math.min(255, sums[2])), result[x][y].getBlue(),
+                    0.5001);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test that the sharpening kernel is symmetric, so that a mirrored image sharpens
+   * into the mirrored result.
+   */
+  @Test
+  public void testSharpenSymmetric() {
+    Pixel[][] mirrored = image.horizontalFlip().verticalFlip().sharpen().getPixels();
+    Pixel[][] sharpened = image.sharpen().verticalFlip().horizontalFlip().getPixels();
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        assertEquals(sharpened[x][y].getRed(), mirrored[x][y].getRed());
+        assertEquals(sharpened[x][y].getGreen(), mirrored[x][y].getGreen());
+        assertEquals(sharpened[x][y].getBlue(), mirrored[x][y].getBlue());
+      }
+    }
+  }
+
+  /**
+   * Test that the median filter gives the median of every component over the square
+   * of pixels within the radius, with the edge pixels repeated beyond the edges, for
+   * images wide enough to be filtered in several tiles.
+   */
+  @Test
+  public void testMedian() {
+    Pixel[][] pixels = new Pixel[150][11];
+    for (int x = 0; x < 150; x++) {
+      for (int y = 0; y < 11; y++) {
+        pixels[x][y] = Pixel.of((x * 53 + y * 17) % 256, (x * 29 + y * 71) % 256,
+                (x * y * 37) % 256);
+      }
+    }
+    Image source = new Image(pixels);
+    for (int radius : new int[]{1, 2, 7, 40}) {
+      Pixel[][] filtered = source.median(radius).getPixels();
+      int size = 2 * radius + 1;
+      for (int x = 0; x < 150; x++) {
+        for (int y = 0; y < 11; y++) {
+          int[][] values = new int[3][size * size];
+          int count = 0;
+          for (int dx = -radius; dx <= radius; dx++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+              Pixel pixel = pixels[Math.max(0, Math.min(149, x + dx))]
+                      [Math.max(0, Math.min(10, y + dy))];
+              values[0][count] = pixel.getRed();
+              values[1][count] = pixel.getGreen();
+              values[2][count] = pixel.getBlue();
+              count++;
+            }
+          }
+          for (int[] channel : values) {
+            Arrays.sort(channel);
+          }
+          assertEquals(values[0][count / 2], filtered[x][y].getRed());
+          assertEquals(values[1][count / 2], filtered[x][y].getGreen());
+          assertEquals(values[2][count / 2], filtered[x][y].getBlue());
+        }
+      }
+    }
+  }
+
+  /**
+   * Counts the threads of the common fork-join pool that did work while an operation
+   * ran, that is, whose CPU time grew by at least a millisecond.
+   *
+   * @param operation The operation.
+   * @return The number of pool threads that did work.
+   */
+  private int busyPoolThreads(Runnable operation) {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    Map<Long, Long> before = new HashMap<>();
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      before.put(thread.getId(), threads.getThreadCpuTime(thread.getId()));
+    }
+    operation.run();
+    int busy = 0;
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      long cpu = threads.getThreadCpuTime(thread.getId());
+      if (thread.getName().startsWith("ForkJoinPool.commonPool")
+              && cpu - before.getOrDefault(thread.getId(), 0L) >= 1000000) {
+        busy++;
+      }
+    }
+    return busy;
+  }
+
+  /**
+   * Test that the tiles of a median filter are shared between the threads of the pool,
+   * even when the image holds fewer tiles than the columns of a stripe.
+   */
+  @Test
+  public void testMedianUsesSeveralThreads() {
+    assumeTrue(ForkJoinPool.getCommonPoolParallelism() >= 2);
+    assumeTrue(ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported());
+    Pixel[][] pixels = new Pixel[1024][256];
+    for (int x = 0; x < 1024; x++) {
+      for (int y = 0; y < 256; y++) {
+        pixels[x][y] = Pixel.of((x * 53 + y * 17) % 256, (x * 29 + y * 71) % 256,
+                (x * y * 37) % 256);
+      }
+    }
+    Image source = new Image(pixels);
+    assertTrue(busyPoolThreads(() -> source.median(4)) > 1);
+  }
+
+  /**
+   * Test that the median filter removes isolated noisy pixels from a flat image.
+   */
+  @Test
+  public void testMedianRemovesNoise() {
+    Pixel[][] pixels = new Pixel[20][20];
+    for (int x = 0; x < 20; x++) {
+      for (int y = 0; y < 20; y++) {
+        boolean inside = x > 0 && x < 19 && y > 0 && y < 19;
+        pixels[x][y] = inside && (x * 7 + y * 3) % 11 == 0 ? Pixel.of(255, 255, 255)
+                : inside && (x * 5 + y) % 13 == 0 ? Pixel.of(0, 0, 0) : Pixel.of(90, 120, 60);
+      }
+    }
+    Pixel[][] filtered = new Image(pixels).median(1).getPixels();
+    for (int x = 0; x < 20; x++) {
+      for (int y = 0; y < 20; y++) {
+        assertEquals(90, filtered[x][y].getRed());
+        assertEquals(120, filtered[x][y].getGreen());
+        assertEquals(60, filtered[x][y].getBlue());
+      }
+    }
+  }
+
+  /**
+   * Test that median filters with a radius out of range are rejected.
+   */
+  @Test
+  public void testInvalidMedian() {
+    for (int radius : new int[]{0, -1, Image.MAX_MEDIAN_RADIUS + 1}) {
+      try {
+        image.median(radius);
+        fail("Median radius " + radius + " should have been rejected");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+}
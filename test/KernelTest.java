@@ -0,0 +1,121 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import model.BorderMode;
+import model.Image;
+import model.Kernel;
+import model.Pixel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The KernelTest class contains JUnit tests for the Kernel class, which holds the
+ * weights of a convolution.
+ */
+public class KernelTest {
+
+  /**
+   * Test parsing a kernel with comments, commas and spaces.
+   */
+  @Test
+  public void testParse() {
+    Kernel kernel = Kernel.parse(Arrays.asList("# box", "1 1 1", "", "1, 1, 1", "1\t1 1"));
+
+    assertEquals(3, kernel.getWidth());
+    assertEquals(3, kernel.getHeight());
+    assertArrayEquals(new double[]{1, 1, 1}, kernel.getWeights()[2], 0);
+    assertEquals("1.0,1.0,1.0;1.0,1.0,1.0;1.0,1.0,1.0", kernel.toString());
+  }
+
+  /**
+   * Test that kernels which are the product of a column and a row are separable,
+   * including ones whose row sums to zero.
+   */
+  @Test
+  public void testSeparable() {
+    assertTrue(Kernel.BLUR.isSeparable());
+    assertTrue(new Kernel(new double[][]{{1, 0, -1}, {2, 0, -2}, {1, 0, -1}}).isSeparable());
+    assertTrue(new Kernel(new double[][]{{1, 4, 6, 4, 1}}).isSeparable());
+  }
+
+  /**
+   * Test that a kernel of zeros, which has no weight to factor the others by, is
+   * applied directly and gives a black image.
+   */
+  @Test
+  public void testZeroKernel() {
+    Kernel kernel = new Kernel(new double[][]{{0, 0, 0}, {0, 0, 0}, {0, 0, 0}});
+    assertFalse(kernel.isSeparable());
+
+    Pixel[][] pixels = new Pixel[3][3];
+    for (Pixel[] column : pixels) {
+      Arrays.fill(column, Pixel.of(200, 100, 50));
+    }
+    Pixel[][] result = new Image(pixels).convolve(kernel, BorderMode.CLAMP).getPixels();
+    for (Pixel[] column : result) {
+      for (Pixel pixel : column) {
+        assertEquals(0, pixel.getRed() + pixel.getGreen() + pixel.getBlue());
+      }
+    }
+  }
+
+  /**
+   * Test that kernels of a higher rank are not separable.
+   */
+  @Test
+  public void testNotSeparable() {
+    assertFalse(Kernel.SHARPEN.isSeparable());
+    assertFalse(new Kernel(new double[][]{{0, 1, 0}, {1, -4, 1}, {0, 1, 0}}).isSeparable());
+    assertFalse(new Kernel(new double[][]{{1, 0, 0}, {0, 1, 0}, {0, 0, 1.000001}})
+            .isSeparable());
+  }
+
+  /**
+   * Test that the weights are copied in and out of the kernel.
+   */
+  @Test
+  public void testWeightsCopied() {
+    double[][] weights = {{1, 2, 3}};
+    Kernel kernel = new Kernel(weights);
+    weights[0][0] = 9;
+    kernel.getWeights()[0][1] = 9;
+
+    assertArrayEquals(new double[]{1, 2, 3}, kernel.getWeights()[0], 0);
+  }
+
+  /**
+   * Test that kernels need odd dimensions.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvenWidth() {
+    new Kernel(new double[][]{{1, 1}});
+  }
+
+  /**
+   * Test that kernel rows need the same length.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRaggedRows() {
+    new Kernel(new double[][]{{1, 1, 1}, {1}, {1, 1, 1}});
+  }
+
+  /**
+   * Test that kernel weights must be finite numbers.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidWeight() {
+    Kernel.parse(Arrays.asList("1 two 1"));
+  }
+
+  /**
+   * Test that a kernel needs weights.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmpty() {
+    Kernel.parse(Arrays.asList("# nothing", ""));
+  }
+}
@@ -0,0 +1,105 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import controller.commands.BlurCommand;
+import controller.commands.MetricsRegistry;
+import model.Image;
+import model.ImageModel;
+import model.Pixel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The MetricsRegistryTest class contains JUnit tests for the MetricsRegistry
+ * class, which collects execution metrics of commands.
+ */
+public class MetricsRegistryTest {
+
+  private ImageModel model;
+
+  /**
+   * Sets up a model holding a sample image.
+   */
+  @Before
+  public void setup() {
+    Pixel[][] pixelArray = new Pixel[3][2];
+    pixelArray[0][0] = new Pixel(150, 100, 0);
+    pixelArray[0][1] = new Pixel(0, 120, 180);
+    pixelArray[1][0] = new Pixel(0, 0, 0);
+    pixelArray[1][1] = new Pixel(255, 255, 255);
+    pixelArray[2][0] = new Pixel(230, 130, 100);
+    pixelArray[2][1] = new Pixel(125, 190, 0);
+    this.model = new ImageModel();
+    this.model.addImage("image", new Image(pixelArray));
+  }
+
+  /**
+   * Test that executed commands are recorded under their type.
+   */
+  @Test
+  public void testCommandsAreRecorded() {
+    MetricsRegistry registry = MetricsRegistry.getGlobal();
+    registry.reset();
+
+    assertTrue(new BlurCommand(model, "image", "blurred", Optional.empty()).execute());
+    assertTrue(new BlurCommand(model, "blurred", "again", Optional.empty()).execute());
+    assertTrue(!new BlurCommand(model, "missing", "none", Optional.empty()).execute());
+
+    MetricsRegistry.CommandStats stats = registry.get("BlurCommand");
+    assertNotNull(stats);
+    assertEquals(3, stats.getExecutions());
+    assertEquals(1, stats.getFailures());
+    assertEquals(12, stats.getPixels());
+    assertTrue(stats.getWallNanos() > 0);
+  }
+
+  /**
+   * Test that the allocations of a command include the columns of its result, which
+   * large images compute on the threads of the common fork-join pool.
+   */
+  @Test
+  public void testParallelWorkIsRecorded() {
+    Pixel[][] pixels = new Pixel[512][512];
+    for (int x = 0; x < 512; x++) {
+      for (int y = 0; y < 512; y++) {
+        pixels[x][y] = Pixel.of(x / 2, y / 2, (x + y) / 4);
+      }
+    }
+    model.addImage("large", new Image(pixels));
+    MetricsRegistry registry = MetricsRegistry.getGlobal();
+    registry.reset();
+
+    assertTrue(new BlurCommand(model, "large", "blurred", Optional.empty()).execute());
+    MetricsRegistry.CommandStats stats = registry.get("BlurCommand");
+    assertEquals(512 * 512, stats.getPixels());
+    if (MetricsRegistry.allocatedBytes() > 0) {
+      assertTrue(stats.getAllocatedBytes() >= 4L * 512 * 512);
+    }
+  }
+
+  /**
+   * Test the JSON and Prometheus formats of the recorded metrics.
+   */
+  @Test
+  public void testFormats() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.record("SepiaCommand", true, 2000000000L, 1000000000L, 4096, 4000000);
+    registry.record("LoadCommand", false, 1000, 1000, 0, 0);
+
+    String json = registry.toJson();
+    assertTrue(json.contains("\"LoadCommand\": {\"executions\": 1, \"failures\": 1"));
+    assertTrue(json.contains("\"SepiaCommand\": {\"executions\": 1, \"failures\": 0, "
+            + "\"wallSeconds\": 2.0, \"cpuSeconds\": 1.0, \"allocatedBytes\": 4096, "
+            + "\"pixels\": 4000000, \"megapixelsPerSecond\": 2.0}"));
+
+    String text = registry.toPrometheus();
+    assertTrue(text.contains("# TYPE grime_command_executions_total counter\n"));
+    assertTrue(text.contains("grime_command_failures_total{command=\"LoadCommand\"} 1\n"));
+    assertTrue(text.contains(
+            "grime_command_megapixels_per_second{command=\"SepiaCommand\"} 2.0\n"));
+  }
+}
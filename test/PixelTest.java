@@ -5,6 +5,8 @@ import java.util.Random;
 import model.Pixel;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * A Test class for Pixel.
@@ -65,4 +67,37 @@ public class PixelTest {
       assertEquals(blue, pixel.getBlue());
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Test that the factory clamps its components and shares grey and single-channel
+   * pixels.
+   */
+  @Test
+  public void testOfSharesPixels() {
+    Pixel grey = Pixel.of(-5, 0, 0);
+    assertEquals(0, grey.getRed());
+    assertSame(grey, Pixel.of(0, 0, 0));
+    assertSame(Pixel.of(128, 128, 128), Pixel.of(128, 128, 128));
+    assertSame(Pixel.of(300, 0, 0), Pixel.of(255, -1, 0));
+    assertSame(Pixel.of(0, 7, 0), Pixel.of(0, 7, 0));
+    assertSame(Pixel.of(0, 0, 9), Pixel.of(0, 0, 9));
+    assertEquals(9, Pixel.of(0, 0, 9).getBlue());
+
+    Pixel color = Pixel.of(10, 20, 30);
+    assertNotSame(color, Pixel.of(10, 20, 30));
+    assertEquals(20, color.getGreen());
+  }
+
+  /**
+   * Test creating pixels from packed colors.
+   */
+  @Test
+  public void testPackedPixel() {
+    Pixel pixel = new Pixel(0xff123456);
+    assertEquals(0x12, pixel.getRed());
+    assertEquals(0x34, pixel.getGreen());
+    assertEquals(0x56, pixel.getBlue());
+    assertSame(Pixel.of(0x404040), Pixel.of(64, 64, 64));
+    assertEquals(0xab, Pixel.of(0xab0000).getRed());
+  }
+}
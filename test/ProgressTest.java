@@ -0,0 +1,60 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import model.Image;
+import model.Pixel;
+import model.Progress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * The ProgressTest class contains JUnit tests for the Progress class, which reports
+ * the progress of image operations and stops them when they are cancelled.
+ */
+public class ProgressTest {
+
+  /**
+   * Removes the listener and clears the interrupt flag after each test execution.
+   */
+  @After
+  public void clear() {
+    Progress.setListener(null);
+    Thread.interrupted();
+  }
+
+  /**
+   * Test that operations report their progress to the listener of the thread.
+   */
+  @Test
+  public void testProgressIsReported() {
+    Pixel[][] pixelArray = new Pixel[4][1];
+    for (int i = 0; i < 4; i++) {
+      pixelArray[i][0] = new Pixel(10 * i, 20, 30);
+    }
+    List<Integer> reported = new ArrayList<>();
+    Progress.setListener(reported::add);
+    new Image(pixelArray).sepia();
+
+    assertEquals(List.of(0, 25, 50, 75), reported);
+  }
+
+  /**
+   * Test that an operation on an interrupted thread is cancelled.
+   */
+  @Test
+  public void testInterruptCancels() {
+    Pixel[][] pixelArray = {{new Pixel(1, 2, 3)}};
+    Thread.currentThread().interrupt();
+    try {
+      new Image(pixelArray).blur();
+      fail("This test should have failed!");
+    } catch (CancellationException e) {
+      assertEquals("Operation cancelled", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,203 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Optional;
+
+import model.Image;
+import model.ImageModel;
+import model.Pixel;
+import model.ResultCache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The ResultCacheTest class contains JUnit tests for the ResultCache
+ * class and for the ImageModel operations that are served from it.
+ */
+public class ResultCacheTest {
+
+  private Image image;
+  private File directory;
+
+  /**
+   * Sets up a sample image and a scratch cache directory.
+   */
+  @Before
+  public void setup() {
+    Pixel[][] pixelArray = new Pixel[3][3];
+    pixelArray[0][0] = new Pixel(150, 100, 0);
+    pixelArray[0][1] = new Pixel(0, 120, 180);
+    pixelArray[0][2] = new Pixel(250, 0, 255);
+    pixelArray[1][0] = new Pixel(0, 0, 0);
+    pixelArray[1][1] = new Pixel(255, 255, 255);
+    pixelArray[1][2] = new Pixel(10, 100, 200);
+    pixelArray[2][0] = new Pixel(230, 130, 100);
+    pixelArray[2][1] = new Pixel(125, 190, 0);
+    pixelArray[2][2] = new Pixel(75, 20, 210);
+    this.image = new Image(pixelArray);
+    this.directory = new File("test/res/cache");
+  }
+
+  /**
+   * Deletes the scratch cache directory after each test execution.
+   */
+  @After
+  public void delete() {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  /**
+   * Test that keys depend on the content of the image and the parameters.
+   */
+  @Test
+  public void testKey() {
+    Pixel[][] copy = new Pixel[3][3];
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        Pixel pixel = image.getPixels()[i][j];
+        copy[i][j] = new Pixel(pixel.getRed(), pixel.getGreen(), pixel.getBlue());
+      }
+    }
+    assertEquals(ResultCache.key(image, "blur", 100.0),
+            ResultCache.key(new Image(copy), "blur", 100.0));
+    assertTrue(!ResultCache.key(image, "blur", 100.0)
+            .equals(ResultCache.key(image, "blur", 50.0)));
+    assertTrue(!ResultCache.key(image, "blur", 100.0)
+            .equals(ResultCache.key(image, "sepia", 100.0)));
+    copy[1][1] = new Pixel(254, 255, 255);
+    assertTrue(!ResultCache.key(image, "blur", 100.0)
+            .equals(ResultCache.key(new Image(copy), "blur", 100.0)));
+  }
+
+  /**
+   * Test that the least recently used entry is evicted once the size limit is exceeded.
+   */
+  @Test
+  public void testEviction() {
+    ResultCache cache = new ResultCache(2 * 9 * 28);
+    cache.put("a", image);
+    cache.put("b", image);
+    assertNotNull(cache.get("a"));
+    cache.put("c", image);
+    assertNotNull(cache.get("a"));
+    assertNull(cache.get("b"));
+    assertNotNull(cache.get("c"));
+    assertEquals(2 * 9 * 28, cache.getSize());
+    assertEquals(3, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  /**
+   * Test that results written to disk are served by a new cache instance.
+   */
+  @Test
+  public void testDiskTier() {
+    String key = ResultCache.key(image, "sepia", 100.0);
+    ResultCache writer = new ResultCache(0, directory);
+    writer.put(key, image.sepia());
+    writer.flush();
+
+    Image cached = new ResultCache(1024, directory).get(key);
+    assertNotNull(cached);
+    Image expected = image.sepia();
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        assertEquals(expected.getPixels()[i][j].getRed(), cached.getPixels()[i][j].getRed());
+        assertEquals(expected.getPixels()[i][j].getGreen(),
+                cached.getPixels()[i][j].getGreen());
+        assertEquals(expected.getPixels()[i][j].getBlue(), cached.getPixels()[i][j].getBlue());
+      }
+    }
+  }
+
+  /**
+   * Test that keys start with the SHA-256 digest of the pixels.
+   */
+  @Test
+  public void testKeyDigest() {
+    String digest = image.contentDigest();
+    assertEquals(64, digest.length());
+    assertTrue(digest.matches("[0-9a-f]+"));
+    assertTrue(ResultCache.key(image, "blur").startsWith(digest + "-3x3:"));
+  }
+
+  /**
+   * Test that the on-disk tier evicts the least recently used files beyond its limit,
+   * and that a result queued for writing is served before it reaches the disk.
+   */
+  @Test
+  public void testDiskLimit() {
+    long fileBytes = 4 + 2 + 1 + 8 + 9 * 4;
+    ResultCache cache = new ResultCache(0, directory, 2 * fileBytes);
+    cache.put("a", image);
+    assertNotNull(cache.get("a"));
+    cache.put("b", image);
+    cache.flush();
+    assertNotNull(cache.get("a"));
+    cache.put("c", image);
+    cache.flush();
+    assertEquals(2 * fileBytes, cache.getDiskSize());
+
+    ResultCache reopened = new ResultCache(0, directory, 2 * fileBytes);
+    assertEquals(2 * fileBytes, reopened.getDiskSize());
+    assertNotNull(reopened.get("a"));
+    assertNull(reopened.get("b"));
+    assertNotNull(reopened.get("c"));
+  }
+
+  /**
+   * Test that a file of the on-disk tier that cannot be read, such as a truncated one,
+   * is dropped so that it is not read again.
+   */
+  @Test
+  public void testUnreadableFileDropped() throws IOException {
+    ResultCache writer = new ResultCache(0, directory);
+    writer.put("a", image);
+    writer.flush();
+    File[] written = directory.listFiles();
+    assertEquals(1, written.length);
+    try (RandomAccessFile file = new RandomAccessFile(written[0], "rw")) {
+      file.setLength(file.length() - 5);
+    }
+
+    ResultCache cache = new ResultCache(1024, directory);
+    assertTrue(cache.getDiskSize() > 0);
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.getDiskSize());
+    assertEquals(0, directory.listFiles().length);
+    assertNull(cache.get("a"));
+    assertEquals(2, cache.getMisses());
+  }
+
+  /**
+   * Test that the model reuses the result of a repeated operation.
+   */
+  @Test
+  public void testModelReusesResult() {
+    ResultCache cache = new ResultCache(1024 * 1024);
+    ImageModel model = new ImageModel(cache);
+    model.addImage("image", image);
+
+    model.blurCommand("image", "first", Optional.empty());
+    model.blurCommand("image", "second", Optional.of(100.0));
+    model.blurCommand("image", "split", Optional.of(50.0));
+
+    assertTrue(model.getImage("first") == model.getImage("second"));
+    assertTrue(model.getImage("first") != model.getImage("split"));
+    assertEquals(1, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+}
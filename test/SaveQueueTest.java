@@ -0,0 +1,114 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import controller.commands.FlushCommand;
+import controller.commands.ImageParserInterface;
+import controller.commands.ImagePPM;
+import controller.commands.SaveQueue;
+import model.Image;
+import model.Pixel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The SaveQueueTest class contains JUnit tests for the SaveQueue class,
+ * which writes saved images in the background.
+ */
+public class SaveQueueTest {
+
+  private final String savePath = "test/res/saveQueueTest.ppm";
+  private Image image;
+
+  /**
+   * Sets up a sample image.
+   */
+  @Before
+  public void setup() {
+    Pixel[][] pixelArray = new Pixel[2][2];
+    pixelArray[0][0] = new Pixel(150, 100, 0);
+    pixelArray[0][1] = new Pixel(0, 120, 180);
+    pixelArray[1][0] = new Pixel(0, 0, 0);
+    pixelArray[1][1] = new Pixel(255, 255, 255);
+    this.image = new Image(pixelArray);
+  }
+
+  /**
+   * Deletes the saved file after each test execution.
+   */
+  @After
+  public void delete() {
+    new File(savePath).delete();
+  }
+
+  /**
+   * Test that flushing waits for the queued images to be written.
+   *
+   * @throws IOException if the saved image cannot be read back.
+   */
+  @Test
+  public void testFlushWritesImage() throws IOException {
+    SaveQueue queue = new SaveQueue(2, 1);
+    queue.submit(new ImagePPM(savePath), savePath, image);
+
+    assertTrue(queue.flush().isEmpty());
+    assertEquals(0, queue.getOutstanding());
+    Image saved = new ImagePPM(savePath).load();
+    assertEquals(255, saved.getPixels()[1][1].getRed());
+  }
+
+  /**
+   * Test that the last save of a path is the one left on disk.
+   *
+   * @throws IOException if the saved image cannot be read back.
+   */
+  @Test
+  public void testLastSaveWins() throws IOException {
+    SaveQueue queue = new SaveQueue(4, 4);
+    Image brighter = image.brighten(10);
+    queue.submit(new ImagePPM(savePath), savePath, image);
+    queue.submit(new ImagePPM(savePath), savePath, brighter);
+
+    assertTrue(queue.flush().isEmpty());
+    Image saved = new ImagePPM(savePath).load();
+    assertEquals(160, saved.getPixels()[0][0].getRed());
+  }
+
+  /**
+   * Test that failed writes are reported by flush and by the flush command.
+   */
+  @Test
+  public void testFailureIsReported() {
+    SaveQueue queue = new SaveQueue(1, 1);
+    ImageParserInterface failing = new ImageParserInterface() {
+      @Override
+      public Image load() {
+        return null;
+      }
+
+      @Override
+      public void save(String path, Image image) throws Exception {
+        throw new Exception("Disk full");
+      }
+    };
+    queue.submit(failing, "first.png", image);
+    List<String> failures = queue.flush();
+    assertEquals(1, failures.size());
+    assertEquals("Error saving first.png: Disk full", failures.get(0));
+    assertTrue(queue.flush().isEmpty());
+
+    queue.submit(failing, "second.png", image);
+    try {
+      new FlushCommand(queue).execute();
+      fail("This test should have failed!");
+    } catch (Exception e) {
+      assertEquals("Error saving second.png: Disk full", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,98 @@
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import controller.SplitPreview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The SplitPreviewTest class contains JUnit tests for the SplitPreview class,
+ * which composes the split preview of an operation.
+ */
+public class SplitPreviewTest {
+
+  /**
+   * Creates an image of 4x2 pixels filled with one color.
+   *
+   * @param rgb The color of every pixel.
+   * @return The image.
+   */
+  private BufferedImage filled(int rgb) {
+    BufferedImage image = new BufferedImage(4, 2, BufferedImage.TYPE_INT_RGB);
+    for (int x = 0; x < 4; x++) {
+      for (int y = 0; y < 2; y++) {
+        image.setRGB(x, y, rgb);
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Gets the colors of the first row of an image.
+   *
+   * @param image The image.
+   * @return The colors of the first row, without the alpha channel.
+   */
+  private String row(BufferedImage image) {
+    StringBuilder row = new StringBuilder();
+    for (int x = 0; x < image.getWidth(); x++) {
+      row.append(Integer.toHexString(image.getRGB(x, 0) & 0xffffff)).append(' ');
+    }
+    return row.toString().trim();
+  }
+
+  /**
+   * Test that moving the split line recomposes the preview from both images.
+   */
+  @Test
+  public void testCompose() {
+    SplitPreview preview = new SplitPreview("blur", filled(0x0000ff), filled(0xff0000));
+
+    BufferedImage half = preview.compose(50);
+    assertEquals("ff0000 ff0000 ff ff", row(half));
+    assertEquals(0xff0000, half.getRGB(1, 1) & 0xffffff);
+
+    assertSame(half, preview.compose(75));
+    assertEquals("ff0000 ff0000 ff0000 ff", row(half));
+
+    preview.compose(25);
+    assertEquals("ff0000 ff ff ff", row(half));
+
+    preview.compose(100);
+    assertEquals("ff0000 ff0000 ff0000 ff0000", row(half));
+
+    preview.compose(0);
+    assertEquals("ff ff ff ff", row(half));
+  }
+
+  /**
+   * Test that a preview is only reused for the same operation.
+   */
+  @Test
+  public void testIsFor() {
+    SplitPreview preview = new SplitPreview("adjust-levels 10 20 30", filled(0),
+            filled(0xffffff));
+    assertTrue(preview.isFor("adjust-levels 10 20 30"));
+    assertTrue(!preview.isFor("adjust-levels 10 20 40"));
+    assertTrue(!preview.isFor("blur"));
+  }
+
+  /**
+   * Test that images of different sizes are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testDifferentSizes() {
+    new SplitPreview("blur", filled(0), new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB));
+  }
+
+  /**
+   * Test that an invalid percentage is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPercentage() {
+    new SplitPreview("blur", filled(0), filled(0)).compose(101);
+  }
+}
@@ -0,0 +1,133 @@
+import org.junit.Test;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+
+import view.TiledImagePanel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The TiledImagePanelTest class contains JUnit tests for the TiledImagePanel class,
+ * which displays a zoomable image rendered in tiles.
+ */
+public class TiledImagePanelTest {
+
+  /**
+   * Creates an image whose left half is red and right half is blue.
+   *
+   * @param width  The width of the image.
+   * @param height The height of the image.
+   * @return The image.
+   */
+  private BufferedImage halves(int width, int height) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        image.setRGB(x, y, x < width / 2 ? 0xff0000 : 0x0000ff);
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Paints a panel into an image of its size.
+   *
+   * @param panel The panel.
+   * @return The painted image.
+   */
+  private BufferedImage paint(TiledImagePanel panel) {
+    BufferedImage screen = new BufferedImage(panel.getWidth(), panel.getHeight(),
+            BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = screen.createGraphics();
+    panel.paint(graphics);
+    graphics.dispose();
+    return screen;
+  }
+
+  /**
+   * Test that a large image is fitted to the panel and rendered from its tiles.
+   */
+  @Test
+  public void testFit() {
+    TiledImagePanel panel = new TiledImagePanel(64L * 1024 * 1024);
+    panel.setSize(200, 100);
+    panel.setImage(halves(2000, 1000));
+
+    BufferedImage screen = paint(panel);
+    assertEquals(0.1, panel.getZoom(), 1e-9);
+    assertEquals(0xff0000, screen.getRGB(20, 50) & 0xffffff);
+    assertEquals(0x0000ff, screen.getRGB(180, 50) & 0xffffff);
+    assertEquals(4L * 200 * 100, panel.getCachedBytes());
+  }
+
+  /**
+   * Test that zooming keeps the image pixel under the pointer in place.
+   */
+  @Test
+  public void testZoomAt() {
+    TiledImagePanel panel = new TiledImagePanel(64L * 1024 * 1024);
+    panel.setSize(200, 100);
+    panel.setImage(halves(2000, 1000));
+    paint(panel);
+
+    panel.zoomAt(new Point(100, 50), 10);
+    assertEquals(1.0, panel.getZoom(), 1e-9);
+    BufferedImage screen = paint(panel);
+    assertEquals(0xff0000, screen.getRGB(99, 50) & 0xffffff);
+    assertEquals(0x0000ff, screen.getRGB(100, 50) & 0xffffff);
+
+    panel.pan(-1000, 0);
+    screen = paint(panel);
+    assertEquals(0xff0000, screen.getRGB(199, 50) & 0xffffff);
+  }
+
+  /**
+   * Test that the cached tiles stay within the configured size, and that an image of
+   * the same size keeps the zoom.
+   */
+  @Test
+  public void testCacheBound() {
+    TiledImagePanel panel = new TiledImagePanel(4L * 256 * 256);
+    panel.setSize(600, 600);
+    panel.setImage(halves(600, 600));
+    paint(panel);
+    assertTrue(panel.getCachedBytes() <= 4L * 256 * 256);
+
+    panel.zoomAt(new Point(0, 0), 2);
+    panel.setImage(halves(600, 600));
+    paint(panel);
+    assertEquals(2.0, panel.getZoom(), 1e-9);
+    assertTrue(panel.getCachedBytes() <= 4L * 256 * 256);
+  }
+
+  /**
+   * Test that a reduced preview shown at the size of its image is scaled as its tiles
+   * are rendered, keeping the zoom of the image.
+   */
+  @Test
+  public void testScaledImage() {
+    TiledImagePanel panel = new TiledImagePanel(64L * 1024 * 1024);
+    panel.setSize(200, 100);
+    panel.setImage(halves(2000, 1000));
+    paint(panel);
+    panel.zoomAt(new Point(100, 50), 2);
+
+    panel.setImage(halves(100, 50), 2000, 1000);
+    BufferedImage screen = paint(panel);
+    assertEquals(0.2, panel.getZoom(), 1e-9);
+    assertEquals(0xff0000, screen.getRGB(95, 50) & 0xffffff);
+    assertEquals(0x0000ff, screen.getRGB(105, 50) & 0xffffff);
+    assertEquals(4L * 400 * 200, panel.getCachedBytes());
+  }
+
+  /**
+   * Test that an image shown at a size that is not positive is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new TiledImagePanel(0).setImage(halves(2, 2), 0, 2);
+  }
+}
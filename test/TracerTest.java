@@ -0,0 +1,115 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+import controller.commands.BlurCommand;
+import controller.commands.LoadCommand;
+import controller.commands.SaveCommand;
+import model.Image;
+import model.ImageModel;
+import model.Pixel;
+import model.Tracer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The TracerTest class contains JUnit tests for the Tracer class, which records
+ * spans of work in the Chrome trace event format.
+ */
+public class TracerTest {
+
+  private final String savePath = "test/res/tracerTest.ppm";
+  private ImageModel model;
+
+  /**
+   * Sets up a model holding a sample image.
+   */
+  @Before
+  public void setup() {
+    Pixel[][] pixelArray = new Pixel[2][2];
+    pixelArray[0][0] = new Pixel(150, 100, 0);
+    pixelArray[0][1] = new Pixel(0, 120, 180);
+    pixelArray[1][0] = new Pixel(0, 0, 0);
+    pixelArray[1][1] = new Pixel(255, 255, 255);
+    this.model = new ImageModel();
+    this.model.addImage("image", new Image(pixelArray));
+  }
+
+  /**
+   * Stops any trace and deletes the saved file after each test execution.
+   */
+  @After
+  public void delete() {
+    Tracer.stop();
+    new File(savePath).delete();
+  }
+
+  /**
+   * Test that commands and the work they do are recorded as spans.
+   */
+  @Test
+  public void testSpansAreRecorded() {
+    Tracer.start();
+    assertTrue(new BlurCommand(model, "image", "blurred", Optional.empty()).execute());
+    assertTrue(new SaveCommand(model, savePath, "blurred").execute());
+    assertTrue(new LoadCommand(model, savePath, "loaded").execute());
+    Tracer tracer = Tracer.stop();
+
+    String json = tracer.toJson();
+    assertTrue(json.startsWith("{\"displayTimeUnit\": \"ms\", \"traceEvents\": ["));
+    assertTrue(json.contains("{\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": "
+            + Thread.currentThread().getId()));
+    assertTrue(json.contains("{\"name\": \"BlurCommand\", \"cat\": \"command\", \"ph\": \"X\""));
+    assertTrue(json.contains("\"args\": {\"image\": \"image\", \"destination\": \"blurred\"}"));
+    assertTrue(json.contains("{\"name\": \"blur\", \"cat\": \"filter\""));
+    assertTrue(json.contains("{\"name\": \"encode\", \"cat\": \"encode\""));
+    assertTrue(json.contains("{\"name\": \"decode\", \"cat\": \"decode\""));
+    assertTrue(json.contains("{\"name\": \"heap\", \"ph\": \"C\""));
+    assertEquals(9, tracer.getEventCount());
+  }
+
+  /**
+   * Test that nothing is recorded while no trace is started.
+   */
+  @Test
+  public void testNoTrace() {
+    assertNull(Tracer.stop());
+    assertEquals("result", Tracer.span("command", "ignored", () -> "result"));
+    assertTrue(new BlurCommand(model, "image", "blurred", Optional.empty()).execute());
+    assertNull(Tracer.stop());
+  }
+
+  /**
+   * Test that the heap peak of a command includes memory that is only used during the
+   * command, and that a span whose work throws is still recorded.
+   */
+  @Test
+  public void testPeakAndFailedSpan() {
+    Tracer.start();
+    int length = 64 * 1024 * 1024;
+    assertEquals(length, (int) Tracer.span("command", "allocate",
+            () -> new byte[length].length));
+    try {
+      Tracer.span("decode", "missing", () -> {
+        throw new IOException("missing");
+      });
+      fail("The exception of the work should have been thrown");
+    } catch (IOException e) {
+      assertEquals("missing", e.getMessage());
+    }
+    Tracer tracer = Tracer.stop();
+
+    String json = tracer.toJson();
+    String peak = json.substring(json.indexOf("\"peak\": ") + 8);
+    assertTrue(Long.parseLong(peak.substring(0, peak.indexOf('}'))) >= length);
+    assertTrue(json.contains("{\"name\": \"missing\", \"cat\": \"decode\""));
+    assertEquals(3, tracer.getEventCount());
+  }
+}
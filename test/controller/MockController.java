@@ -177,6 +177,24 @@ public class MockController implements Features {
     log.append("ConfirmButton Pressed!");
   }
 
+  /**
+   * Simulates the action when the "Undo" button is pressed.
+   * Appends "UndoButton Pressed!" to the log.
+   */
+  @Override
+  public void undoButton() {
+    log.append("UndoButton Pressed!");
+  }
+
+  /**
+   * Simulates the action when the "Redo" button is pressed.
+   * Appends "RedoButton Pressed!" to the log.
+   */
+  @Override
+  public void redoButton() {
+    log.append("RedoButton Pressed!");
+  }
+
   /**
    * Clears the log by resetting the StringBuilder.
    */
@@ -130,6 +130,20 @@ public class MockModel implements ImageModelInterface {
     log.append("blurCommand method is invoked!");
   }
 
+  /**
+   * Logs the invocation of the "blurCommand" method with a standard deviation.
+   *
+   * @param sigma                The standard deviation of the Gaussian.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image.
+   * @param splitPercentage      An optional percentage to split the blur.
+   */
+  @Override
+  public void blurCommand(double sigma, String imageName, String destinationImageName,
+                          Optional<Double> splitPercentage) {
+    log.append("gaussian blurCommand method is invoked with " + sigma + "!");
+  }
+
   /**
    * Logs the invocation of the "sharpenCommand" method.
    *
@@ -176,6 +190,20 @@ public class MockModel implements ImageModelInterface {
     log.append("horizontalFlipCommand method is invoked!");
   }
 
+  /**
+   * Logs the invocation of the "downscaleCommand" method.
+   *
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image.
+   * @param maxWidth             The largest width of the reduced image.
+   * @param maxHeight            The largest height of the reduced image.
+   */
+  @Override
+  public void downscaleCommand(String imageName, String destinationImageName, int maxWidth,
+                               int maxHeight) {
+    log.append("downscaleCommand method is invoked!");
+  }
+
 
   /**
    * Logs the invocation of the "imageExists" method.
@@ -271,6 +299,51 @@ public class MockModel implements ImageModelInterface {
     log.append("levels adjustment method is invoked!");
   }
 
+  /**
+   * Logs the invocation of the "colorMatrixCommand" method.
+   *
+   * @param matrix               The color matrix.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image.
+   * @param splitPercentage      An optional percentage to split the transform.
+   */
+  @Override
+  public void colorMatrixCommand(ColorMatrix matrix, String imageName,
+                                 String destinationImageName,
+                                 Optional<Double> splitPercentage) {
+    log.append("color matrix method is invoked!");
+  }
+
+  /**
+   * Logs the invocation of the "convolveCommand" method.
+   *
+   * @param kernel               The convolution kernel.
+   * @param border               How the pixels beyond the edges are read.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image.
+   * @param splitPercentage      An optional percentage to split the convolution.
+   */
+  @Override
+  public void convolveCommand(Kernel kernel, BorderMode border, String imageName,
+                              String destinationImageName, Optional<Double> splitPercentage) {
+    log.append("convolve method is invoked with " + border + "!");
+  }
+
+  /**
+   * Logs the invocation of the "medianCommand" method.
+   *
+   * @param radius               The radius of the median filter.
+   * @param imageName            The name of the source image.
+   * @param destinationImageName The name of the destination image.
+   * @param splitPercentage      An optional percentage to split the filter.
+   */
+  @Override
+  public void medianCommand(int radius, String imageName, String destinationImageName,
+                            Optional<Double> splitPercentage) {
+    log.append("median method is invoked with " + radius + "!");
+  }
+
+
   /**
    * Retrieves the log of method invocations.
    *
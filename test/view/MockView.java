@@ -35,6 +35,18 @@ public class MockView implements GUIInterface {
     log.append("setImage method is invoked!\n");
   }
 
+  /**
+   * Logs the invocation of the "setImage" method.
+   *
+   * @param image  The BufferedImage object to be set.
+   * @param width  The width the image is shown at.
+   * @param height The height the image is shown at.
+   */
+  @Override
+  public void setImage(BufferedImage image, int width, int height) {
+    log.append("setImage method is invoked!\n");
+  }
+
   /**
    * Logs the invocation of the "setHistogram" method.
    *
@@ -79,6 +91,26 @@ public class MockView implements GUIInterface {
     log.append("showOperationControls method is invoked!\n");
   }
 
+  /**
+   * Logs the invocation of the "showBusy" method.
+   *
+   * @param busy A boolean indicating whether an operation is running.
+   */
+  @Override
+  public void showBusy(boolean busy) {
+    log.append("showBusy method is invoked!\n");
+  }
+
+  /**
+   * Logs the invocation of the "showProgress" method.
+   *
+   * @param percent The percentage of the operation that is done.
+   */
+  @Override
+  public void showProgress(int percent) {
+    log.append("showProgress method is invoked!\n");
+  }
+
   /**
    * Logs the invocation of the "confirmLoadButton" method.
    *